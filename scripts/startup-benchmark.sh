@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# Measures time-to-first-successful-request for the default and fast-start images.
+#
+#   scripts/startup-benchmark.sh [runs] [url]
+#
+# Builds both Dockerfile targets, then starts each image `runs` times and polls `url` until it
+# answers with a 2xx status. Pass runtime configuration through DOCKER_RUN_OPTS, e.g.
+#   DOCKER_RUN_OPTS="--env-file .env --network host" scripts/startup-benchmark.sh 5
+set -euo pipefail
+
+RUNS="${1:-5}"
+URL="${2:-http://localhost:8080/actuator/health}"
+PORT="${PORT:-8080}"
+DOCKER_RUN_OPTS="${DOCKER_RUN_OPTS:-}"
+
+docker build -q -t backend:default . > /dev/null
+docker build -q --target faststart -t backend:faststart . > /dev/null
+
+now_ms() {
+    date +%s%3N
+}
+
+measure() {
+    local image="$1"
+    local container start status
+    start=$(now_ms)
+    # shellcheck disable=SC2086
+    container=$(docker run -d -p "${PORT}:8080" ${DOCKER_RUN_OPTS} "${image}")
+    until status=$(curl -s -o /dev/null -w '%{http_code}' "${URL}") && [[ "${status}" == 2* ]]; do
+        if [[ "$(docker inspect -f '{{.State.Running}}' "${container}")" != "true" ]]; then
+            docker logs "${container}" >&2
+            docker rm -f "${container}" > /dev/null
+            echo "container for ${image} exited before serving ${URL}" >&2
+            return 1
+        fi
+        sleep 0.05
+    done
+    echo $(( $(now_ms) - start ))
+    docker rm -f "${container}" > /dev/null
+}
+
+for image in backend:default backend:faststart; do
+    total=0
+    results=()
+    for ((i = 1; i <= RUNS; i++)); do
+        ms=$(measure "${image}")
+        results+=("${ms}")
+        total=$((total + ms))
+    done
+    echo "${image}: runs=${RUNS} mean=$((total / RUNS))ms samples=${results[*]}"
+done
@@ -0,0 +1,67 @@
+package com.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    public static final String GITHUB_EMAIL_REFRESH_EXECUTOR = "githubEmailRefreshExecutor";
+    public static final String ADMIN_BULK_EXECUTOR = "adminBulkExecutor";
+    public static final String ANALYSIS_EXECUTOR = "analysisExecutor";
+    public static final String BROADCAST_EXECUTOR = "broadcastExecutor";
+
+    // Refreshes are best effort: when the queue is full the next login simply asks again.
+    @Bean(name = GITHUB_EMAIL_REFRESH_EXECUTOR)
+    public ThreadPoolTaskExecutor githubEmailRefreshExecutor(@Value("${github.email-cache.refresh-threads:2}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(256);
+        executor.setThreadNamePrefix("github-email-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // One background bulk job at a time; further jobs wait their turn in the queue.
+    @Bean(name = ADMIN_BULK_EXECUTOR)
+    public ThreadPoolTaskExecutor adminBulkExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(32);
+        executor.setThreadNamePrefix("admin-bulk-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = ANALYSIS_EXECUTOR)
+    public ThreadPoolTaskExecutor analysisExecutor(@Value("${analysis.threads:2}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("analysis-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Broadcasts are long-running and throttled; they get their own thread so bulk admin jobs are not held up.
+    @Bean(name = BROADCAST_EXECUTOR)
+    public ThreadPoolTaskExecutor broadcastExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(4);
+        executor.setThreadNamePrefix("broadcast-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,36 @@
+package com.backend.config;
+
+import com.backend.service.avatar.BlobStore;
+import com.backend.service.avatar.CloudinaryBlobStore;
+import com.backend.service.avatar.LocalBlobStore;
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Picks the avatar store from {@code avatar.store} when the bean is created rather than with bean
+ * conditions, so AOT-processed (faststart) builds still follow the value set at runtime.
+ */
+@Configuration
+public class AvatarStoreConfig {
+
+    @Bean
+    public BlobStore blobStore(@Value("${avatar.store:local}") String store, CloudinaryConfig config,
+                               @Value("${avatar.local.path:data/avatars}") String path,
+                               @Value("${avatar.local.url-prefix:/api/user/avatars/}") String urlPrefix) throws IOException {
+        return switch (store) {
+            case "cloudinary" -> new CloudinaryBlobStore(new Cloudinary(ObjectUtils.asMap(
+                    "cloud_name", config.getCloudName(),
+                    "api_key", config.getApiKey(),
+                    "api_secret", config.getApiSecret(),
+                    "secure", true)));
+            case "local" -> new LocalBlobStore(Path.of(path), urlPrefix);
+            default -> throw new IllegalArgumentException("Unknown avatar.store: " + store);
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.backend.config;
+
+import com.backend.shared.relay.ClusterRelay;
+import com.backend.shared.relay.MongoChangeStreamRelay;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.messaging.MessageChannel;
+
+import java.time.Duration;
+
+/**
+ * Selects the relay that fans {@code /topic} messages out to the other instances. With
+ * {@code websocket.relay.mode} unset each node's simple broker only serves its own sessions. The
+ * mode is read when the bean is created, not through a bean condition, so AOT-processed builds
+ * still follow the value set at runtime.
+ */
+@Configuration
+public class ClusterRelayConfig {
+
+    /**
+     * @return the relay, or null (no bean for {@link WebSocketConfig} to pick up) when no mode is set
+     */
+    @Bean
+    public ClusterRelay clusterRelay(@Value("${websocket.relay.mode:}") String mode,
+                                     MongoTemplate mongoTemplate, ApplicationContext context,
+                                     @Value("${websocket.relay.collection:stomp_relay}") String collection,
+                                     @Value("${websocket.relay.tick:PT0.05S}") Duration tick,
+                                     @Value("${websocket.relay.retention:PT5M}") Duration retention) {
+        return switch (mode) {
+            case "mongo" -> new MongoChangeStreamRelay(mongoTemplate, collection, tick, retention,
+                    () -> context.getBean("brokerChannel", MessageChannel.class));
+            case "" -> null;
+            default -> throw new IllegalArgumentException("Unknown websocket.relay.mode: " + mode);
+        };
+    }
+}
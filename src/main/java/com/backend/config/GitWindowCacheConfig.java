@@ -0,0 +1,45 @@
+package com.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.storage.file.WindowCacheConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sizes JGit's process-wide {@code WindowCache}, which every reader of a pack shares. The defaults
+ * (10 MB of 8 KB windows) thrash as soon as several analysis threads walk large histories.
+ */
+@Configuration
+@Slf4j
+public class GitWindowCacheConfig {
+
+    private static final int WINDOW_SIZE = 64 * 1024;
+    private static final long MAX_PACKED_GIT_LIMIT = 1024L * 1024 * 1024;
+
+    @Value("${analysis.window-cache.limit-bytes:0}")
+    private long limitBytes;
+
+    @PostConstruct
+    public void install() {
+        WindowCacheConfig config = tuned(limitBytes > 0 ? limitBytes : defaultLimit(Runtime.getRuntime().maxMemory()));
+        config.install();
+        log.info("JGit window cache: {} MB in {} KB windows, {} MB delta base cache",
+                config.getPackedGitLimit() >> 20, config.getPackedGitWindowSize() >> 10, config.getDeltaBaseCacheLimit() >> 20);
+    }
+
+    // A quarter of the heap, capped, leaves room for diff buffers and the rest of the application.
+    public static long defaultLimit(long maxHeap) {
+        return Math.min(maxHeap / 4, MAX_PACKED_GIT_LIMIT);
+    }
+
+    public static WindowCacheConfig tuned(long packedGitLimit) {
+        WindowCacheConfig config = new WindowCacheConfig();
+        config.setPackedGitWindowSize(WINDOW_SIZE);
+        config.setPackedGitLimit(Math.max(packedGitLimit, 32L * WINDOW_SIZE));
+        config.setPackedGitOpenFiles(256);
+        config.setDeltaBaseCacheLimit((int) Math.min(packedGitLimit / 8, 64L * 1024 * 1024));
+        config.setStreamFileThreshold(16 * 1024 * 1024);
+        return config;
+    }
+}
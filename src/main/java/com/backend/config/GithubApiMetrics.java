@@ -0,0 +1,46 @@
+package com.backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class GithubApiMetrics {
+
+    private static final String RATE_LIMIT_REMAINING = "X-RateLimit-Remaining";
+
+    private final MeterRegistry registry;
+    private final AtomicLong rateLimitRemaining = new AtomicLong(-1);
+
+    public GithubApiMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("github.api.rate_limit.remaining", rateLimitRemaining, AtomicLong::get)
+                .description("Remaining GitHub API requests reported by the last response")
+                .register(registry);
+    }
+
+    public void record(String endpoint, long startNanos, int status, HttpHeaders headers) {
+        long elapsed = System.nanoTime() - startNanos;
+        RequestTimings.add(RequestTimings.Phase.GITHUB, elapsed);
+        Timer.builder("github.api.requests")
+                .tag("endpoint", endpoint)
+                .tag("status", status > 0 ? String.valueOf(status) : "IO_ERROR")
+                .register(registry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        if (headers != null) {
+            String remaining = headers.getFirst(RATE_LIMIT_REMAINING);
+            if (remaining != null) {
+                try {
+                    rateLimitRemaining.set(Long.parseLong(remaining.trim()));
+                } catch (NumberFormatException ignored) {
+                    // GitHub always sends an integer; ignore anything else
+                }
+            }
+        }
+    }
+}
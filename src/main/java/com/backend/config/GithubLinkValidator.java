@@ -1,6 +1,8 @@
 package com.backend.config;
 
 import com.backend.shared.exception.GithubNotFoundException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
@@ -11,6 +13,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.util.Optional;
 import java.util.regex.Pattern;
 
 @Service
@@ -20,8 +24,15 @@ public class GithubLinkValidator {
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private GithubApiMetrics githubApiMetrics;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     private static final String GITHUB_API_BASE_URL = "https://api.github.com";
-    private static final String REPO_PATTERN = "^https?://(www\\.)?github\\.com/([a-zA-Z0-9-]+)/([a-zA-Z0-9-_]+)$";
+    /** Repository links; repository names may contain dots, as in {@code vercel/next.js}. */
+    public static final String REPO_PATTERN = "^https?://(www\\.)?github\\.com/([a-zA-Z0-9-]+)/([a-zA-Z0-9._-]+)$";
     private static final String USER_PATTERN = "^https?://(www\\.)?github\\.com/([a-zA-Z0-9-]+)$";
 
     public boolean isValidGitHubLink(String link) {
@@ -40,7 +51,28 @@ public class GithubLinkValidator {
         }
     }
 
+    /**
+     * Looks up a repository link and returns its metadata, or empty when the link is not a repository
+     * or GitHub does not know it. Callers that need the metadata should use this instead of
+     * {@link #isValidGitHubLink} so the repository is only requested once.
+     */
+    public Optional<GithubRepositoryMetadata> fetchRepositoryMetadata(String link) {
+        if (link == null || link.trim().isEmpty()) {
+            throw new GithubNotFoundException("GitHub link cannot be null or empty");
+        }
+        String normalizedLink = link.trim().replaceAll("/+$", "");
+        if (!Pattern.matches(REPO_PATTERN, normalizedLink)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(fetchRepository(normalizedLink));
+    }
+
     private boolean validateRepositoryLink(String link) {
+        return fetchRepository(link) != null;
+    }
+
+    private GithubRepositoryMetadata fetchRepository(String link) {
+        long start = System.nanoTime();
         try {
             String[] parts = link.split("/");
             String owner = parts[parts.length - 2];
@@ -50,18 +82,48 @@ public class GithubLinkValidator {
             headers.set("Accept", "application/vnd.github.v3+json");
             HttpEntity<?> entity = new HttpEntity<>(headers);
             ResponseEntity<String> response = restTemplate.exchange(apiUrl, HttpMethod.GET, entity, String.class);
+            githubApiMetrics.record("repos", start, response.getStatusCode().value(), response.getHeaders());
             log.info("Validated repository link: {} - Status: {}", link, response.getStatusCode());
-            return response.getStatusCode().is2xxSuccessful();
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                return null;
+            }
+            return parseRepository(owner, repo, response.getBody());
         } catch (HttpClientErrorException e) {
+            githubApiMetrics.record("repos", start, e.getStatusCode().value(), e.getResponseHeaders());
             log.error("Failed to validate repository link: {} - Status: {}", link, e.getStatusCode());
-            return false;
+            return null;
         } catch (Exception e) {
+            githubApiMetrics.record("repos", start, 0, null);
             log.error("Unexpected error validating repository link: {} - Error: {}", link, e.getMessage());
-            return false;
+            return null;
         }
     }
 
+    private GithubRepositoryMetadata parseRepository(String owner, String repo, String body) throws IOException {
+        JsonNode node = body != null ? objectMapper.readTree(body) : null;
+        if (node == null || !node.isObject()) {
+            // The repository exists; admission falls back to defaults when the body is unusable.
+            return new GithubRepositoryMetadata(owner, repo, 0, null, null, false, false, owner + "/" + repo);
+        }
+        String fullName = node.path("full_name").asText(owner + "/" + repo);
+        return new GithubRepositoryMetadata(
+                node.path("owner").path("login").asText(owner),
+                node.path("name").asText(repo),
+                node.path("size").asLong(0),
+                textOrNull(node.get("default_branch")),
+                textOrNull(node.get("language")),
+                node.path("fork").asBoolean(false),
+                node.path("archived").asBoolean(false),
+                node.path("source").path("full_name").asText(fullName)
+        );
+    }
+
+    private static String textOrNull(JsonNode node) {
+        return node == null || node.isNull() ? null : node.asText();
+    }
+
     private boolean validateUserLink(String link) {
+        long start = System.nanoTime();
         try {
             String[] parts = link.split("/");
             String username = parts[parts.length - 1];
@@ -70,12 +132,15 @@ public class GithubLinkValidator {
             headers.set("Accept", "application/vnd.github.v3+json");
             HttpEntity<?> entity = new HttpEntity<>(headers);
             ResponseEntity<String> response = restTemplate.exchange(apiUrl, HttpMethod.GET, entity, String.class);
+            githubApiMetrics.record("users", start, response.getStatusCode().value(), response.getHeaders());
             log.info("Validated user link: {} - Status: {}", link, response.getStatusCode());
             return response.getStatusCode().is2xxSuccessful();
         } catch (HttpClientErrorException e) {
+            githubApiMetrics.record("users", start, e.getStatusCode().value(), e.getResponseHeaders());
             log.error("Failed to validate user link: {} - Status: {}", link, e.getStatusCode());
             return false;
         } catch (Exception e) {
+            githubApiMetrics.record("users", start, 0, null);
             log.error("Unexpected error validating user link: {} - Error: {}", link, e.getMessage());
             return false;
         }
@@ -0,0 +1,9 @@
+package com.backend.config;
+
+/**
+ * The parts of GitHub's {@code /repos/{owner}/{repo}} response used for admission decisions.
+ * {@code sizeKb} is GitHub's own estimate of the repository size in kilobytes. {@code networkRoot}
+ * is the {@code owner/name} of the repository at the root of the fork network, which is the
+ * repository itself when it is not a fork.
+ */
+public record GithubRepositoryMetadata(String owner, String name, long sizeKb, String defaultBranch, String language, boolean fork, boolean archived, String networkRoot) {}
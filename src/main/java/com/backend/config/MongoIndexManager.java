@@ -0,0 +1,148 @@
+package com.backend.config;
+
+import com.backend.model.auth.AuthorizedClientRecord;
+import com.backend.model.auth.RefreshToken;
+import com.backend.model.email.MagicLink;
+import com.backend.model.email.PasswordResetLink;
+import com.backend.model.github.Github;
+import com.backend.model.user.User;
+import com.backend.model.waitingList.WaitingList;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Declares the indexes every repository finder relies on and verifies they exist at startup.
+ * User email and username are unique under the same case-insensitive collation declared on
+ * {@link User}, so lookups and duplicate detection agree on what counts as "the same" address.
+ */
+@Component
+@Slf4j
+public class MongoIndexManager {
+
+    public static final String USERS_EMAIL_UNIQUE = "users_email_unique";
+    public static final String USERS_USERNAME_UNIQUE = "users_username_unique";
+    public static final String USERS_PROVIDER_ID = "users_provider_provider_id";
+
+    // Expired links stay around for a day so users still get the "expired" message rather than "invalid".
+    private static final Duration EXPIRED_LINK_GRACE = Duration.ofDays(1);
+
+    static final Collation CASE_INSENSITIVE = Collation.of("en").strength(Collation.ComparisonLevel.secondary());
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${mongo.indexes.fail-on-missing:false}")
+    private boolean failOnMissing;
+
+    @PostConstruct
+    public void ensureIndexes() {
+        Map<Class<?>, List<IndexDefinition>> declared = new LinkedHashMap<>();
+        declared.put(User.class, List.of(
+                new Index().on("email", Sort.Direction.ASC).unique().collation(CASE_INSENSITIVE).named(USERS_EMAIL_UNIQUE),
+                new Index().on("username", Sort.Direction.ASC).unique().collation(CASE_INSENSITIVE).named(USERS_USERNAME_UNIQUE),
+                new Index().on("provider", Sort.Direction.ASC).on("providerId", Sort.Direction.ASC).unique()
+                        .partial(PartialIndexFilter.of(Criteria.where("providerId").exists(true)))
+                        .collation(CASE_INSENSITIVE)
+                        .named(USERS_PROVIDER_ID)
+        ));
+        declared.put(MagicLink.class, List.of(
+                new Index().on("link", Sort.Direction.ASC).unique().named("magic_links_link_unique"),
+                new Index().on("expiresAt", Sort.Direction.ASC).expire(EXPIRED_LINK_GRACE).named("magic_links_expiry_ttl")
+        ));
+        declared.put(PasswordResetLink.class, List.of(
+                new Index().on("link", Sort.Direction.ASC).unique().named("password_reset_link_unique"),
+                new Index().on("expiresAt", Sort.Direction.ASC).expire(EXPIRED_LINK_GRACE).named("password_reset_expiry_ttl")
+        ));
+        declared.put(WaitingList.class, List.of(
+                new Index().on("email", Sort.Direction.ASC).unique().named("waiting_list_email_unique"),
+                new Index().on("sequence", Sort.Direction.ASC).unique()
+                        .partial(PartialIndexFilter.of(Criteria.where("sequence").exists(true)))
+                        .named("waiting_list_sequence_unique")
+        ));
+        declared.put(Github.class, List.of(
+                new Index().on("githubLink", Sort.Direction.ASC).on("user._id", Sort.Direction.ASC).unique().named("github_link_user")
+        ));
+        declared.put(RefreshToken.class, resolveAnnotated(RefreshToken.class));
+        declared.put(AuthorizedClientRecord.class, resolveAnnotated(AuthorizedClientRecord.class));
+
+        List<String> missing = new ArrayList<>();
+        try {
+            declared.forEach((type, indexes) -> missing.addAll(ensure(type, indexes)));
+        } catch (DataAccessResourceFailureException e) {
+            // Unreachable: stop at the first timeout instead of waiting one out per index.
+            if (failOnMissing) {
+                throw new IllegalStateException("MongoDB is unreachable, indexes could not be verified", e);
+            }
+            log.error("MongoDB is unreachable, skipping index verification: {}", e.getMessage());
+            return;
+        }
+        if (!missing.isEmpty()) {
+            String message = "Missing MongoDB indexes: " + missing;
+            if (failOnMissing) {
+                throw new IllegalStateException(message);
+            }
+            log.error(message);
+        }
+    }
+
+    private List<String> ensure(Class<?> type, List<IndexDefinition> indexes) {
+        IndexOperations indexOps = mongoTemplate.indexOps(type);
+        for (IndexDefinition index : indexes) {
+            try {
+                indexOps.createIndex(index);
+            } catch (DataAccessResourceFailureException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                log.error("Failed to create index {} on {}: {}", index.getIndexOptions().get("name"), mongoTemplate.getCollectionName(type), e.getMessage());
+            }
+        }
+        Set<String> existing;
+        try {
+            existing = indexOps.getIndexInfo().stream().map(IndexInfo::getName).collect(Collectors.toSet());
+        } catch (DataAccessResourceFailureException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.error("Failed to list indexes on {}: {}", mongoTemplate.getCollectionName(type), e.getMessage());
+            existing = Set.of();
+        }
+        List<String> missing = new ArrayList<>();
+        for (IndexDefinition index : indexes) {
+            Object name = index.getIndexOptions().get("name");
+            if (name != null && !existing.contains(name.toString())) {
+                missing.add(mongoTemplate.getCollectionName(type) + "." + name);
+            }
+        }
+        log.info("Verified {} indexes on {}", indexes.size() - missing.size(), mongoTemplate.getCollectionName(type));
+        return missing;
+    }
+
+    private List<IndexDefinition> resolveAnnotated(Class<?> type) {
+        List<IndexDefinition> indexes = new ArrayList<>();
+        new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(type)
+                .forEach(indexes::add);
+        return indexes;
+    }
+}
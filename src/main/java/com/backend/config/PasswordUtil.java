@@ -9,10 +9,16 @@ public class PasswordUtil {
     private PasswordUtil() {}
 
     public static String encryptPassword(String password) {
-        return new BCryptPasswordEncoder().encode(password);
+        long start = RequestTimings.start();
+        String encoded = encoder.encode(password);
+        RequestTimings.stop(RequestTimings.Phase.BCRYPT, start);
+        return encoded;
     }
 
     public static boolean matches(String rawPassword, String encodedPassword) {
-        return encoder.matches(rawPassword, encodedPassword);
+        long start = RequestTimings.start();
+        boolean matches = encoder.matches(rawPassword, encodedPassword);
+        RequestTimings.stop(RequestTimings.Phase.BCRYPT, start);
+        return matches;
     }
 }
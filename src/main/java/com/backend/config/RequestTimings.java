@@ -0,0 +1,136 @@
+package com.backend.config;
+
+import java.util.Arrays;
+
+/**
+ * Per-thread accumulator for the phases of a request reported in the {@code Server-Timing} header.
+ * Each thread reuses one instance, and every call is a no-op while capture is disabled or no
+ * request is active, so instrumented code pays only a flag check.
+ */
+public final class RequestTimings {
+
+    public enum Phase {
+        MONGO("db"),
+        BCRYPT("bcrypt"),
+        SMTP("smtp"),
+        GITHUB("github"),
+        SERIALIZATION("ser");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<RequestTimings> CURRENT = ThreadLocal.withInitial(RequestTimings::new);
+
+    private static volatile boolean enabled;
+
+    private final long[] totals = new long[PHASES.length];
+    private boolean active;
+    private long requestStart;
+    private long serializationStart;
+
+    private RequestTimings() {}
+
+    static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public static void stop(Phase phase, long startNanos) {
+        if (startNanos != 0L) {
+            add(phase, System.nanoTime() - startNanos);
+        }
+    }
+
+    public static void add(Phase phase, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        RequestTimings timings = CURRENT.get();
+        if (timings.active) {
+            timings.totals[phase.ordinal()] += nanos;
+        }
+    }
+
+    public static void markSerialization() {
+        if (!enabled) {
+            return;
+        }
+        RequestTimings timings = CURRENT.get();
+        if (timings.active) {
+            timings.serializationStart = System.nanoTime();
+        }
+    }
+
+    static RequestTimings begin() {
+        RequestTimings timings = CURRENT.get();
+        Arrays.fill(timings.totals, 0L);
+        timings.serializationStart = 0L;
+        timings.requestStart = System.nanoTime();
+        timings.active = true;
+        return timings;
+    }
+
+    static RequestTimings current() {
+        RequestTimings timings = CURRENT.get();
+        return timings.active ? timings : null;
+    }
+
+    void finishSerialization() {
+        if (serializationStart != 0L) {
+            totals[Phase.SERIALIZATION.ordinal()] += System.nanoTime() - serializationStart;
+            serializationStart = 0L;
+        }
+    }
+
+    void end() {
+        active = false;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - requestStart;
+    }
+
+    String toHeader(long totalNanos) {
+        StringBuilder header = new StringBuilder(96);
+        for (Phase phase : PHASES) {
+            long nanos = totals[phase.ordinal()];
+            if (nanos > 0) {
+                appendMetric(header, phase.getMetricName(), nanos);
+            }
+        }
+        appendMetric(header, "total", totalNanos);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        long micros = nanos / 1_000;
+        header.append(name).append(";dur=").append(micros / 1_000).append('.');
+        long fraction = micros % 1_000;
+        if (fraction < 100) {
+            header.append('0');
+        }
+        if (fraction < 10) {
+            header.append('0');
+        }
+        header.append(fraction);
+    }
+}
@@ -0,0 +1,31 @@
+package com.backend.config;
+
+import com.backend.service.github.result.AnalysisResultStore;
+import com.backend.service.github.result.GridFsResultStore;
+import com.backend.service.github.result.LocalResultStore;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Picks the result store from {@code analysis.result-store} at runtime, like {@link AvatarStoreConfig}.
+ */
+@Configuration
+public class ResultStoreConfig {
+
+    @Bean
+    public AnalysisResultStore analysisResultStore(@Value("${analysis.result-store:gridfs}") String store,
+                                                   MongoDatabaseFactory databaseFactory,
+                                                   @Value("${analysis.result-path:data/results}") String path) throws IOException {
+        return switch (store) {
+            case "gridfs" -> new GridFsResultStore(GridFSBuckets.create(databaseFactory.getMongoDatabase(), "analysis_results"));
+            case "local" -> new LocalResultStore(Path.of(path));
+            default -> throw new IllegalArgumentException("Unknown analysis.result-store: " + store);
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.backend.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ServerTimingConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoTimingCustomizer() {
+        return builder -> builder.addCommandListener(new CommandListener() {
+            @Override
+            public void commandSucceeded(CommandSucceededEvent event) {
+                RequestTimings.add(RequestTimings.Phase.MONGO, event.getElapsedTime(TimeUnit.NANOSECONDS));
+            }
+
+            @Override
+            public void commandFailed(CommandFailedEvent event) {
+                RequestTimings.add(RequestTimings.Phase.MONGO, event.getElapsedTime(TimeUnit.NANOSECONDS));
+            }
+        });
+    }
+}
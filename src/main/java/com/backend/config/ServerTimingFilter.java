@@ -0,0 +1,75 @@
+package com.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger SLOW_LOG = LoggerFactory.getLogger("com.backend.slowlog");
+    private static final String[] TIMED_PATHS = {"/api/auth/", "/api/user/", "/waiting-list/"};
+    // Streamed file responses must not be buffered by the wrapper.
+    private static final String[] UNBUFFERED_PATHS = {"/api/user/avatars/"};
+
+    @Value("${server-timing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${server-timing.slow-threshold-ms:1000}")
+    private long slowThresholdMs;
+
+    @PostConstruct
+    void init() {
+        RequestTimings.setEnabled(enabled);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String prefix : UNBUFFERED_PATHS) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        for (String prefix : TIMED_PATHS) {
+            if (path.startsWith(prefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.begin();
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } finally {
+            timings.finishSerialization();
+            long totalNanos = timings.elapsedNanos();
+            String header = timings.toHeader(totalNanos);
+            timings.end();
+            if (!response.isCommitted()) {
+                response.setHeader("Server-Timing", header);
+            }
+            responseWrapper.copyBodyToResponse();
+            if (totalNanos / 1_000_000 >= slowThresholdMs) {
+                SLOW_LOG.warn("Slow request: {} {} status={} [{}]", request.getMethod(), request.getRequestURI(), response.getStatus(), header);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.backend.config;
+
+import com.backend.model.user.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives users stored before {@code @Version} was introduced an initial version, otherwise Spring
+ * Data would treat them as new and try to insert them again on save. Like
+ * {@link WaitingListSequenceBackfill}, an unreachable Mongo does not stop startup; the backfill is
+ * retried on a schedule until it completes.
+ */
+@Component
+@Slf4j
+public class UserVersionBackfill implements ApplicationRunner {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private volatile boolean completed;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        tryBackfill();
+    }
+
+    @Scheduled(fixedDelayString = "${user.version-backfill.retry-ms:60000}", initialDelayString = "${user.version-backfill.retry-ms:60000}")
+    public void retry() {
+        if (!completed) {
+            tryBackfill();
+        }
+    }
+
+    private void tryBackfill() {
+        try {
+            backfill();
+            completed = true;
+        } catch (RuntimeException e) {
+            log.warn("User version backfill failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    void backfill() {
+        long updated = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("version").exists(false)),
+                new Update().set("version", 0L),
+                User.class).getModifiedCount();
+        if (updated > 0) {
+            log.info("Initialised version on {} users", updated);
+        }
+    }
+}
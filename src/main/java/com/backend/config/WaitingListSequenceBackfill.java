@@ -0,0 +1,113 @@
+package com.backend.config;
+
+import com.backend.model.waitingList.WaitingList;
+import com.backend.service.counter.CounterServiceImpl;
+import com.backend.service.waitinglist.WaitingListServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Numbers waiting-list entries stored before sequences existed, in signup order (their ObjectId
+ * timestamps), and moves the counter past the highest sequence in use. It runs at startup and, if
+ * Mongo cannot be reached then, on a schedule until it completes. Signups call
+ * {@link #ensureCompleted()} before taking a sequence, so older entries are always numbered ahead
+ * of new ones.
+ */
+@Component
+@Slf4j
+public class WaitingListSequenceBackfill implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CounterServiceImpl counterService;
+
+    private volatile boolean completed;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        tryBackfill();
+    }
+
+    @Scheduled(fixedDelayString = "${waitinglist.backfill.retry-ms:60000}", initialDelayString = "${waitinglist.backfill.retry-ms:60000}")
+    public void retry() {
+        if (!completed) {
+            tryBackfill();
+        }
+    }
+
+    /**
+     * Runs the backfill now if it has not completed yet.
+     *
+     * @return whether new sequences may be handed out
+     */
+    public boolean ensureCompleted() {
+        if (!completed) {
+            tryBackfill();
+        }
+        return completed;
+    }
+
+    private synchronized void tryBackfill() {
+        if (completed) {
+            return;
+        }
+        try {
+            backfill();
+            completed = true;
+        } catch (RuntimeException e) {
+            log.warn("Waiting list sequence backfill failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    void backfill() {
+        WaitingList highest = mongoTemplate.findOne(
+                new Query(Criteria.where("sequence").exists(true)).with(Sort.by(Sort.Direction.DESC, "sequence")).limit(1),
+                WaitingList.class);
+        if (highest != null) {
+            counterService.advanceTo(WaitingListServiceImpl.SEQUENCE, highest.getSequence());
+        }
+
+        long updated = 0;
+        List<WaitingList> batch;
+        do {
+            batch = mongoTemplate.find(
+                    new Query(Criteria.where("sequence").exists(false)).with(Sort.by(Sort.Direction.ASC, "_id")).limit(BATCH_SIZE),
+                    WaitingList.class);
+            if (batch.isEmpty()) {
+                break;
+            }
+            // One counter round trip and one bulk write per batch; an entry numbered meanwhile leaves a gap, which positions ignore.
+            long sequence = counterService.reserve(WaitingListServiceImpl.SEQUENCE, batch.size());
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WaitingList.class);
+            for (WaitingList entry : batch) {
+                Update update = new Update().set("sequence", sequence++);
+                if (entry.getCreatedAt() == null && ObjectId.isValid(entry.getId())) {
+                    update.set("createdAt", Instant.ofEpochSecond(new ObjectId(entry.getId()).getTimestamp()));
+                }
+                bulk.updateOne(Query.query(Criteria.where("_id").is(entry.getId()).and("sequence").exists(false)), update);
+            }
+            updated += bulk.execute().getModifiedCount();
+        } while (batch.size() == BATCH_SIZE);
+        if (updated > 0) {
+            log.info("Assigned sequences to {} waiting list entries", updated);
+        }
+    }
+}
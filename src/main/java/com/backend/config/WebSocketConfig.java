@@ -1,6 +1,10 @@
 package com.backend.config;
 
+import com.backend.shared.relay.ClusterRelay;
+import com.backend.shared.relay.RelayChannelInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -10,14 +14,29 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final String TOPIC_PREFIX = "/topic";
+
+    @Autowired(required = false)
+    private ClusterRelay clusterRelay;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        config.enableSimpleBroker(TOPIC_PREFIX);
         config.setApplicationDestinationPrefixes("/app");
+        if (clusterRelay != null) {
+            config.configureBrokerChannel().interceptors(new RelayChannelInterceptor(clusterRelay, TOPIC_PREFIX));
+        }
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        if (clusterRelay != null) {
+            registration.interceptors(new RelayChannelInterceptor(clusterRelay, TOPIC_PREFIX));
+        }
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws").setAllowedOrigins("*").withSockJS();
     }
-}
\ No newline at end of file
+}
@@ -1,18 +1,116 @@
 package com.backend.controller.admin;
 
+import com.backend.dto.request.BroadcastRequest;
+import com.backend.dto.request.BulkUserFilter;
+import com.backend.dto.response.BulkJobStatus;
+import com.backend.dto.response.ForkNetworkUsage;
+import com.backend.model.email.BroadcastRun;
+import com.backend.model.user.Role;
+import com.backend.service.admin.AdminUserServiceImpl;
+import com.backend.service.email.broadcast.BroadcastMailServiceImpl;
+import com.backend.service.github.storage.ForkNetworkStore;
+import com.backend.shared.exception.InvalidInputException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.security.Principal;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/admin")
+@Slf4j
 public class AdminController {
 
+    @Autowired
+    private AdminUserServiceImpl adminUserService;
+
+    @Autowired
+    private ForkNetworkStore forkNetworkStore;
+
+    @Autowired
+    private BroadcastMailServiceImpl broadcastMailService;
+
     @PostMapping("/write-docs")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<String> writeDocs() {
         return ResponseEntity.ok("Welcome, mighty Admin! You may now write the sacred docs.");
     }
+
+    @PostMapping(value = "/users/verify", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkJobStatus> verifyUsers(@RequestBody(required = false) BulkUserFilter filter) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(adminUserService.verify(filter));
+    }
+
+    @PostMapping(value = "/users/verify", consumes = MediaType.TEXT_PLAIN_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkJobStatus> verifyUserIds(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(adminUserService.verify(request.getInputStream()));
+    }
+
+    @PostMapping(value = "/users/role/{role}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkJobStatus> changeRole(@PathVariable String role, @RequestBody(required = false) BulkUserFilter filter) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(adminUserService.changeRole(parseRole(role), filter));
+    }
+
+    @PostMapping(value = "/users/role/{role}", consumes = MediaType.TEXT_PLAIN_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkJobStatus> changeRoleForIds(@PathVariable String role, HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(adminUserService.changeRole(parseRole(role), request.getInputStream()));
+    }
+
+    @PostMapping("/users/delete-unverified")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkJobStatus> deleteUnverified(@RequestParam int olderThanDays,
+                                                          @RequestParam(required = false) String provider) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(adminUserService.deleteUnverified(olderThanDays, provider));
+    }
+
+    @GetMapping("/users/jobs/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkJobStatus> jobStatus(@PathVariable String jobId) {
+        BulkJobStatus status = adminUserService.status(jobId);
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/storage/networks")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ForkNetworkUsage>> storageNetworks() {
+        return ResponseEntity.ok(forkNetworkStore.usage());
+    }
+
+    @PostMapping("/broadcasts")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BroadcastRun> startBroadcast(@Valid @RequestBody BroadcastRequest request, Principal principal) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(broadcastMailService.start(request, principal != null ? principal.getName() : null));
+    }
+
+    @GetMapping("/broadcasts/{runId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BroadcastRun> broadcastStatus(@PathVariable String runId) {
+        return broadcastMailService.status(runId).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private static Role parseRole(String role) {
+        try {
+            return Role.valueOf(role.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException("Unknown role: " + role);
+        }
+    }
 }
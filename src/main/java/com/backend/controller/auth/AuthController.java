@@ -1,16 +1,19 @@
 package com.backend.controller.auth;
 
-import com.backend.shared.exception.InvalidInputException;
+import com.backend.shared.exception.InvalidRefreshTokenException;
 import com.backend.shared.exception.PasswordOrEmailException;
-import com.backend.shared.exception.AlreadyExistException;
 import com.backend.shared.exception.UserNotFoundException;
 import com.backend.security.JwtTokenProvider;
 import com.backend.dto.UserDTO;
 import com.backend.dto.request.MagicLinkRequest;
 import com.backend.dto.request.PasswordResetRequest;
-import com.backend.dto.response.LoginResponse;
-import com.backend.dto.response.ResponseDetails;
+import com.backend.dto.request.RefreshTokenRequest;
+import com.backend.dto.response.PreEncodedJson;
+import com.backend.dto.response.ResponseTemplate;
+import com.backend.dto.response.TokenPair;
 import com.backend.service.auth.AuthServiceImpl;
+import com.backend.service.auth.RefreshTokenServiceImpl;
+import com.backend.shared.result.ServiceResult;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -25,13 +28,28 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/auth")
 @Slf4j
 public class AuthController {
 
+    private static final ResponseTemplate REGISTER_CREATED = ResponseTemplate.details("Your account has been created successfully", HttpStatus.CREATED, "/api/auth/register");
+    private static final ResponseTemplate BAD_REQUEST_WITH_MESSAGE = ResponseTemplate.detailsWithMessage(HttpStatus.BAD_REQUEST, "/api/auth/register");
+    private static final ResponseTemplate REGISTER_FAILED = ResponseTemplate.details("Failed to save user", HttpStatus.INTERNAL_SERVER_ERROR, "/api/auth/register");
+    private static final ResponseTemplate LOGIN_SUCCESS = ResponseTemplate.login("Login successful", HttpStatus.OK, "/api/auth/register");
+    private static final ResponseTemplate INVALID_CREDENTIALS = ResponseTemplate.details("Invalid credentials", HttpStatus.UNAUTHORIZED, "/api/auth/register");
+    private static final ResponseTemplate REFRESH_SUCCESS = ResponseTemplate.login("Token refreshed", HttpStatus.OK, "/api/auth/refresh");
+    private static final ResponseTemplate INVALID_REFRESH_TOKEN = ResponseTemplate.details("Invalid or expired refresh token", HttpStatus.UNAUTHORIZED, "/api/auth/refresh");
+    private static final ResponseTemplate MAGIC_LINK_SENT = ResponseTemplate.details("Magic link sent to email", HttpStatus.OK, "/api/auth/register");
+    private static final ResponseTemplate USER_NOT_FOUND = ResponseTemplate.details("User not found", HttpStatus.BAD_REQUEST, "/api/auth/register");
+    private static final ResponseTemplate ACCOUNT_VERIFIED = ResponseTemplate.details("Your account has been verified successfully", HttpStatus.OK, "/api/auth/register");
+    private static final ResponseTemplate MAGIC_LINK_EXPIRED = ResponseTemplate.details("Your magic link is expired already", HttpStatus.BAD_REQUEST, "/api/auth/register");
+    private static final ResponseTemplate PASSWORD_RESET_LINK_SENT = ResponseTemplate.details("Password reset link sent to email", HttpStatus.OK, "/api/auth/register");
+    private static final ResponseTemplate PASSWORD_RESET_REQUEST_FAILED = ResponseTemplate.details("Failed to process password reset request", HttpStatus.INTERNAL_SERVER_ERROR, "/api/auth/register");
+    private static final ResponseTemplate PASSWORD_RESET_SUCCESS = ResponseTemplate.details("Password reset successful", HttpStatus.OK, "/api/auth/register");
+    private static final ResponseTemplate INVALID_RESET_TOKEN = ResponseTemplate.details("Invalid or expired reset token", HttpStatus.BAD_REQUEST, "/api/auth/register");
+
     @Autowired
     private AuthServiceImpl authService;
 
@@ -41,20 +59,33 @@ public class AuthController {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private RefreshTokenServiceImpl refreshTokenService;
+
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody UserDTO userDTO) {
         log.info("Registering user with email: {}", userDTO.getEmail());
         try {
-            authService.registerUser(userDTO);
-            ResponseDetails responseDetails = new ResponseDetails(LocalDateTime.now(), "Your account has been created successfully", HttpStatus.CREATED.toString(), "/api/auth/register");
-            return ResponseEntity.status(201).body(responseDetails);
-        } catch (InvalidInputException | PasswordOrEmailException | AlreadyExistException e) {
-            log.error("Registration failed: {}", e.getMessage());
-            ResponseDetails responseDetails = new ResponseDetails(LocalDateTime.now(), e.getMessage(), HttpStatus.BAD_REQUEST.toString(), "/api/auth/register");
-            return ResponseEntity.status(400).body(responseDetails);
+            ServiceResult<Void> result = authService.tryRegisterUser(userDTO);
+            if (result.isOk()) {
+                PreEncodedJson responseDetails = REGISTER_CREATED.render();
+                return ResponseEntity.status(201).body(responseDetails);
+            }
+            switch (result.getError()) {
+                case INVALID_INPUT, WEAK_PASSWORD, ALREADY_EXISTS -> {
+                    log.warn("Registration failed: {}", result.getMessage());
+                    PreEncodedJson responseDetails = BAD_REQUEST_WITH_MESSAGE.render(result.getMessage());
+                    return ResponseEntity.status(400).body(responseDetails);
+                }
+                default -> {
+                    log.warn("Registration rejected: {}", result.getMessage());
+                    PreEncodedJson responseDetails = REGISTER_FAILED.render();
+                    return ResponseEntity.status(500).body(responseDetails);
+                }
+            }
         } catch (Exception e) {
             log.error("Unexpected error during registration: {}", e.getMessage(), e);
-            ResponseDetails responseDetails = new ResponseDetails(LocalDateTime.now(), "Failed to save user", HttpStatus.INTERNAL_SERVER_ERROR.toString(), "/api/auth/register");
+            PreEncodedJson responseDetails = REGISTER_FAILED.render();
             return ResponseEntity.status(500).body(responseDetails);
         }
     }
@@ -65,12 +96,23 @@ public class AuthController {
             log.info("Logging in user: {}", userDTO.getUsername());
             Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(userDTO.getUsername(), userDTO.getPassword()));
             String token = jwtTokenProvider.generateToken(authentication);
-            ResponseDetails responseDetails = new ResponseDetails(LocalDateTime.now(), "Login successful", HttpStatus.OK.toString(), "/api/auth/register");
-            LoginResponse loginResponse = new LoginResponse(token, responseDetails);
-            return ResponseEntity.ok(loginResponse);
+            String refreshToken = refreshTokenService.issue(authentication);
+            return ResponseEntity.ok(LOGIN_SUCCESS.render(token, refreshToken));
         } catch (Exception e) {
-            log.error("Login failed for user: {}", userDTO.getUsername(), e);
-            ResponseDetails responseDetails = new ResponseDetails(LocalDateTime.now(), "Invalid credentials", HttpStatus.UNAUTHORIZED.toString(), "/api/auth/register");
+            log.warn("Login failed for user: {}: {}", userDTO.getUsername(), e.getMessage());
+            PreEncodedJson responseDetails = INVALID_CREDENTIALS.render();
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(responseDetails);
+        }
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        try {
+            TokenPair tokens = refreshTokenService.refresh(request.getRefreshToken());
+            return ResponseEntity.ok(REFRESH_SUCCESS.render(tokens.getAccessToken(), tokens.getRefreshToken()));
+        } catch (InvalidRefreshTokenException e) {
+            log.warn("Token refresh failed: {}", e.getMessage());
+            PreEncodedJson responseDetails = INVALID_REFRESH_TOKEN.render();
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(responseDetails);
         }
     }
@@ -80,11 +122,11 @@ public class AuthController {
         try {
             log.info("Requesting magic link for email: {}", request.getEmail());
             authService.requestMagicLink(request.getEmail());
-            ResponseDetails responseDetails = new ResponseDetails(LocalDateTime.now(), "Magic link sent to email", HttpStatus.OK.toString(), "/api/auth/register");
+            PreEncodedJson responseDetails = MAGIC_LINK_SENT.render();
             return ResponseEntity.status(200).body(responseDetails);
         } catch (UserNotFoundException e) {
-            log.error("Failed to send magic link: {}", e.getMessage());
-            ResponseDetails responseDetails = new ResponseDetails(LocalDateTime.now(), "User not found", HttpStatus.BAD_REQUEST.toString(), "/api/auth/register");
+            log.warn("Failed to send magic link: {}", e.getMessage());
+            PreEncodedJson responseDetails = USER_NOT_FOUND.render();
             return ResponseEntity.status(400).body(responseDetails);
         }
     }
@@ -93,11 +135,11 @@ public class AuthController {
     public ResponseEntity<?> validateMagicLink(@RequestParam String link) {
         try {
             authService.validateMagicLink(link);
-            ResponseDetails responseDetails = new ResponseDetails(LocalDateTime.now(), "Your account has been verified successfully", HttpStatus.OK.toString(), "/api/auth/register");
+            PreEncodedJson responseDetails = ACCOUNT_VERIFIED.render();
             return ResponseEntity.status(201).body(responseDetails);
         } catch (Exception e) {
-            log.error("Magic link validation failed: {}", e.getMessage());
-            ResponseDetails responseDetails = new ResponseDetails(LocalDateTime.now(), "Your magic link is expired already", HttpStatus.BAD_REQUEST.toString(), "/api/auth/register");
+            log.warn("Magic link validation failed: {}", e.getMessage());
+            PreEncodedJson responseDetails = MAGIC_LINK_EXPIRED.render();
             return ResponseEntity.status(400).body(responseDetails);
         }
     }
@@ -118,15 +160,15 @@ public class AuthController {
         try {
             log.info("Requesting password reset for email: {}", request.getEmail());
             authService.requestPasswordReset(request.getEmail());
-            ResponseDetails responseDetails = new ResponseDetails(LocalDateTime.now(), "Password reset link sent to email", HttpStatus.OK.toString(), "/api/auth/register");
+            PreEncodedJson responseDetails = PASSWORD_RESET_LINK_SENT.render();
             return ResponseEntity.status(200).body(responseDetails);
         } catch (UserNotFoundException e) {
-            log.error("Failed to send password reset link: {}", e.getMessage());
-            ResponseDetails responseDetails = new ResponseDetails(LocalDateTime.now(), "User not found", HttpStatus.BAD_REQUEST.toString(), "/api/auth/register");
+            log.warn("Failed to send password reset link: {}", e.getMessage());
+            PreEncodedJson responseDetails = USER_NOT_FOUND.render();
             return ResponseEntity.status(400).body(responseDetails);
         } catch (Exception e) {
             log.error("Unexpected error during password reset request: {}", e.getMessage());
-            ResponseDetails responseDetails = new ResponseDetails(LocalDateTime.now(), "Failed to process password reset request", HttpStatus.INTERNAL_SERVER_ERROR.toString(), "/api/auth/register");
+            PreEncodedJson responseDetails = PASSWORD_RESET_REQUEST_FAILED.render();
             return ResponseEntity.status(500).body(responseDetails);
         }
     }
@@ -136,15 +178,15 @@ public class AuthController {
         try {
             log.info("Resetting password for token");
             authService.resetPassword(request.getLink(), request.getNewPassword());
-            ResponseDetails responseDetails = new ResponseDetails(LocalDateTime.now(), "Password reset successful", HttpStatus.OK.toString(), "/api/auth/register");
+            PreEncodedJson responseDetails = PASSWORD_RESET_SUCCESS.render();
             return ResponseEntity.status(200).body(responseDetails);
         } catch (PasswordOrEmailException e) {
-            log.error("Password reset failed: {}", e.getMessage());
-            ResponseDetails responseDetails = new ResponseDetails(LocalDateTime.now(), e.getMessage(), HttpStatus.BAD_REQUEST.toString(), "/api/auth/register");
+            log.warn("Password reset failed: {}", e.getMessage());
+            PreEncodedJson responseDetails = BAD_REQUEST_WITH_MESSAGE.render(e.getMessage());
             return ResponseEntity.status(400).body(responseDetails);
         } catch (Exception e) {
             log.error("Unexpected error during password reset: {}", e.getMessage());
-            ResponseDetails responseDetails = new ResponseDetails(LocalDateTime.now(), "Invalid or expired reset token", HttpStatus.BAD_REQUEST.toString(), "/api/auth/register");
+            PreEncodedJson responseDetails = INVALID_RESET_TOKEN.render();
             return ResponseEntity.status(400).body(responseDetails);
         }
     }
@@ -0,0 +1,178 @@
+package com.backend.controller.github;
+
+import com.backend.dto.request.GithubAnalysisRequest;
+import com.backend.dto.request.GithubStatusResponse;
+import com.backend.dto.response.ResponseTemplate;
+import com.backend.model.github.GitStatus;
+import com.backend.model.github.Github;
+import com.backend.model.user.User;
+import com.backend.repository.github.GithubRepository;
+import com.backend.repository.user.UserRepository;
+import com.backend.service.github.GithubAnalysisServiceImpl;
+import com.backend.service.github.result.AnalysisResultStore;
+import com.backend.service.github.result.StoredResult;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+@RestController
+@RequestMapping("/api/github")
+@Slf4j
+public class GithubController {
+
+    private static final ResponseTemplate RESULT_NOT_FOUND = ResponseTemplate.details("Analysis result not found", HttpStatus.NOT_FOUND, "/api/github/result");
+    private static final ResponseTemplate RESULT_FORBIDDEN = ResponseTemplate.details("You do not have access to this analysis", HttpStatus.FORBIDDEN, "/api/github/result");
+    private static final ResponseTemplate UNAUTHORIZED = ResponseTemplate.details("Authentication required", HttpStatus.UNAUTHORIZED, "/api/github/analyze");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private GithubRepository githubRepository;
+
+    @Autowired
+    private AnalysisResultStore resultStore;
+
+    @Autowired
+    private GithubAnalysisServiceImpl analysisService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    public static String resultUrl(String githubId) {
+        return "/api/github/" + githubId + "/result";
+    }
+
+    /**
+     * Queues an analysis. Resubmitting a repository that was already analyzed only processes the
+     * commits pushed since the last run.
+     */
+    @PostMapping("/analyze")
+    public ResponseEntity<?> analyze(@Valid @RequestBody GithubAnalysisRequest request, Authentication authentication) {
+        Optional<User> user = authentication == null ? Optional.empty()
+                : userRepository.findByUsernameOrEmail(authentication.getName(), authentication.getName());
+        if (user.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(UNAUTHORIZED.render());
+        }
+        Github github = analysisService.submit(user.get(), request.getGithubLink());
+        if (github.getRunGitStatus() == GitStatus.UNSUPPORTED) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(toStatus(github, "Repository is too large to analyze"));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(toStatus(github, "Analysis queued"));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> status(@PathVariable String id, Authentication authentication) {
+        Optional<Github> github = githubRepository.findById(id);
+        if (github.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(RESULT_NOT_FOUND.render());
+        }
+        if (!canRead(github.get(), authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(RESULT_FORBIDDEN.render());
+        }
+        return ResponseEntity.ok(toStatus(github.get(), "Analysis status"));
+    }
+
+    /**
+     * Streams the report with chunked transfer. Clients that accept gzip get the stored bytes as-is;
+     * others get them inflated on the fly.
+     */
+    @GetMapping("/{id}/result")
+    public ResponseEntity<?> downloadResult(@PathVariable String id,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                            Authentication authentication) throws IOException {
+        Optional<Github> github = githubRepository.findById(id);
+        if (github.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(RESULT_NOT_FOUND.render());
+        }
+        if (!canRead(github.get(), authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(RESULT_FORBIDDEN.render());
+        }
+        Optional<StoredResult> result = resultStore.open(id);
+        if (result.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(RESULT_NOT_FOUND.render());
+        }
+        boolean passthrough = acceptsGzip(acceptEncoding);
+        StoredResult stored = result.get();
+        StreamingResponseBody body = out -> {
+            try (InputStream in = passthrough ? stored.openCompressed() : new GZIPInputStream(stored.openCompressed(), BUFFER_SIZE)) {
+                in.transferTo(out);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (passthrough) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    private static GithubStatusResponse toStatus(Github github, String message) {
+        return new GithubStatusResponse(
+                github.getId(),
+                message,
+                github.getRunGitStatus() != null ? github.getRunGitStatus().name() : null,
+                github.getCloneGitStatus() != null ? github.getCloneGitStatus().name() : null,
+                github.getRunGitStatus() != null ? github.getRunGitStatus().name() : null,
+                github.getPrimaryLanguage(),
+                github.getResultUrl(),
+                github.getGithubLink(),
+                github.getUpdatedAt() != null ? LocalDateTime.ofInstant(github.getUpdatedAt(), ZoneOffset.UTC) : LocalDateTime.now()
+        );
+    }
+
+    private static boolean canRead(Github github, Authentication authentication) {
+        if (authentication == null) {
+            return false;
+        }
+        if (authentication.getAuthorities().stream().anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()))) {
+            return true;
+        }
+        User owner = github.getUser();
+        String name = authentication.getName();
+        return owner != null && (name.equalsIgnoreCase(owner.getUsername()) || name.equalsIgnoreCase(owner.getEmail()));
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (!tokens[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
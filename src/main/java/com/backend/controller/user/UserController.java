@@ -1,45 +1,96 @@
 package com.backend.controller.user;
 
-import com.backend.shared.exception.UserNotFoundException;
 import com.backend.dto.UserDTO;
-import com.backend.dto.response.ResponseDetails;
+import com.backend.dto.response.PreEncodedJson;
+import com.backend.dto.response.ResponseTemplate;
+import com.backend.service.avatar.AvatarServiceImpl;
+import com.backend.service.avatar.StoredAvatar;
 import com.backend.service.user.UserServiceImpl;
+import com.backend.shared.exception.InvalidInputException;
+import com.backend.shared.exception.UserNotFoundException;
+import com.backend.shared.result.ServiceResult;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.time.LocalDateTime;
+import java.io.InputStream;
+import java.security.Principal;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/user")
 @Slf4j
 public class UserController {
 
+    private static final ResponseTemplate EMAIL_REQUIRED = ResponseTemplate.details("Email is required for update", HttpStatus.BAD_REQUEST, "/api/user/update");
+    private static final ResponseTemplate USER_UPDATED = ResponseTemplate.details("User info updated successfully", HttpStatus.OK, "/api/user/update");
+    private static final ResponseTemplate NOT_FOUND_WITH_MESSAGE = ResponseTemplate.detailsWithMessage(HttpStatus.NOT_FOUND, "/api/user/update");
+    private static final ResponseTemplate CONFLICT_WITH_MESSAGE = ResponseTemplate.detailsWithMessage(HttpStatus.CONFLICT, "/api/user/update");
+    private static final ResponseTemplate BAD_REQUEST_WITH_MESSAGE = ResponseTemplate.detailsWithMessage(HttpStatus.BAD_REQUEST, "/api/user/update");
+    private static final ResponseTemplate AVATAR_INVALID = ResponseTemplate.detailsWithMessage(HttpStatus.BAD_REQUEST, "/api/user/avatar");
+    private static final ResponseTemplate AVATAR_USER_NOT_FOUND = ResponseTemplate.detailsWithMessage(HttpStatus.NOT_FOUND, "/api/user/avatar");
+    private static final ResponseTemplate AVATAR_FAILED = ResponseTemplate.details("Avatar upload failed", HttpStatus.INTERNAL_SERVER_ERROR, "/api/user/avatar");
+    private static final ResponseTemplate UNAUTHORIZED = ResponseTemplate.details("Authentication required", HttpStatus.UNAUTHORIZED, "/api/user/avatar");
+    private static final ResponseTemplate UPDATE_FAILED = ResponseTemplate.details("Something went wrong", HttpStatus.INTERNAL_SERVER_ERROR, "/api/user/update");
+
     @Autowired
     private UserServiceImpl userService;
 
+    @Autowired
+    private AvatarServiceImpl avatarService;
+
     @PutMapping("/update")
     public ResponseEntity<?> updateUser(@RequestBody UserDTO updatedUser) {
         try {
             if (updatedUser.getEmail() == null || updatedUser.getEmail().isBlank()) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ResponseDetails(LocalDateTime.now(), "Email is required for update", HttpStatus.BAD_REQUEST.toString(), "/api/user/update"));
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(EMAIL_REQUIRED.render());
             }
             log.info("Updating user with email: {}", updatedUser.getEmail());
-            userService.updateUser(updatedUser.getEmail(), updatedUser);
-            ResponseDetails responseDetails = new ResponseDetails(LocalDateTime.now(), "User info updated successfully", HttpStatus.OK.toString(), "/api/user/update");
+            ServiceResult<Void> result = userService.tryUpdateUser(updatedUser.getEmail(), updatedUser);
+            if (!result.isOk()) {
+                log.warn("Update failed: {}", result.getMessage());
+                if (result.getError() == ServiceResult.Error.INVALID_INPUT) {
+                    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(BAD_REQUEST_WITH_MESSAGE.render(result.getMessage()));
+                }
+                if (result.getError() == ServiceResult.Error.ALREADY_EXISTS || result.getError() == ServiceResult.Error.CONFLICT) {
+                    return ResponseEntity.status(HttpStatus.CONFLICT).body(CONFLICT_WITH_MESSAGE.render(result.getMessage()));
+                }
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(NOT_FOUND_WITH_MESSAGE.render(result.getMessage()));
+            }
+            PreEncodedJson responseDetails = USER_UPDATED.render();
             return ResponseEntity.status(200).body(responseDetails);
 
-        } catch (UserNotFoundException e) {
-            log.error("Update failed: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ResponseDetails(LocalDateTime.now(), e.getMessage(), HttpStatus.NOT_FOUND.toString(), "/api/user/update"));
         } catch (Exception e) {
             log.error("Unexpected error during update: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ResponseDetails(LocalDateTime.now(), "Something went wrong", HttpStatus.INTERNAL_SERVER_ERROR.toString(), "/api/user/update"));
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(UPDATE_FAILED.render());
+        }
+    }
+
+    @PostMapping(value = "/avatar", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> uploadAvatar(@RequestParam("file") MultipartFile file, Principal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(UNAUTHORIZED.render());
+        }
+        try (InputStream image = file.getInputStream()) {
+            StoredAvatar avatar = avatarService.updateAvatar(principal.getName(), image);
+            return ResponseEntity.ok(Map.of("picture", avatar.url(), "pictureHash", avatar.hash()));
+        } catch (InvalidInputException e) {
+            log.warn("Rejected avatar upload: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(AVATAR_INVALID.render(e.getMessage()));
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(AVATAR_USER_NOT_FOUND.render(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Avatar upload failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(AVATAR_FAILED.render());
         }
     }
 }
@@ -1,48 +1,75 @@
 package com.backend.controller.waitinglist;
 
 import com.backend.dto.request.WaitingListDTO;
-import com.backend.dto.response.ResponseDetails;
+import com.backend.dto.response.PreEncodedJson;
+import com.backend.dto.response.ResponseTemplate;
+import com.backend.dto.response.WaitingListPosition;
 import com.backend.service.waitinglist.WaitingListServiceImpl;
-import com.backend.shared.exception.AlreadyExistException;
-import com.backend.shared.exception.InvalidInputException;
+import com.backend.shared.result.ServiceResult;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.time.LocalDateTime;
-
 @RestController
 @RequestMapping("/waiting-list")
 @Slf4j
 public class WaitingListController {
 
+    private static final ResponseTemplate WAITING_LIST_CREATED = ResponseTemplate.details("Successfully added to waiting list", HttpStatus.CREATED, "/waiting-list/user");
+    private static final ResponseTemplate CONFLICT_WITH_MESSAGE = ResponseTemplate.detailsWithMessage(HttpStatus.CONFLICT, "/waiting-list/user");
+    private static final ResponseTemplate BAD_REQUEST_WITH_MESSAGE = ResponseTemplate.detailsWithMessage(HttpStatus.BAD_REQUEST, "/waiting-list/user");
+    private static final ResponseTemplate POSITION_NOT_FOUND = ResponseTemplate.detailsWithMessage(HttpStatus.NOT_FOUND, "/waiting-list/position");
+    private static final ResponseTemplate POSITION_BAD_REQUEST = ResponseTemplate.detailsWithMessage(HttpStatus.BAD_REQUEST, "/waiting-list/position");
+    private static final ResponseTemplate UNEXPECTED_ERROR = ResponseTemplate.details("An unexpected error occurred, please try again later", HttpStatus.INTERNAL_SERVER_ERROR, "/waiting-list/user");
+
     @Autowired
     private WaitingListServiceImpl waitingListService;
 
     @PostMapping("/user")
     public ResponseEntity<?> createWaitingList(@Valid @RequestBody WaitingListDTO newWaitingList) {
         try {
-            waitingListService.createWaitingList(newWaitingList);
-            ResponseDetails responseDetails = new ResponseDetails(LocalDateTime.now(), "Successfully added to waiting list", HttpStatus.CREATED.toString(), "/waiting-list/user");
-            return ResponseEntity.status(HttpStatus.CREATED).body(responseDetails);
-        } catch (AlreadyExistException e) {
-            log.warn("Duplicate waiting list entry attempt for email: {}", newWaitingList.getEmail());
-            ResponseDetails responseDetails = new ResponseDetails(LocalDateTime.now(), e.getMessage(), HttpStatus.CONFLICT.toString(),"/waiting-list/user");
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(responseDetails);
-        } catch (InvalidInputException e) {
-            log.error("Invalid input for waiting list: {}", e.getMessage());
-            ResponseDetails responseDetails = new ResponseDetails(LocalDateTime.now(), e.getMessage(), HttpStatus.BAD_REQUEST.toString(), "/waiting-list/user");
+            ServiceResult<Void> result = waitingListService.tryCreateWaitingList(newWaitingList);
+            if (result.isOk()) {
+                PreEncodedJson responseDetails = WAITING_LIST_CREATED.render();
+                return ResponseEntity.status(HttpStatus.CREATED).body(responseDetails);
+            }
+            if (result.getError() == ServiceResult.Error.ALREADY_EXISTS) {
+                log.warn("Duplicate waiting list entry attempt for email: {}", newWaitingList.getEmail());
+                PreEncodedJson responseDetails = CONFLICT_WITH_MESSAGE.render(result.getMessage());
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(responseDetails);
+            }
+            log.warn("Invalid input for waiting list: {}", result.getMessage());
+            PreEncodedJson responseDetails = BAD_REQUEST_WITH_MESSAGE.render(result.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(responseDetails);
         } catch (Exception e) {
             log.error("Unexpected error during waiting list registration: {}", e.getMessage(), e);
-            ResponseDetails responseDetails = new ResponseDetails(LocalDateTime.now(), "An unexpected error occurred, please try again later", HttpStatus.INTERNAL_SERVER_ERROR.toString(), "/waiting-list/user");
+            PreEncodedJson responseDetails = UNEXPECTED_ERROR.render();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(responseDetails);
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping("/position")
+    public ResponseEntity<?> getPosition(@RequestParam String email) {
+        ServiceResult<WaitingListPosition> result = waitingListService.tryGetPosition(email);
+        if (result.isOk()) {
+            return ResponseEntity.ok(result.getValue());
+        }
+        if (result.getError() == ServiceResult.Error.NOT_FOUND) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(POSITION_NOT_FOUND.render(result.getMessage()));
+        }
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(POSITION_BAD_REQUEST.render(result.getMessage()));
+    }
+
+    @GetMapping("/count")
+    public ResponseEntity<WaitingListPosition> getCount() {
+        return ResponseEntity.ok(new WaitingListPosition(null, waitingListService.getTotal()));
+    }
+}
@@ -22,7 +22,7 @@ public class UserDTO {
     @Size(max = 200, message = "Bio cannot exceed 200 characters")
     private String bio;
 
-    private String picture; // Optional, Base64 string or URL
+    private String picture; // Optional, URL or Base64 image (stored in the avatar store, replaced by its URL)
 
     @NotBlank(message = "Password is required")
     @Size(min = 8, message = "Password must be at least 8 characters")
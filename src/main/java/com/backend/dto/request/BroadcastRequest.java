@@ -0,0 +1,18 @@
+package com.backend.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BroadcastRequest {
+    @NotBlank
+    private String subject;
+    @NotBlank
+    private String html;
+    @NotBlank
+    private String text;
+}
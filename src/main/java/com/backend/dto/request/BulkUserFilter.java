@@ -0,0 +1,11 @@
+package com.backend.dto.request;
+
+import lombok.Data;
+
+@Data
+public class BulkUserFilter {
+    private String provider;
+    private Boolean isVerified;
+    private String role;
+    private Integer olderThanDays;
+}
@@ -0,0 +1,14 @@
+package com.backend.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GithubAnalysisRequest {
+    @NotBlank
+    private String githubLink;
+}
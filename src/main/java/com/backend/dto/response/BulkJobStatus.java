@@ -0,0 +1,22 @@
+package com.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkJobStatus {
+    private String jobId;
+    private String operation;
+    private String state;
+    private long chunks;
+    private long matched;
+    private long modified;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+}
@@ -0,0 +1,20 @@
+package com.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Disk usage of one fork network. {@code logicalBytes} is what the forks would take as separate
+ * clones, estimated from the sizes GitHub reports for them.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ForkNetworkUsage {
+    private String network;
+    private int forks;
+    private long diskBytes;
+    private long logicalBytes;
+    private long savedBytes;
+}
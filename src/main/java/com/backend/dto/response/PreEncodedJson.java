@@ -0,0 +1,144 @@
+package com.backend.dto.response;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * A rendered {@link ResponseTemplate}: the template's fixed fragments plus the per-response values,
+ * written straight to the response stream by {@code PreEncodedJsonHttpMessageConverter}.
+ */
+public final class PreEncodedJson {
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private final ResponseTemplate template;
+    private final LocalDateTime timestamp;
+    private final String value;
+    private final String secondValue;
+
+    PreEncodedJson(ResponseTemplate template, LocalDateTime timestamp, String value) {
+        this(template, timestamp, value, null);
+    }
+
+    PreEncodedJson(ResponseTemplate template, LocalDateTime timestamp, String value, String secondValue) {
+        this.template = template;
+        this.timestamp = timestamp;
+        this.value = value;
+        this.secondValue = secondValue;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(template.head);
+        switch (template.kind) {
+            case DETAILS -> writeTimestamp(out, timestamp);
+            case DETAILS_WITH_MESSAGE -> {
+                writeTimestamp(out, timestamp);
+                out.write(template.middle);
+                writeString(out, value);
+            }
+            case LOGIN -> {
+                writeString(out, value);
+                out.write(template.middle);
+                writeString(out, secondValue);
+                out.write(template.second);
+                writeTimestamp(out, timestamp);
+            }
+        }
+        out.write(template.tail);
+    }
+
+    // Same array layout Jackson's LocalDateTimeSerializer uses with WRITE_DATES_AS_TIMESTAMPS on
+    private static void writeTimestamp(OutputStream out, LocalDateTime time) throws IOException {
+        out.write('[');
+        writeNumber(out, time.getYear());
+        out.write(',');
+        writeNumber(out, time.getMonthValue());
+        out.write(',');
+        writeNumber(out, time.getDayOfMonth());
+        out.write(',');
+        writeNumber(out, time.getHour());
+        out.write(',');
+        writeNumber(out, time.getMinute());
+        int second = time.getSecond();
+        int nano = time.getNano();
+        if (second > 0 || nano > 0) {
+            out.write(',');
+            writeNumber(out, second);
+            if (nano > 0) {
+                out.write(',');
+                writeNumber(out, nano);
+            }
+        }
+        out.write(']');
+    }
+
+    private static void writeNumber(OutputStream out, int value) throws IOException {
+        if (value < 0) {
+            out.write('-');
+            value = -value;
+        }
+        int divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        while (divisor > 0) {
+            out.write('0' + (value / divisor) % 10);
+            divisor /= 10;
+        }
+    }
+
+    private static void writeString(OutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.write('n');
+            out.write('u');
+            out.write('l');
+            out.write('l');
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.write('\\');
+                out.write(c);
+            } else if (c < 0x20) {
+                // Same escapes as Jackson: the short forms where JSON has one, otherwise upper-case hex.
+                out.write('\\');
+                switch (c) {
+                    case '\b' -> out.write('b');
+                    case '\t' -> out.write('t');
+                    case '\n' -> out.write('n');
+                    case '\f' -> out.write('f');
+                    case '\r' -> out.write('r');
+                    default -> {
+                        out.write('u');
+                        out.write('0');
+                        out.write('0');
+                        out.write(HEX[c >> 4]);
+                        out.write(HEX[c & 0xF]);
+                    }
+                }
+            } else if (c < 0x80) {
+                out.write(c);
+            } else if (c < 0x800) {
+                out.write(0xC0 | (c >> 6));
+                out.write(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out.write(0xF0 | (codePoint >> 18));
+                out.write(0x80 | ((codePoint >> 12) & 0x3F));
+                out.write(0x80 | ((codePoint >> 6) & 0x3F));
+                out.write(0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                out.write('?');
+            } else {
+                out.write(0xE0 | (c >> 12));
+                out.write(0x80 | ((c >> 6) & 0x3F));
+                out.write(0x80 | (c & 0x3F));
+            }
+        }
+        out.write('"');
+    }
+}
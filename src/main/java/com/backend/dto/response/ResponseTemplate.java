@@ -0,0 +1,96 @@
+package com.backend.dto.response;
+
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Pre-encoded UTF-8 form of a {@link ResponseDetails} or {@link LoginResponse} whose message, status
+ * and path are fixed per outcome. Rendering only splices in the timestamp and, for the dynamic
+ * variants, the message or token; the output matches what the application ObjectMapper produces.
+ */
+public final class ResponseTemplate {
+
+    enum Kind {
+        DETAILS,
+        DETAILS_WITH_MESSAGE,
+        LOGIN
+    }
+
+    final Kind kind;
+    final byte[] head;
+    final byte[] middle;
+    final byte[] second;
+    final byte[] tail;
+
+    private ResponseTemplate(Kind kind, String head, String middle, String tail) {
+        this(kind, head, middle, null, tail);
+    }
+
+    private ResponseTemplate(Kind kind, String head, String middle, String second, String tail) {
+        this.kind = kind;
+        this.head = head.getBytes(StandardCharsets.UTF_8);
+        this.middle = middle == null ? null : middle.getBytes(StandardCharsets.UTF_8);
+        this.second = second == null ? null : second.getBytes(StandardCharsets.UTF_8);
+        this.tail = tail.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static ResponseTemplate details(String message, HttpStatus status, String path) {
+        return new ResponseTemplate(Kind.DETAILS, "{\"timestamp\":", null,
+                ",\"message\":" + quote(message) + statusAndPath(status, path) + "}");
+    }
+
+    public static ResponseTemplate detailsWithMessage(HttpStatus status, String path) {
+        return new ResponseTemplate(Kind.DETAILS_WITH_MESSAGE, "{\"timestamp\":", ",\"message\":",
+                statusAndPath(status, path) + "}");
+    }
+
+    public static ResponseTemplate login(String message, HttpStatus status, String path) {
+        return new ResponseTemplate(Kind.LOGIN, "{\"token\":", ",\"refreshToken\":", ",\"details\":{\"timestamp\":",
+                ",\"message\":" + quote(message) + statusAndPath(status, path) + "}}");
+    }
+
+    public PreEncodedJson render() {
+        return new PreEncodedJson(this, LocalDateTime.now(), null);
+    }
+
+    public PreEncodedJson render(String value) {
+        return new PreEncodedJson(this, LocalDateTime.now(), value);
+    }
+
+    public PreEncodedJson render(String value, String secondValue) {
+        return new PreEncodedJson(this, LocalDateTime.now(), value, secondValue);
+    }
+
+    private static String statusAndPath(HttpStatus status, String path) {
+        return ",\"status\":" + quote(status.toString()) + ",\"path\":" + quote(path);
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder builder = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\b' -> builder.append("\\b");
+                case '\t' -> builder.append("\\t");
+                case '\n' -> builder.append("\\n");
+                case '\f' -> builder.append("\\f");
+                case '\r' -> builder.append("\\r");
+                default -> {
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04X", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
@@ -0,0 +1,13 @@
+package com.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenPair {
+    private String accessToken;
+    private String refreshToken;
+}
@@ -0,0 +1,30 @@
+package com.backend.model.auth;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Persisted form of an {@code OAuth2AuthorizedClient}. Token values are stored encrypted.
+ */
+@Data
+@Document(collection = "oauth2_authorized_clients")
+@CompoundIndex(name = "oauth2_clients_registration_principal", def = "{ 'registrationId' : 1, 'principalName' : 1 }", unique = true)
+public class AuthorizedClientRecord {
+    @Id
+    private String id;
+    private String registrationId;
+    private String principalName;
+    private String accessToken;
+    private Instant accessTokenIssuedAt;
+    private Instant accessTokenExpiresAt;
+    private Set<String> accessTokenScopes;
+    private String refreshToken;
+    private Instant refreshTokenIssuedAt;
+    private Instant refreshTokenExpiresAt;
+    private Instant updatedAt;
+}
@@ -0,0 +1,28 @@
+package com.backend.model.auth;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Document(collection = "refresh_tokens")
+public class RefreshToken {
+    @Id
+    private String id;
+    @Indexed(unique = true)
+    private String tokenHash;
+    @Indexed
+    private String familyId;
+    @Indexed
+    private String userId;
+    private String username;
+    private String role;
+    private Instant createdAt;
+    @Indexed(expireAfter = "0s")
+    private Instant expiresAt;
+    private Instant usedAt;
+    private Boolean revoked = false;
+}
@@ -0,0 +1,18 @@
+package com.backend.model.counter;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "counters")
+public class Counter {
+
+    @Id
+    private String id;
+    private long value;
+}
@@ -0,0 +1,33 @@
+package com.backend.model.email;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Document(collection = "broadcast_runs")
+public class BroadcastRun {
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    @Id
+    private String id;
+    private String subject;
+    private String htmlBody;
+    private String textBody;
+    private String requestedBy;
+    private State state;
+    // Instance holding the lease; every takeover bumps the epoch so the previous holder's writes no longer match.
+    private String owner;
+    private long epoch;
+    private long checkpointSequence;
+    private long sent;
+    private long failed;
+    private long skipped;
+    private double messagesPerSecond;
+    private String lastError;
+    private Instant startedAt;
+    private Instant heartbeatAt;
+    private Instant finishedAt;
+}
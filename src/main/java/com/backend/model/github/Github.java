@@ -8,6 +8,7 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.time.Instant;
+import java.util.Map;
 
 @Data
 @AllArgsConstructor
@@ -24,6 +25,13 @@ public class Github {
         @Field("languages")
         private String primaryLanguage;
         private GitStatus runGitStatus;
+        private long sizeKb;
+        private String defaultBranch;
+        private String networkRoot;
+        private String lastCommitId;
+        private Map<String, Long> languageBytes;
+        private Long fileCount;
+        private MetricsSummary metrics;
         private Instant createdAt;
         private Instant updatedAt;
 }
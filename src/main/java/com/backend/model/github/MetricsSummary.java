@@ -0,0 +1,35 @@
+package com.backend.model.github;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Commit-history metrics stored column-wise: entry {@code i} of every author array describes the
+ * same author, and likewise for the hotspot arrays. This keeps field names out of every entry, so
+ * the summary stays small on the {@link Github} document. Only the top authors and files are kept.
+ */
+@Data
+@NoArgsConstructor
+public class MetricsSummary {
+        private String headCommitId;
+        private long commitCount;
+        private long mergeCount;
+        private long authorCount;
+        private long filesTouched;
+        private long linesAdded;
+        private long linesDeleted;
+        private long firstCommitAt;
+        private long lastCommitAt;
+        private boolean truncated;
+
+        private List<String> authorEmails;
+        private long[] authorCommits;
+        private long[] authorLinesAdded;
+        private long[] authorLinesDeleted;
+
+        private List<String> hotspotPaths;
+        private long[] hotspotCommits;
+        private long[] hotspotLinesChanged;
+}
@@ -2,10 +2,13 @@ package com.backend.model.user;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
+
 @Data
-@Document(collection = "users")
+@Document(collection = "users", collation = "{ 'locale' : 'en', 'strength' : 2 }")
 public class User {
     @Id
     private String id;
@@ -14,9 +17,14 @@ public class User {
     private String email;
     private String bio;
     private String picture;
+    private String pictureHash;
     private String password;
     private String provider;
     private Role role = Role.USER;
     private Boolean isVerified = false;
     private String providerId;
+    private String providerEmail;
+    private Instant providerEmailVerifiedAt;
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 
+import java.time.Instant;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -14,4 +16,8 @@ public class WaitingList {
     private String id;
     private String email;
     private String name;
+    private Long sequence;
+    private Instant createdAt;
+    private String lastInvitationRunId;
+    private Instant invitedAt;
 }
@@ -0,0 +1,13 @@
+package com.backend.repository.auth;
+
+import com.backend.model.auth.AuthorizedClientRecord;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AuthorizedClientRecordRepository extends MongoRepository<AuthorizedClientRecord, String> {
+    Optional<AuthorizedClientRecord> findByRegistrationIdAndPrincipalName(String registrationId, String principalName);
+    void deleteByRegistrationIdAndPrincipalName(String registrationId, String principalName);
+}
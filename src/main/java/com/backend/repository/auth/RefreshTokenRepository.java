@@ -0,0 +1,22 @@
+package com.backend.repository.auth;
+
+import com.backend.model.auth.RefreshToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends MongoRepository<RefreshToken, String> {
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    @Query("{ 'familyId' : ?0 }")
+    @Update("{ '$set' : { 'revoked' : true } }")
+    long revokeFamily(String familyId);
+
+    @Query("{ 'userId' : ?0, 'revoked' : false }")
+    @Update("{ '$set' : { 'revoked' : true } }")
+    long revokeAllForUser(String userId);
+}
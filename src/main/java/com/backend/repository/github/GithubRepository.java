@@ -4,5 +4,9 @@ import com.backend.model.github.Github;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
-public interface GithubRepository extends MongoRepository<Github, String> {}
\ No newline at end of file
+public interface GithubRepository extends MongoRepository<Github, String> {
+    Optional<Github> findByGithubLinkAndUserId(String githubLink, String userId);
+}
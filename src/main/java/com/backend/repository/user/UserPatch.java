@@ -0,0 +1,48 @@
+package com.backend.repository.user;
+
+import com.backend.model.user.User;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Records field changes against a loaded {@link User} so they can be written as one {@code $set}.
+ * Setting a field to the value it already holds is not a change.
+ */
+public final class UserPatch {
+
+    private final User user;
+    private final Update update = new Update();
+    private boolean dirty;
+
+    private UserPatch(User user) {
+        this.user = user;
+    }
+
+    public static UserPatch of(User user) {
+        return new UserPatch(user);
+    }
+
+    public <T> UserPatch set(String field, Function<User, T> getter, BiConsumer<User, T> setter, T value) {
+        if (!Objects.equals(getter.apply(user), value)) {
+            setter.accept(user, value);
+            update.set(field, value);
+            dirty = true;
+        }
+        return this;
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    Update getUpdate() {
+        return update;
+    }
+}
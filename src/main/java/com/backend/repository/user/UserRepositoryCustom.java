@@ -0,0 +1,12 @@
+package com.backend.repository.user;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Writes only the fields changed in {@code patch}, guarded by the user's version.
+     *
+     * @return false when there was nothing to write
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the user changed since it was loaded
+     */
+    boolean applyPatch(UserPatch patch);
+}
@@ -0,0 +1,34 @@
+package com.backend.repository.user;
+
+import com.backend.model.user.User;
+import com.mongodb.client.result.UpdateResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean applyPatch(UserPatch patch) {
+        if (!patch.isDirty()) {
+            return false;
+        }
+        User user = patch.getUser();
+        // A user the version backfill has not reached yet has no version field; null matches that.
+        Query query = Query.query(Criteria.where("_id").is(user.getId()).and("version").is(user.getVersion()));
+        long version = user.getVersion() != null ? user.getVersion() : 0L;
+        Update update = patch.getUpdate().inc("version", 1);
+        UpdateResult result = mongoTemplate.updateFirst(query, update, User.class);
+        if (result.getMatchedCount() == 0) {
+            throw new OptimisticLockingFailureException("User " + user.getId() + " was modified concurrently");
+        }
+        user.setVersion(version + 1);
+        return true;
+    }
+}
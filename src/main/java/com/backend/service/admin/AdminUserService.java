@@ -0,0 +1,17 @@
+package com.backend.service.admin;
+
+import com.backend.dto.request.BulkUserFilter;
+import com.backend.dto.response.BulkJobStatus;
+import com.backend.model.user.Role;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface AdminUserService {
+    BulkJobStatus verify(BulkUserFilter filter);
+    BulkJobStatus verify(InputStream ids) throws IOException;
+    BulkJobStatus changeRole(Role role, BulkUserFilter filter);
+    BulkJobStatus changeRole(Role role, InputStream ids) throws IOException;
+    BulkJobStatus deleteUnverified(int olderThanDays, String provider);
+    BulkJobStatus status(String jobId);
+}
@@ -0,0 +1,370 @@
+package com.backend.service.admin;
+
+import com.backend.config.AsyncConfig;
+import com.backend.dto.request.BulkUserFilter;
+import com.backend.dto.response.BulkJobStatus;
+import com.backend.model.auth.RefreshToken;
+import com.backend.model.github.Github;
+import com.backend.model.user.Role;
+import com.backend.model.user.User;
+import com.backend.service.avatar.AvatarServiceImpl;
+import com.backend.service.github.result.AnalysisResultStore;
+import com.backend.shared.exception.InvalidInputException;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bulk account maintenance. Work is split into chunks of {@code admin.bulk.chunk-size} ids, each
+ * applied with a single {@code updateMany}/{@code deleteMany}. Chunks from all running jobs take
+ * turns through one permit, with a pause after each, so live traffic keeps most of the database.
+ * Filter-driven jobs run in the background and are polled through {@link #status(String)}; id
+ * lists are consumed while the request body streams in.
+ */
+@Service
+@Slf4j
+public class AdminUserServiceImpl implements AdminUserService {
+
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    @Qualifier(AsyncConfig.ADMIN_BULK_EXECUTOR)
+    private TaskExecutor executor;
+
+    @Autowired
+    private AvatarServiceImpl avatarService;
+
+    @Autowired
+    private AnalysisResultStore resultStore;
+
+    @Value("${admin.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${admin.bulk.chunk-pause-ms:100}")
+    private long chunkPauseMs;
+
+    private final Semaphore chunkPermit = new Semaphore(1, true);
+    private final Map<String, BulkJob> jobs = new ConcurrentHashMap<>();
+
+    @Override
+    public BulkJobStatus verify(BulkUserFilter filter) {
+        BulkUserFilter unverified = copyOf(filter);
+        unverified.setIsVerified(null);
+        return submit("verify", toCriteria(unverified).and("isVerified").ne(true), verifyUpdate());
+    }
+
+    @Override
+    public BulkJobStatus verify(InputStream ids) throws IOException {
+        return streamIds("verify", ids, verifyUpdate());
+    }
+
+    @Override
+    public BulkJobStatus changeRole(Role role, BulkUserFilter filter) {
+        BulkUserFilter otherRoles = copyOf(filter);
+        otherRoles.setRole(null);
+        return submit("role:" + role, toCriteria(otherRoles).and("role").ne(role.name()), roleUpdate(role));
+    }
+
+    @Override
+    public BulkJobStatus changeRole(Role role, InputStream ids) throws IOException {
+        return streamIds("role:" + role, ids, roleUpdate(role));
+    }
+
+    @Override
+    public BulkJobStatus deleteUnverified(int olderThanDays, String provider) {
+        if (olderThanDays < 1) {
+            throw new InvalidInputException("olderThanDays must be at least 1");
+        }
+        BulkUserFilter filter = new BulkUserFilter();
+        filter.setIsVerified(false);
+        filter.setOlderThanDays(olderThanDays);
+        filter.setProvider(provider);
+        Criteria criteria = toCriteria(filter);
+        return submit("delete-unverified", criteria, ids -> {
+            Query matching = Query.query(new Criteria().andOperator(Criteria.where("_id").in(ids), criteria));
+            matching.fields().include("_id").include("picture").include("pictureHash");
+            List<Document> users = mongoTemplate.find(matching, Document.class, mongoTemplate.getCollectionName(User.class));
+            if (users.isEmpty()) {
+                return new long[]{ids.size(), 0};
+            }
+            DeleteResult result = mongoTemplate.remove(
+                    Query.query(new Criteria().andOperator(Criteria.where("_id").in(users.stream().map(user -> user.get("_id")).toList()), criteria)),
+                    User.class);
+            removeDependents(deleted(users, result.getDeletedCount()));
+            return new long[]{ids.size(), result.getDeletedCount()};
+        });
+    }
+
+    // Users verified between the lookup and the delete are still there and keep their data.
+    private List<Document> deleted(List<Document> users, long deletedCount) {
+        if (deletedCount == users.size()) {
+            return users;
+        }
+        Query remaining = Query.query(Criteria.where("_id").in(users.stream().map(user -> user.get("_id")).toList()));
+        remaining.fields().include("_id");
+        Set<Object> kept = new HashSet<>();
+        mongoTemplate.find(remaining, Document.class, mongoTemplate.getCollectionName(User.class))
+                .forEach(document -> kept.add(document.get("_id")));
+        return users.stream().filter(user -> !kept.contains(user.get("_id"))).toList();
+    }
+
+    // Deleted accounts lose their sessions, analyses and any avatar no other user shares.
+    private void removeDependents(List<Document> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        List<String> userIds = users.stream().map(user -> user.get("_id").toString()).toList();
+        mongoTemplate.remove(Query.query(Criteria.where("userId").in(userIds)), RefreshToken.class);
+
+        List<Object> ownerIds = new ArrayList<>(userIds);
+        users.forEach(user -> ownerIds.add(user.get("_id")));
+        Query owned = Query.query(Criteria.where("user.id").in(ownerIds));
+        owned.fields().include("_id");
+        for (Github github : mongoTemplate.find(owned, Github.class)) {
+            try {
+                resultStore.delete(github.getId());
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to delete analysis result {}: {}", github.getId(), e.getMessage());
+            }
+        }
+        mongoTemplate.remove(owned, Github.class);
+
+        for (Document user : users) {
+            String hash = user.getString("pictureHash");
+            if (hash == null || mongoTemplate.exists(Query.query(Criteria.where("pictureHash").is(hash)), User.class)) {
+                continue;
+            }
+            try {
+                avatarService.delete(hash, user.getString("picture"));
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to delete avatar {}: {}", hash, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public BulkJobStatus status(String jobId) {
+        BulkJob job = jobs.get(jobId);
+        return job != null ? job.snapshot() : null;
+    }
+
+    private Function<List<Object>, long[]> verifyUpdate() {
+        return ids -> {
+            UpdateResult result = mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("_id").in(ids).and("isVerified").ne(true)),
+                    new Update().set("isVerified", true).inc("version", 1), User.class);
+            return new long[]{result.getMatchedCount(), result.getModifiedCount()};
+        };
+    }
+
+    // Refresh tokens carry the role, so they are revoked to make the change take effect on next refresh.
+    // Only users found with another role are updated and revoked; the rest of the chunk keeps its sessions.
+    private Function<List<Object>, long[]> roleUpdate(Role role) {
+        return ids -> {
+            Query otherRole = Query.query(Criteria.where("_id").in(ids).and("role").ne(role.name()));
+            otherRole.fields().include("_id");
+            List<Object> changing = mongoTemplate.find(otherRole, Document.class, mongoTemplate.getCollectionName(User.class))
+                    .stream().map(document -> document.get("_id")).toList();
+            if (changing.isEmpty()) {
+                return new long[]{0, 0};
+            }
+            UpdateResult result = mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("_id").in(changing).and("role").ne(role.name())),
+                    new Update().set("role", role.name()).inc("version", 1), User.class);
+            mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("userId").in(changing.stream().map(Object::toString).toList()).and("revoked").is(false)),
+                    new Update().set("revoked", true), RefreshToken.class);
+            return new long[]{result.getMatchedCount(), result.getModifiedCount()};
+        };
+    }
+
+    private BulkJobStatus submit(String operation, Criteria filter, Function<List<Object>, long[]> apply) {
+        BulkJob job = register(operation);
+        try {
+            executor.execute(() -> runFiltered(job, filter, apply));
+        } catch (TaskRejectedException e) {
+            job.finish("Too many bulk jobs queued, try again later");
+        }
+        return job.snapshot();
+    }
+
+    private void runFiltered(BulkJob job, Criteria filter, Function<List<Object>, long[]> apply) {
+        try {
+            Object lastId = null;
+            while (true) {
+                Criteria page = lastId == null ? filter : new Criteria().andOperator(filter, Criteria.where("_id").gt(lastId));
+                Query query = Query.query(page).with(Sort.by(Sort.Direction.ASC, "_id")).limit(chunkSize);
+                query.fields().include("_id");
+                List<Object> ids = mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(User.class))
+                        .stream().map(document -> document.get("_id")).toList();
+                if (ids.isEmpty()) {
+                    break;
+                }
+                applyChunk(job, ids, apply);
+                lastId = ids.get(ids.size() - 1);
+            }
+            job.finish(null);
+        } catch (RuntimeException e) {
+            log.error("Bulk job {} ({}) failed: {}", job.id, job.operation, e.getMessage());
+            job.finish(e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish("interrupted");
+        }
+    }
+
+    private BulkJobStatus streamIds(String operation, InputStream body, Function<List<Object>, long[]> apply) throws IOException {
+        BulkJob job = register(operation);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            List<Object> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String id = line.trim();
+                if (id.isEmpty()) {
+                    continue;
+                }
+                chunk.add(ObjectId.isValid(id) ? new ObjectId(id) : id);
+                if (chunk.size() == chunkSize) {
+                    applyChunk(job, chunk, apply);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                applyChunk(job, chunk, apply);
+            }
+            job.finish(null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish("interrupted");
+        } catch (IOException | RuntimeException e) {
+            job.finish(e.getMessage());
+            throw e;
+        }
+        return job.snapshot();
+    }
+
+    private void applyChunk(BulkJob job, List<Object> ids, Function<List<Object>, long[]> apply) throws InterruptedException {
+        chunkPermit.acquire();
+        try {
+            long[] counts = apply.apply(ids);
+            job.chunks.incrementAndGet();
+            job.matched.addAndGet(counts[0]);
+            job.modified.addAndGet(counts[1]);
+        } finally {
+            chunkPermit.release();
+        }
+        log.debug("Bulk job {}: {} chunks, {} modified", job.id, job.chunks.get(), job.modified.get());
+        if (chunkPauseMs > 0) {
+            Thread.sleep(chunkPauseMs);
+        }
+    }
+
+    private BulkJob register(String operation) {
+        Instant cutoff = Instant.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+        BulkJob job = new BulkJob(UUID.randomUUID().toString(), operation);
+        jobs.put(job.id, job);
+        log.info("Started bulk job {} ({})", job.id, operation);
+        return job;
+    }
+
+    private static BulkUserFilter copyOf(BulkUserFilter filter) {
+        BulkUserFilter copy = new BulkUserFilter();
+        if (filter != null) {
+            copy.setProvider(filter.getProvider());
+            copy.setIsVerified(filter.getIsVerified());
+            copy.setRole(filter.getRole());
+            copy.setOlderThanDays(filter.getOlderThanDays());
+        }
+        return copy;
+    }
+
+    private Criteria toCriteria(BulkUserFilter filter) {
+        Criteria criteria = new Criteria();
+        if (filter == null) {
+            return criteria;
+        }
+        if (filter.getProvider() != null) {
+            criteria.and("provider").is(filter.getProvider());
+        }
+        if (filter.getIsVerified() != null) {
+            criteria.and("isVerified").is(filter.getIsVerified());
+        }
+        if (filter.getRole() != null) {
+            try {
+                criteria.and("role").is(Role.valueOf(filter.getRole().toUpperCase()).name());
+            } catch (IllegalArgumentException e) {
+                throw new InvalidInputException("Unknown role: " + filter.getRole());
+            }
+        }
+        if (filter.getOlderThanDays() != null) {
+            // Users have no creation date; the ObjectId timestamp records when they were inserted.
+            Instant cutoff = Instant.now().minus(Duration.ofDays(filter.getOlderThanDays()));
+            criteria.and("_id").lt(new ObjectId(Date.from(cutoff)));
+        }
+        return criteria;
+    }
+
+    private static final class BulkJob {
+        private final String id;
+        private final String operation;
+        private final Instant startedAt = Instant.now();
+        private final AtomicLong chunks = new AtomicLong();
+        private final AtomicLong matched = new AtomicLong();
+        private final AtomicLong modified = new AtomicLong();
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private BulkJob(String id, String operation) {
+            this.id = id;
+            this.operation = operation;
+        }
+
+        private void finish(String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+            log.info("Bulk job {} ({}) {}: {} chunks, {} matched, {} modified", id, operation,
+                    error == null ? "completed" : "failed", chunks.get(), matched.get(), modified.get());
+        }
+
+        private BulkJobStatus snapshot() {
+            String state = finishedAt == null ? "RUNNING" : error == null ? "COMPLETED" : "FAILED";
+            return new BulkJobStatus(id, operation, state, chunks.get(), matched.get(), modified.get(), startedAt, finishedAt, error);
+        }
+    }
+}
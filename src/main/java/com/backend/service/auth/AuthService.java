@@ -1,10 +1,12 @@
 package com.backend.service.auth;
 
 import com.backend.dto.UserDTO;
+import com.backend.shared.result.ServiceResult;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 
 public interface AuthService {
     void registerUser(UserDTO userDTO);
+    ServiceResult<Void> tryRegisterUser(UserDTO userDTO);
     UserDTO handleOAuth2User(String provider, String providerId, String email, String name, String picture);
     UserDTO handleOAuth2Redirect(OAuth2AuthenticationToken authentication);
     void requestMagicLink(String email);
@@ -6,37 +6,37 @@ import com.backend.model.email.PasswordResetLink;
 import com.backend.model.user.User;
 import com.backend.repository.mail.MagicLinkRepository;
 import com.backend.repository.mail.PasswordResetRepository;
+import com.backend.repository.user.UserPatch;
 import com.backend.repository.user.UserRepository;
+import com.backend.service.domain.EmailDomainServiceImpl;
 import com.backend.service.email.EmailServiceImpl;
+import com.backend.service.password.PasswordPolicyServiceImpl;
+import com.backend.config.MongoIndexManager;
 import com.backend.config.PasswordUtil;
 import com.backend.security.JwtTokenProvider; // Add this import
 import com.backend.shared.exception.*;
+import com.backend.shared.result.ServiceResult;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 
 import java.security.SecureRandom;
 import java.time.Instant;
 import java.util.Base64;
-import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Pattern;
+import java.util.function.Consumer;
 
 @Service
 @Slf4j
+@Timed("service.auth")
 public class AuthServiceImpl implements AuthService {
 
     @Autowired
@@ -45,9 +45,6 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private MagicLinkRepository magicLinkRepository;
 
-    @Autowired
-    private RestTemplate restTemplate;
-
     @Autowired
     private PasswordResetRepository passwordResetRepository;
 
@@ -57,6 +54,17 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private PasswordPolicyServiceImpl passwordPolicyService;
+
+    @Autowired
+    private EmailDomainServiceImpl emailDomainService;
+
+    @Autowired
+    private RefreshTokenServiceImpl refreshTokenService;
+
+    private static final int MAX_PATCH_ATTEMPTS = 3;
+
     private final ModelMapper modelMapper = new ModelMapper();
 
     @Value("${frontend.url}")
@@ -71,6 +79,10 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private OAuth2AuthorizedClientService authorizedClientService;
 
+    // Injected by interface: the @Async refresh makes this bean a JDK proxy of GithubEmailService.
+    @Autowired
+    private GithubEmailService githubEmailService;
+
     private boolean isValidEmail(String email) {
         return !email.contains("@") || !email.contains(".");
     }
@@ -82,11 +94,6 @@ public class AuthServiceImpl implements AuthService {
         return Base64.getUrlEncoder().withoutPadding().encodeToString(linkBytes);
     }
 
-    private boolean isStrongPassword(String password) {
-        String passwordRegex = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z]).{8,}$";
-        return !Pattern.compile(passwordRegex).matcher(password).matches();
-    }
-
     public boolean existsByUsername(String username) {
         return userRepository.findByUsername(username).isPresent();
     }
@@ -97,41 +104,29 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public void registerUser(UserDTO userDTO) {
+        tryRegisterUser(userDTO).orElseThrow();
+    }
+
+    @Override
+    public ServiceResult<Void> tryRegisterUser(UserDTO userDTO) {
         if (userDTO.getUsername() == null || userDTO.getUsername().isEmpty()) {
-            throw new InvalidInputException("Username cannot be empty");
+            return ServiceResult.failure(ServiceResult.Error.INVALID_INPUT, "Username cannot be empty");
         }
         if (userDTO.getEmail() == null || userDTO.getEmail().isEmpty()) {
-            throw new InvalidInputException("Email cannot be empty");
+            return ServiceResult.failure(ServiceResult.Error.INVALID_INPUT, "Email cannot be empty");
         }
         if (userDTO.getPassword() == null || userDTO.getPassword().isEmpty()) {
-            throw new InvalidInputException("Password cannot be empty");
+            return ServiceResult.failure(ServiceResult.Error.INVALID_INPUT, "Password cannot be empty");
         }
         if (isValidEmail(userDTO.getEmail())) {
-            throw new UserNotFoundException("User email is invalid.");
+            return ServiceResult.failure(ServiceResult.Error.NOT_FOUND, "User email is invalid.");
         }
-        if (isStrongPassword(userDTO.getPassword())) {
-            if (userDTO.getPassword().length() < 5) {
-                throw new PasswordOrEmailException("Password should be at least 5 characters.", new Throwable("Invalid password length"));
-            }
-            throw new PasswordOrEmailException("Password is too weak.", new Throwable("Invalid password strength"));
+        if (emailDomainService.isDisposable(userDTO.getEmail())) {
+            return ServiceResult.failure(ServiceResult.Error.INVALID_INPUT, "Disposable email addresses are not allowed");
         }
-        if (existsByUsername(userDTO.getUsername())) {
-            throw new AlreadyExistException("Username already exists");
-        }
-        if (existByEmail(userDTO.getEmail())) {
-            User existingUser = userRepository.findByEmail(userDTO.getEmail()).orElseThrow(() -> new RuntimeException("User with email exists but could not be retrieved"));
-            if (existingUser.getIsVerified() == true) {
-                throw new AlreadyExistException("User is already verified. Please log in");
-            } else {
-                try {
-                    requestMagicLink(existingUser.getEmail());
-                    log.info("Sent new magic link to unverified user: email={}", existingUser.getEmail());
-                    return;
-                } catch (Exception e) {
-                    log.error("Failed to send new magic link: {}", e.getMessage(), e);
-                    throw new RuntimeException("Failed to send new magic link", e);
-                }
-            }
+        String passwordViolation = passwordPolicyService.check(userDTO.getPassword());
+        if (passwordViolation != null) {
+            return ServiceResult.failure(ServiceResult.Error.WEAK_PASSWORD, passwordViolation);
         }
 
         User user = new User();
@@ -139,18 +134,51 @@ public class AuthServiceImpl implements AuthService {
         user.setPassword(PasswordUtil.encryptPassword(userDTO.getPassword()));
         user.setProvider("manual system");
         user.setIsVerified(false);
+        User savedUser;
+        try {
+            savedUser = userRepository.insert(user);
+        } catch (DuplicateKeyException e) {
+            return handleDuplicateRegistration(userDTO, e);
+        }
         try {
-            User savedUser = userRepository.save(user);
             log.info("Successfully saved user --> id={}, email={}", savedUser.getId(), savedUser.getEmail());
             requestMagicLink(savedUser.getEmail());
         } catch (Exception e) {
             log.error("Registration failed: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to save user or send magic link", e);
         }
+        return ServiceResult.ok();
+    }
+
+    // The unique indexes are the source of truth; only the losing insert pays for the lookup.
+    private ServiceResult<Void> handleDuplicateRegistration(UserDTO userDTO, DuplicateKeyException e) {
+        String violation = e.getMessage() != null ? e.getMessage() : "";
+        if (!violation.contains(MongoIndexManager.USERS_EMAIL_UNIQUE)) {
+            return ServiceResult.failure(ServiceResult.Error.ALREADY_EXISTS, "Username already exists");
+        }
+        User existingUser = userRepository.findByEmail(userDTO.getEmail()).orElseThrow(() -> new RuntimeException("User with email exists but could not be retrieved"));
+        if (Boolean.TRUE.equals(existingUser.getIsVerified())) {
+            return ServiceResult.failure(ServiceResult.Error.ALREADY_EXISTS, "User is already verified. Please log in");
+        }
+        try {
+            requestMagicLink(existingUser.getEmail());
+            log.info("Sent new magic link to unverified user: email={}", existingUser.getEmail());
+            return ServiceResult.ok();
+        } catch (Exception ex) {
+            log.error("Failed to send new magic link: {}", ex.getMessage(), ex);
+            throw new RuntimeException("Failed to send new magic link", ex);
+        }
     }
 
     @Override
     public UserDTO handleOAuth2User(String provider, String providerId, String email, String name, String picture) {
+        if (provider == null || providerId == null) {
+            throw new IllegalArgumentException("Provider or providerId cannot be null");
+        }
+        return saveOAuth2User(userRepository.findByProviderAndProviderId(provider, providerId), provider, providerId, email, null, name, picture);
+    }
+
+    private UserDTO saveOAuth2User(Optional<User> existingUser, String provider, String providerId, String email, Instant emailVerifiedAt, String name, String picture) {
         if (provider == null || providerId == null) {
             throw new IllegalArgumentException("Provider or providerId cannot be null");
         }
@@ -158,26 +186,33 @@ public class AuthServiceImpl implements AuthService {
             throw new IllegalArgumentException("Valid email is required for OAuth2 registration");
         }
 
-        Optional<User> existingUser = userRepository.findByProviderAndProviderId(provider, providerId);
-        User user;
-        if (existingUser.isPresent()) {
-            user = existingUser.get();
-            user.setName(name != null ? name : user.getName());
-            user.setEmail(email);
-            user.setPicture(picture != null ? picture : user.getPicture());
-        } else {
-            user = new User();
-            user.setProvider(provider);
-            user.setProviderId(providerId);
-            user.setEmail(email);
-            user.setName(name != null ? name : "GitHub User");
-            user.setPicture(picture);
-            user.setUsername(generateUniqueUsername(email));
-            user.setIsVerified(true);
-        }
-
         try {
-            User savedUser = userRepository.save(user);
+            User savedUser;
+            if (existingUser.isPresent()) {
+                savedUser = patchWithRetry(existingUser.get(), patch -> {
+                    patch.set("name", User::getName, User::setName, name != null ? name : patch.getUser().getName())
+                            .set("email", User::getEmail, User::setEmail, email)
+                            .set("picture", User::getPicture, User::setPicture, picture != null ? picture : patch.getUser().getPicture());
+                    if (emailVerifiedAt != null) {
+                        patch.set("providerEmail", User::getProviderEmail, User::setProviderEmail, email)
+                                .set("providerEmailVerifiedAt", User::getProviderEmailVerifiedAt, User::setProviderEmailVerifiedAt, emailVerifiedAt);
+                    }
+                });
+            } else {
+                User user = new User();
+                user.setProvider(provider);
+                user.setProviderId(providerId);
+                user.setEmail(email);
+                user.setName(name != null ? name : "GitHub User");
+                user.setPicture(picture);
+                user.setUsername(generateUniqueUsername(email));
+                user.setIsVerified(true);
+                if (emailVerifiedAt != null) {
+                    user.setProviderEmail(email);
+                    user.setProviderEmailVerifiedAt(emailVerifiedAt);
+                }
+                savedUser = userRepository.insert(user);
+            }
             log.info("Successfully saved/updated OAuth2 user --> id={}, email={}, provider={}", savedUser.getId(), savedUser.getEmail(), provider);
             return modelMapper.map(savedUser, UserDTO.class);
         } catch (Exception e) {
@@ -196,11 +231,26 @@ public class AuthServiceImpl implements AuthService {
         String name = authentication.getPrincipal().getAttribute("name");
         String picture = authentication.getPrincipal().getAttribute("avatar_url");
 
+        Optional<User> existingUser = providerId != null ? userRepository.findByProviderAndProviderId(provider, providerId) : Optional.empty();
+        Instant emailVerifiedAt = null;
         if (email == null) {
-            email = fetchGitHubEmail(authentication);
+            User cached = existingUser.filter(user -> user.getProviderEmail() != null).orElse(null);
+            if (cached != null) {
+                email = cached.getProviderEmail();
+                if (githubEmailService.isStale(cached)) {
+                    githubEmailService.refreshAsync(cached.getId(), loadAccessToken(authentication));
+                }
+            } else {
+                email = githubEmailService.fetchPrimaryEmail(loadAccessToken(authentication));
+                if (email != null) {
+                    emailVerifiedAt = Instant.now();
+                } else {
+                    email = generateUniqueUsername("github_user") + "@example.com"; // Fallback
+                }
+            }
         }
 
-        return handleOAuth2User(provider, providerId, email, name, picture);
+        return saveOAuth2User(existingUser, provider, providerId, email, emailVerifiedAt, name, picture);
     }
 
     @Override
@@ -210,7 +260,7 @@ public class AuthServiceImpl implements AuthService {
             UserDTO userDTO = handleOAuth2Redirect(authentication);
             String token = jwtTokenProvider.generateToken(authentication);
             String redirectUrl = String.format("%s/auth/success?token=%s", frontendUrl, token);
-            log.info("Generated redirect URL: {}", redirectUrl);
+            log.info("Generated redirect URL for user: {}", userDTO.getEmail());
             return redirectUrl;
         } catch (Exception e) {
             log.error("OAuth2 GitHub redirect failed: {}", e.getMessage(), e);
@@ -218,37 +268,30 @@ public class AuthServiceImpl implements AuthService {
         }
     }
 
-    private String fetchGitHubEmail(OAuth2AuthenticationToken authentication) {
-        String url = "https://api.github.com/user/emails";
+    private String loadAccessToken(OAuth2AuthenticationToken authentication) {
         OAuth2AuthorizedClient client = authorizedClientService.loadAuthorizedClient(authentication.getAuthorizedClientRegistrationId(), authentication.getName());
         if (client == null || client.getAccessToken() == null) {
             log.error("No authorized client or access token found for user: {}", authentication.getName());
             throw new IllegalArgumentException("No valid access token available");
         }
-        String accessToken = client.getAccessToken().getTokenValue();
-        log.info("Fetching GitHub email with access token: {}", accessToken.substring(0, 10) + "...");
+        return client.getAccessToken().getTokenValue();
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setBearerAuth(accessToken);
-        HttpEntity<?> entity = new HttpEntity<>(headers);
-        try {
-            ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
-                    url, HttpMethod.GET, entity, new ParameterizedTypeReference<>() {});
-            List<Map<String, Object>> emails = response.getBody();
-            if (emails != null) {
-                for (Map<String, Object> emailData : emails) {
-                    if (Boolean.TRUE.equals(emailData.get("primary")) && Boolean.TRUE.equals(emailData.get("verified"))) {
-                        String email = (String) emailData.get("email");
-                        log.info("Found verified primary email: {}", email);
-                        return email;
-                    }
+    // Login-driven updates just re-apply the provider's values, so on a version conflict reload and try again.
+    private User patchWithRetry(User user, Consumer<UserPatch> changes) {
+        for (int attempt = 1; ; attempt++) {
+            UserPatch patch = UserPatch.of(user);
+            changes.accept(patch);
+            try {
+                userRepository.applyPatch(patch);
+                return user;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= MAX_PATCH_ATTEMPTS) {
+                    throw e;
                 }
+                String userId = user.getId();
+                user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
             }
-            log.warn("No verified primary email found for GitHub user");
-            return generateUniqueUsername("github_user") + "@example.com"; // Fallback
-        } catch (HttpClientErrorException e) {
-            log.error("Failed to fetch GitHub email: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            throw new IllegalArgumentException("Failed to fetch GitHub email: " + e.getMessage(), e);
         }
     }
 
@@ -278,7 +321,7 @@ public class AuthServiceImpl implements AuthService {
 
         String link = String.format("%s/auth/magic-link/validatelink?magic-link=%s", frontendUrl, securedLink);
         emailService.sendMagicLink(email, link);
-        log.info("Magic link sent to {} with securedLink: {}", email, securedLink);
+        log.info("Magic link sent to {}", email);
     }
 
     @Override
@@ -292,9 +335,7 @@ public class AuthServiceImpl implements AuthService {
         if (userOpt.isEmpty()) {
             throw new UserNotFoundException("User not found with id: " + userId);
         }
-        User user = userOpt.get();
-        user.setIsVerified(true);
-        userRepository.save(user);
+        patchWithRetry(userOpt.get(), patch -> patch.set("isVerified", User::getIsVerified, User::setIsVerified, true));
         magicLinkRepository.delete(magicLinkOpt.get());
     }
 
@@ -317,7 +358,7 @@ public class AuthServiceImpl implements AuthService {
 
         String link = String.format("%s/auth/reset-password?token=%s", frontendUrl, token);
         emailService.sendPasswordResetLink(email, link);
-        log.info("Password reset link sent to {} with token: {}", email, token);
+        log.info("Password reset link sent to {}", email);
     }
 
     public void resetPassword(String link, String newPassword) {
@@ -330,17 +371,13 @@ public class AuthServiceImpl implements AuthService {
         if (userOpt.isEmpty()) {
             throw new UserNotFoundException("User not found with id: " + userId);
         }
-        if (isStrongPassword(newPassword)) {
-            if (newPassword.length() < 5) {
-                throw new PasswordOrEmailException("Password should be at least 5 characters.", new Throwable("Invalid password length"));
-            }
-            throw new PasswordOrEmailException("Password is too weak.", new Throwable("Invalid password strength"));
-        }
+        passwordPolicyService.validate(newPassword);
 
         User user = userOpt.get();
         user.setPassword(PasswordUtil.encryptPassword(newPassword));
         userRepository.save(user);
         passwordResetRepository.delete(resetTokenOpt.get());
+        refreshTokenService.revokeAllForUser(user.getId());
         log.info("Password successfully reset for user: {}", user.getEmail());
     }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.backend.service.auth;
+
+import com.backend.model.user.User;
+
+public interface GithubEmailService {
+    String fetchPrimaryEmail(String accessToken);
+    boolean isStale(User user);
+    void refreshAsync(String userId, String accessToken);
+}
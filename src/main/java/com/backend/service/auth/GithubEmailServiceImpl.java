@@ -0,0 +1,113 @@
+package com.backend.service.auth;
+
+import com.backend.config.AsyncConfig;
+import com.backend.config.GithubApiMetrics;
+import com.backend.model.user.User;
+import com.backend.repository.user.UserPatch;
+import com.backend.repository.user.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Looks up a GitHub user's verified primary email. The result is cached on the {@link User} as
+ * {@code providerEmail}, and stale entries are refreshed off the login path.
+ */
+@Service
+@Slf4j
+public class GithubEmailServiceImpl implements GithubEmailService {
+
+    private static final String EMAILS_URL = "https://api.github.com/user/emails";
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GithubApiMetrics githubApiMetrics;
+
+    @Value("${github.email-cache.ttl:PT24H}")
+    private Duration ttl;
+
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @return the verified primary email, or null when the account has none
+     */
+    @Override
+    public String fetchPrimaryEmail(String accessToken) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(accessToken);
+        HttpEntity<?> entity = new HttpEntity<>(headers);
+        long start = System.nanoTime();
+        try {
+            ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
+                    EMAILS_URL, HttpMethod.GET, entity, new ParameterizedTypeReference<>() {});
+            githubApiMetrics.record("user/emails", start, response.getStatusCode().value(), response.getHeaders());
+            List<Map<String, Object>> emails = response.getBody();
+            if (emails != null) {
+                for (Map<String, Object> emailData : emails) {
+                    if (Boolean.TRUE.equals(emailData.get("primary")) && Boolean.TRUE.equals(emailData.get("verified"))) {
+                        String email = (String) emailData.get("email");
+                        log.info("Found verified primary email: {}", email);
+                        return email;
+                    }
+                }
+            }
+            log.warn("No verified primary email found for GitHub user");
+            return null;
+        } catch (HttpClientErrorException e) {
+            githubApiMetrics.record("user/emails", start, e.getStatusCode().value(), e.getResponseHeaders());
+            log.error("Failed to fetch GitHub email: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
+            throw new IllegalArgumentException("Failed to fetch GitHub email: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean isStale(User user) {
+        Instant verifiedAt = user.getProviderEmailVerifiedAt();
+        return verifiedAt == null || verifiedAt.plus(ttl).isBefore(Instant.now());
+    }
+
+    @Override
+    @Async(AsyncConfig.GITHUB_EMAIL_REFRESH_EXECUTOR)
+    public void refreshAsync(String userId, String accessToken) {
+        if (!refreshing.add(userId)) {
+            return;
+        }
+        try {
+            String email = fetchPrimaryEmail(accessToken);
+            if (email == null) {
+                return;
+            }
+            userRepository.findById(userId).ifPresent(user -> userRepository.applyPatch(UserPatch.of(user)
+                    .set("providerEmail", User::getProviderEmail, User::setProviderEmail, email)
+                    .set("providerEmailVerifiedAt", User::getProviderEmailVerifiedAt, User::setProviderEmailVerifiedAt, Instant.now())));
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("Skipped GitHub email refresh for user {}: {}", userId, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("GitHub email refresh failed for user {}: {}", userId, e.getMessage());
+        } finally {
+            refreshing.remove(userId);
+        }
+    }
+}
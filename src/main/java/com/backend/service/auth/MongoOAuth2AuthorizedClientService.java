@@ -0,0 +1,149 @@
+package com.backend.service.auth;
+
+import com.backend.model.auth.AuthorizedClientRecord;
+import com.backend.repository.auth.AuthorizedClientRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stores authorized clients in Mongo so any node can serve the requests that follow an OAuth2
+ * callback. Reads go through a short-lived local cache; misses always hit Mongo so a client saved
+ * on another node is visible immediately. Removal only evicts this node's cache: other nodes keep
+ * serving a removed client until their entry expires after {@code oauth2.client-store.cache-ttl}.
+ *
+ * <p>Tokens are encrypted with the registration id and principal name as associated data. A record
+ * whose tokens no longer decrypt, e.g. after a key change, is deleted and treated as absent, so the
+ * user simply authorizes again.
+ */
+@Service
+@Slf4j
+public class MongoOAuth2AuthorizedClientService implements OAuth2AuthorizedClientService {
+
+    private record Cached(OAuth2AuthorizedClient client, long expiresAtNanos) {}
+
+    @Autowired
+    private AuthorizedClientRecordRepository repository;
+
+    @Autowired
+    private ClientRegistrationRepository clientRegistrationRepository;
+
+    @Value("${oauth2.client-store.cache-ttl:PT1M}")
+    private Duration cacheTtl;
+
+    @Value("${oauth2.client-store.cache-size:10000}")
+    private int cacheSize;
+
+    private final ConcurrentHashMap<String, Cached> cache = new ConcurrentHashMap<>();
+
+    private final TokenCipher cipher;
+
+    public MongoOAuth2AuthorizedClientService(@Value("${oauth2.client-store.encryption-key}") String encryptionKey) {
+        this.cipher = new TokenCipher(encryptionKey);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends OAuth2AuthorizedClient> T loadAuthorizedClient(String clientRegistrationId, String principalName) {
+        String key = cacheKey(clientRegistrationId, principalName);
+        Cached cached = cache.get(key);
+        if (cached != null && cached.expiresAtNanos() - System.nanoTime() > 0) {
+            return (T) cached.client();
+        }
+        ClientRegistration registration = clientRegistrationRepository.findByRegistrationId(clientRegistrationId);
+        if (registration == null) {
+            return null;
+        }
+        Optional<AuthorizedClientRecord> record = repository.findByRegistrationIdAndPrincipalName(clientRegistrationId, principalName);
+        if (record.isEmpty()) {
+            cache.remove(key);
+            return null;
+        }
+        OAuth2AuthorizedClient client;
+        try {
+            client = toClient(registration, record.get());
+        } catch (IllegalStateException e) {
+            log.warn("Discarding authorized client {} for {}: {}", clientRegistrationId, principalName, e.getMessage());
+            removeAuthorizedClient(clientRegistrationId, principalName);
+            return null;
+        }
+        remember(key, client);
+        return (T) client;
+    }
+
+    @Override
+    public void saveAuthorizedClient(OAuth2AuthorizedClient authorizedClient, Authentication principal) {
+        String registrationId = authorizedClient.getClientRegistration().getRegistrationId();
+        String principalName = principal.getName();
+        AuthorizedClientRecord record = repository.findByRegistrationIdAndPrincipalName(registrationId, principalName)
+                .orElseGet(AuthorizedClientRecord::new);
+        record.setRegistrationId(registrationId);
+        record.setPrincipalName(principalName);
+        String context = cacheKey(registrationId, principalName);
+        OAuth2AccessToken accessToken = authorizedClient.getAccessToken();
+        record.setAccessToken(cipher.encrypt(accessToken.getTokenValue(), context));
+        record.setAccessTokenIssuedAt(accessToken.getIssuedAt());
+        record.setAccessTokenExpiresAt(accessToken.getExpiresAt());
+        record.setAccessTokenScopes(accessToken.getScopes());
+        OAuth2RefreshToken refreshToken = authorizedClient.getRefreshToken();
+        record.setRefreshToken(refreshToken != null ? cipher.encrypt(refreshToken.getTokenValue(), context) : null);
+        record.setRefreshTokenIssuedAt(refreshToken != null ? refreshToken.getIssuedAt() : null);
+        record.setRefreshTokenExpiresAt(refreshToken != null ? refreshToken.getExpiresAt() : null);
+        record.setUpdatedAt(Instant.now());
+        try {
+            repository.save(record);
+        } catch (DuplicateKeyException e) {
+            // Another node stored the same login first; overwrite it with this one.
+            repository.findByRegistrationIdAndPrincipalName(registrationId, principalName).ifPresent(existing -> {
+                record.setId(existing.getId());
+                repository.save(record);
+            });
+        }
+        remember(cacheKey(registrationId, principalName), authorizedClient);
+    }
+
+    @Override
+    public void removeAuthorizedClient(String clientRegistrationId, String principalName) {
+        repository.deleteByRegistrationIdAndPrincipalName(clientRegistrationId, principalName);
+        cache.remove(cacheKey(clientRegistrationId, principalName));
+    }
+
+    private OAuth2AuthorizedClient toClient(ClientRegistration registration, AuthorizedClientRecord record) {
+        String context = cacheKey(record.getRegistrationId(), record.getPrincipalName());
+        OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER,
+                cipher.decrypt(record.getAccessToken(), context), record.getAccessTokenIssuedAt(), record.getAccessTokenExpiresAt(),
+                record.getAccessTokenScopes());
+        OAuth2RefreshToken refreshToken = record.getRefreshToken() == null ? null
+                : new OAuth2RefreshToken(cipher.decrypt(record.getRefreshToken(), context), record.getRefreshTokenIssuedAt(), record.getRefreshTokenExpiresAt());
+        return new OAuth2AuthorizedClient(registration, record.getPrincipalName(), accessToken, refreshToken);
+    }
+
+    private void remember(String key, OAuth2AuthorizedClient client) {
+        if (cache.size() >= cacheSize) {
+            long now = System.nanoTime();
+            cache.values().removeIf(entry -> entry.expiresAtNanos() - now <= 0);
+            if (cache.size() >= cacheSize) {
+                cache.clear();
+            }
+        }
+        cache.put(key, new Cached(client, System.nanoTime() + cacheTtl.toNanos()));
+    }
+
+    private static String cacheKey(String registrationId, String principalName) {
+        return registrationId + '\u0000' + principalName;
+    }
+}
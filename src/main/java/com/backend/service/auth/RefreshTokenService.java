@@ -0,0 +1,10 @@
+package com.backend.service.auth;
+
+import com.backend.dto.response.TokenPair;
+import org.springframework.security.core.Authentication;
+
+public interface RefreshTokenService {
+    String issue(Authentication authentication);
+    TokenPair refresh(String refreshToken);
+    void revokeAllForUser(String userId);
+}
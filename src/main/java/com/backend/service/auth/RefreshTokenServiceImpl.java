@@ -0,0 +1,134 @@
+package com.backend.service.auth;
+
+import com.backend.dto.response.TokenPair;
+import com.backend.model.auth.RefreshToken;
+import com.backend.model.user.User;
+import com.backend.repository.auth.RefreshTokenRepository;
+import com.backend.repository.user.UserRepository;
+import com.backend.security.JwtTokenProvider;
+import com.backend.shared.exception.InvalidRefreshTokenException;
+import com.backend.shared.exception.UserNotFoundException;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@Slf4j
+@Timed("service.auth")
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Value("${jwt.refresh-expiration:2592000000}")
+    private Long refreshExpiration;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Override
+    public String issue(Authentication authentication) {
+        User user = userRepository.findByUsernameOrEmail(authentication.getName(), authentication.getName())
+                .orElseThrow(() -> new UserNotFoundException("User not found: " + authentication.getName()));
+        return create(UUID.randomUUID().toString(), user.getId(), user.getUsername(), user.getRole().name());
+    }
+
+    @Override
+    public TokenPair refresh(String refreshToken) {
+        String tokenHash = hash(refreshToken);
+        Instant now = Instant.now();
+        Query unused = new Query(Criteria.where("tokenHash").is(tokenHash)
+                .and("usedAt").is(null)
+                .and("revoked").is(false)
+                .and("expiresAt").gt(now));
+        RefreshToken current = mongoTemplate.findAndModify(unused, new Update().set("usedAt", now),
+                FindAndModifyOptions.options().returnNew(false), RefreshToken.class);
+
+        if (current == null) {
+            refreshTokenRepository.findByTokenHash(tokenHash).ifPresent(token -> {
+                if (token.getUsedAt() != null && !Boolean.TRUE.equals(token.getRevoked())) {
+                    long revoked = refreshTokenRepository.revokeFamily(token.getFamilyId());
+                    log.warn("Refresh token reuse detected for user {}, revoked {} tokens in family {}", token.getUserId(), revoked, token.getFamilyId());
+                }
+            });
+            throw new InvalidRefreshTokenException("Refresh token is invalid or expired");
+        }
+
+        // The username and role copied onto the token go stale on rename, role change or deletion,
+        // so the new tokens are always issued for the user as stored now.
+        User user = userRepository.findById(current.getUserId()).orElse(null);
+        if (user == null) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            log.info("Refresh for deleted user {}, revoked family {}", current.getUserId(), current.getFamilyId());
+            throw new InvalidRefreshTokenException("Refresh token is invalid or expired");
+        }
+
+        String role = user.getRole().name();
+        String rotated = create(current.getFamilyId(), user.getId(), user.getUsername(), role);
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                new org.springframework.security.core.userdetails.User(user.getUsername(), "", authorities), null, authorities);
+        return new TokenPair(jwtTokenProvider.generateToken(authentication), rotated);
+    }
+
+    @Override
+    public void revokeAllForUser(String userId) {
+        long revoked = refreshTokenRepository.revokeAllForUser(userId);
+        log.info("Revoked {} refresh tokens for user {}", revoked, userId);
+    }
+
+    private String create(String familyId, String userId, String username, String role) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setFamilyId(familyId);
+        token.setUserId(userId);
+        token.setUsername(username);
+        token.setRole(role);
+        token.setCreatedAt(now);
+        token.setExpiresAt(now.plusMillis(refreshExpiration));
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.backend.service.auth;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * AES-256-GCM for tokens at rest. Output is Base64 of {@code iv || ciphertext || tag}. The
+ * {@code context} is authenticated as associated data, so a ciphertext only decrypts for the record
+ * it was written for and cannot be copied onto another user's.
+ */
+final class TokenCipher {
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+
+    TokenCipher(String base64Key) {
+        byte[] keyBytes = Base64.getDecoder().decode(base64Key);
+        if (keyBytes.length != 32) {
+            throw new IllegalArgumentException("Token encryption key must be 32 bytes, got " + keyBytes.length);
+        }
+        this.key = new SecretKeySpec(keyBytes, "AES");
+    }
+
+    String encrypt(String plaintext, String context) {
+        if (plaintext == null) {
+            return null;
+        }
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(context.getBytes(StandardCharsets.UTF_8));
+            byte[] sealed = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(IV_LENGTH + sealed.length).put(iv).put(sealed).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to encrypt token", e);
+        }
+    }
+
+    /**
+     * @throws IllegalStateException if the data was altered, or written with another key or context
+     */
+    String decrypt(String encoded, String context) {
+        if (encoded == null) {
+            return null;
+        }
+        try {
+            byte[] data = Base64.getDecoder().decode(encoded);
+            if (data.length < IV_LENGTH + TAG_BITS / 8) {
+                throw new GeneralSecurityException("Ciphertext too short");
+            }
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, data, 0, IV_LENGTH));
+            cipher.updateAAD(context.getBytes(StandardCharsets.UTF_8));
+            return new String(cipher.doFinal(data, IV_LENGTH, data.length - IV_LENGTH), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Failed to decrypt token", e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.backend.service.avatar;
+
+import com.backend.config.AsyncConfig;
+import com.backend.model.user.User;
+import com.backend.repository.user.UserPatch;
+import com.backend.repository.user.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves pictures still stored inline on user documents into the avatar store. Enable with
+ * {@code avatar.migration.enabled=true}; it runs once in the background after startup and is safe
+ * to re-run, since migrated users no longer match.
+ */
+@Component
+@Slf4j
+public class AvatarMigrationJob implements ApplicationRunner {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AvatarServiceImpl avatarService;
+
+    @Autowired
+    @Qualifier(AsyncConfig.ADMIN_BULK_EXECUTOR)
+    private TaskExecutor executor;
+
+    @Value("${admin.bulk.chunk-pause-ms:100}")
+    private long pauseMs;
+
+    // Checked here rather than with a bean condition so AOT-processed builds honour the runtime value.
+    @Value("${avatar.migration.enabled:false}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            executor.execute(this::migrate);
+        }
+    }
+
+    void migrate() {
+        long migrated = 0;
+        long failed = 0;
+        String lastId = null;
+        while (true) {
+            Criteria inline = Criteria.where("picture").exists(true).nin("", null).not().regex("^(https?://|/)");
+            Query query = Query.query(lastId == null ? inline : new Criteria().andOperator(inline, Criteria.where("_id").gt(lastId)))
+                    .with(Sort.by(Sort.Direction.ASC, "_id"))
+                    .limit(PAGE_SIZE);
+            List<User> users = mongoTemplate.find(query, User.class);
+            if (users.isEmpty()) {
+                break;
+            }
+            for (User user : users) {
+                try {
+                    StoredAvatar avatar = avatarService.storeInline(user.getPicture());
+                    userRepository.applyPatch(UserPatch.of(user)
+                            .set("picture", User::getPicture, User::setPicture, avatar.url())
+                            .set("pictureHash", User::getPictureHash, User::setPictureHash, avatar.hash()));
+                    migrated++;
+                } catch (OptimisticLockingFailureException e) {
+                    log.debug("User {} changed during avatar migration, leaving it for the next run", user.getId());
+                } catch (Exception e) {
+                    failed++;
+                    log.warn("Could not migrate avatar for user {}: {}", user.getId(), e.getMessage());
+                }
+            }
+            lastId = users.get(users.size() - 1).getId();
+            log.info("Avatar migration: {} migrated, {} failed so far", migrated, failed);
+            try {
+                Thread.sleep(pauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        log.info("Avatar migration finished: {} migrated, {} failed", migrated, failed);
+    }
+}
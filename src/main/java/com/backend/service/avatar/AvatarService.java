@@ -0,0 +1,12 @@
+package com.backend.service.avatar;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface AvatarService {
+    StoredAvatar store(InputStream image) throws IOException;
+    StoredAvatar storeInline(String base64) throws IOException;
+    StoredAvatar updateAvatar(String usernameOrEmail, InputStream image) throws IOException;
+    boolean isInline(String picture);
+    void delete(String hash, String url) throws IOException;
+}
@@ -0,0 +1,172 @@
+package com.backend.service.avatar;
+
+import com.backend.model.user.User;
+import com.backend.repository.user.UserPatch;
+import com.backend.repository.user.UserRepository;
+import com.backend.shared.exception.InvalidInputException;
+import com.backend.shared.exception.UserNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+
+/**
+ * Decodes uploaded avatars, renders them as square images at fixed sizes and stores them in the
+ * {@link BlobStore}. The user document only keeps the URL of the largest rendition and the hash.
+ */
+@Service
+@Slf4j
+public class AvatarServiceImpl implements AvatarService {
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${avatar.sizes:256,64}")
+    private int[] sizes;
+
+    @Value("${avatar.max-source-pixels:16777216}")
+    private long maxSourcePixels;
+
+    @Override
+    public StoredAvatar store(InputStream image) throws IOException {
+        MessageDigest digest = sha256();
+        BufferedImage source = decode(new DigestInputStream(image, digest));
+        String hash = HexFormat.of().formatHex(digest.digest());
+
+        boolean alpha = source.getColorModel().hasAlpha();
+        String format = alpha ? "png" : "jpg";
+        int[] renditions = Arrays.stream(sizes).boxed().sorted((a, b) -> b - a).mapToInt(Integer::intValue).toArray();
+        String primaryUrl = null;
+        for (int size : renditions) {
+            byte[] encoded = encode(scale(source, size, alpha), format);
+            String url = blobStore.put(hash + "/" + size + "." + format, encoded, alpha ? "image/png" : "image/jpeg");
+            if (primaryUrl == null) {
+                primaryUrl = url;
+            }
+        }
+        return new StoredAvatar(primaryUrl, hash);
+    }
+
+    @Override
+    public StoredAvatar storeInline(String picture) throws IOException {
+        String base64 = picture.startsWith("data:") ? picture.substring(picture.indexOf(',') + 1) : picture;
+        byte[] bytes;
+        try {
+            bytes = Base64.getMimeDecoder().decode(base64);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException("Picture is not a valid Base64 image");
+        }
+        return store(new ByteArrayInputStream(bytes));
+    }
+
+    @Override
+    public StoredAvatar updateAvatar(String usernameOrEmail, InputStream image) throws IOException {
+        User user = userRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail)
+                .orElseThrow(() -> new UserNotFoundException("User not found: " + usernameOrEmail));
+        StoredAvatar avatar = store(image);
+        userRepository.applyPatch(UserPatch.of(user)
+                .set("picture", User::getPicture, User::setPicture, avatar.url())
+                .set("pictureHash", User::getPictureHash, User::setPictureHash, avatar.hash()));
+        return avatar;
+    }
+
+    /**
+     * Removes every rendition of a stored avatar. Renditions are shared by content, so callers check
+     * that no user still points at {@code hash}.
+     */
+    @Override
+    public void delete(String hash, String url) throws IOException {
+        String format = url != null && url.endsWith(".png") ? "png" : "jpg";
+        for (int size : sizes) {
+            blobStore.delete(hash + "/" + size + "." + format);
+        }
+    }
+
+    /**
+     * True for pictures stored in the document itself, i.e. anything that is not a URL.
+     */
+    @Override
+    public boolean isInline(String picture) {
+        return picture != null && !picture.isBlank()
+                && !picture.startsWith("http://") && !picture.startsWith("https://") && !picture.startsWith("/");
+    }
+
+    private BufferedImage decode(InputStream input) throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(input)) {
+            Iterator<ImageReader> readers = stream != null ? ImageIO.getImageReaders(stream) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new InvalidInputException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                // Checked from the header before decoding so a tiny file cannot claim a huge bitmap.
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxSourcePixels) {
+                    throw new InvalidInputException("Image dimensions are too large");
+                }
+                BufferedImage image = reader.read(0);
+                // Drain the rest so the digest covers the whole upload.
+                input.transferTo(OutputStream.nullOutputStream());
+                return image;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Center-crops to a square, then scales in halving steps for a smooth result from large sources.
+    private static BufferedImage scale(BufferedImage source, int size, boolean alpha) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        BufferedImage current = source.getSubimage((source.getWidth() - side) / 2, (source.getHeight() - side) / 2, side, side);
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        int currentSize = side;
+        do {
+            currentSize = Math.max(size, currentSize / 2);
+            BufferedImage next = new BufferedImage(currentSize, currentSize, type);
+            Graphics2D graphics = next.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(current, 0, 0, currentSize, currentSize, null);
+            graphics.dispose();
+            current = next;
+        } while (currentSize > size);
+        return current;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        if (!ImageIO.write(image, format, out)) {
+            throw new IOException("No encoder for " + format);
+        }
+        return out.toByteArray();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
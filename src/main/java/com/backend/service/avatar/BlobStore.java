@@ -0,0 +1,19 @@
+package com.backend.service.avatar;
+
+import java.io.IOException;
+
+/**
+ * Content-addressed storage for rendered avatars. Keys look like {@code <sha256>/<size>.<ext>}, so
+ * an existing key never changes content and writes of an existing key can be skipped.
+ */
+public interface BlobStore {
+
+    /**
+     * Stores {@code data} under {@code key} unless it is already there.
+     *
+     * @return the URL clients should use to fetch the blob
+     */
+    String put(String key, byte[] data, String contentType) throws IOException;
+
+    void delete(String key) throws IOException;
+}
@@ -0,0 +1,39 @@
+package com.backend.service.avatar;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+
+import java.io.IOException;
+import java.util.Map;
+
+public class CloudinaryBlobStore implements BlobStore {
+
+    private static final String FOLDER = "avatars/";
+
+    private final Cloudinary cloudinary;
+
+    public CloudinaryBlobStore(Cloudinary cloudinary) {
+        this.cloudinary = cloudinary;
+    }
+
+    @Override
+    public String put(String key, byte[] data, String contentType) throws IOException {
+        Map<?, ?> result = cloudinary.uploader().upload(data, ObjectUtils.asMap(
+                "public_id", publicId(key),
+                "resource_type", "image",
+                "overwrite", false,
+                "unique_filename", false));
+        return (String) result.get("secure_url");
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        cloudinary.uploader().destroy(publicId(key), ObjectUtils.asMap("resource_type", "image"));
+    }
+
+    // Cloudinary keeps the format separately from the public id.
+    private static String publicId(String key) {
+        int dot = key.lastIndexOf('.');
+        return FOLDER + (dot > 0 ? key.substring(0, dot) : key);
+    }
+}
@@ -0,0 +1,53 @@
+package com.backend.service.avatar;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Keeps blobs under a local directory and serves them through the avatar endpoint under
+ * {@code urlPrefix}.
+ */
+public class LocalBlobStore implements BlobStore {
+
+    private final Path root;
+    private final String urlPrefix;
+
+    public LocalBlobStore(Path root, String urlPrefix) throws IOException {
+        this.root = Files.createDirectories(root).toRealPath();
+        this.urlPrefix = urlPrefix.endsWith("/") ? urlPrefix : urlPrefix + "/";
+    }
+
+    @Override
+    public String put(String key, byte[] data, String contentType) throws IOException {
+        Path target = resolve(key);
+        if (!Files.exists(target)) {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), ".upload", ".tmp");
+            try {
+                Files.write(temp, data);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        return urlPrefix + key;
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the key points outside the store
+     */
+    public Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,7 @@
+package com.backend.service.avatar;
+
+/**
+ * @param url  URL of the largest rendition; smaller ones share its path with a different size
+ * @param hash SHA-256 of the uploaded bytes
+ */
+public record StoredAvatar(String url, String hash) {}
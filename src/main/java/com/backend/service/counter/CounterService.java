@@ -0,0 +1,10 @@
+package com.backend.service.counter;
+
+public interface CounterService {
+
+    long next(String name);
+
+    long reserve(String name, int count);
+
+    void advanceTo(String name, long value);
+}
@@ -0,0 +1,54 @@
+package com.backend.service.counter;
+
+import com.backend.model.counter.Counter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+/**
+ * Named monotonic counters, one document each in {@code counters}. Every value is handed out by a
+ * single atomic {@code findAndModify}, so concurrent callers on any instance never share one.
+ */
+@Service
+public class CounterServiceImpl implements CounterService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public long next(String name) {
+        Counter counter = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(name)),
+                new Update().inc("value", 1L),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                Counter.class);
+        return counter.getValue();
+    }
+
+    // Hands out {@code count} consecutive values in one round trip and returns the first of them.
+    @Override
+    public long reserve(String name, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        Counter counter = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(name)),
+                new Update().inc("value", (long) count),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                Counter.class);
+        return counter.getValue() - count + 1;
+    }
+
+    // Never moves a counter backwards, so it is safe to call with a stale value.
+    @Override
+    public void advanceTo(String name, long value) {
+        mongoTemplate.upsert(
+                Query.query(Criteria.where("_id").is(name)),
+                new Update().max("value", value),
+                Counter.class);
+    }
+}
@@ -0,0 +1,125 @@
+package com.backend.service.domain;
+
+import java.util.Collection;
+
+/**
+ * Immutable set of domains packed into one char array with an open-addressing hash table over it.
+ * Lookups hash a region of the caller's string in place, so checking every label suffix of an
+ * address ({@code a.b.example.com}, {@code b.example.com}, {@code example.com}, {@code com}) allocates nothing.
+ */
+final class DomainIndex {
+
+    static final DomainIndex EMPTY = new DomainIndex(new char[0], new int[1], new int[1], 0);
+
+    private final char[] chars;
+    private final int[] offsets;
+    private final int[] table;
+    private final int size;
+
+    private DomainIndex(char[] chars, int[] offsets, int[] table, int size) {
+        this.chars = chars;
+        this.offsets = offsets;
+        this.table = table;
+        this.size = size;
+    }
+
+    static DomainIndex of(Collection<String> domains) {
+        if (domains.isEmpty()) {
+            return EMPTY;
+        }
+        int totalLength = 0;
+        for (String domain : domains) {
+            totalLength += domain.length();
+        }
+        char[] chars = new char[totalLength];
+        int[] offsets = new int[domains.size() + 1];
+        int[] table = new int[tableSize(domains.size())];
+        int mask = table.length - 1;
+        int count = 0;
+        int position = 0;
+        for (String domain : domains) {
+            int slot = hash(domain, 0, domain.length()) & mask;
+            boolean duplicate = false;
+            while (table[slot] != 0) {
+                int existing = table[slot] - 1;
+                if (regionEquals(chars, offsets[existing], offsets[existing + 1] - offsets[existing], domain, 0, domain.length())) {
+                    duplicate = true;
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (duplicate) {
+                continue;
+            }
+            for (int i = 0; i < domain.length(); i++) {
+                chars[position + i] = Character.toLowerCase(domain.charAt(i));
+            }
+            offsets[count] = position;
+            position += domain.length();
+            offsets[count + 1] = position;
+            table[slot] = ++count;
+        }
+        return new DomainIndex(chars, offsets, table, count);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean containsSuffixOf(String address, int domainStart, int domainEnd) {
+        if (size == 0) {
+            return false;
+        }
+        int start = domainStart;
+        while (start < domainEnd) {
+            if (contains(address, start, domainEnd)) {
+                return true;
+            }
+            int dot = address.indexOf('.', start);
+            if (dot < 0 || dot >= domainEnd) {
+                return false;
+            }
+            start = dot + 1;
+        }
+        return false;
+    }
+
+    private boolean contains(String text, int start, int end) {
+        int mask = table.length - 1;
+        int slot = hash(text, start, end) & mask;
+        int entry;
+        while ((entry = table[slot]) != 0) {
+            int index = entry - 1;
+            if (regionEquals(chars, offsets[index], offsets[index + 1] - offsets[index], text, start, end - start)) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    private static int tableSize(int entries) {
+        int size = Integer.highestOneBit(Math.max(2, entries * 2 - 1)) << 1;
+        return Math.max(size, 2);
+    }
+
+    private static int hash(CharSequence text, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + Character.toLowerCase(text.charAt(i));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean regionEquals(char[] chars, int offset, int length, String text, int start, int textLength) {
+        if (length != textLength) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (chars[offset + i] != Character.toLowerCase(text.charAt(start + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,5 @@
+package com.backend.service.domain;
+
+public interface EmailDomainService {
+    boolean isDisposable(String email);
+}
@@ -0,0 +1,116 @@
+package com.backend.service.domain;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@Service
+@Slf4j
+public class EmailDomainServiceImpl implements EmailDomainService {
+
+    @Value("${email.domain.blocklist-path:}")
+    private String blocklistPath;
+
+    @Value("${email.domain.allowlist-path:}")
+    private String allowlistPath;
+
+    private volatile DomainIndex blocklist = DomainIndex.EMPTY;
+    private volatile DomainIndex allowlist = DomainIndex.EMPTY;
+    private long blocklistModified = -1;
+    private long allowlistModified = -1;
+
+    @PostConstruct
+    void loadLists() {
+        reloadIfChanged();
+    }
+
+    @Scheduled(fixedDelayString = "${email.domain.reload-interval-ms:30000}")
+    public synchronized void reloadIfChanged() {
+        long modified = lastModified(blocklistPath);
+        if (modified != blocklistModified) {
+            DomainIndex loaded = load(blocklistPath);
+            if (loaded != null) {
+                blocklist = loaded;
+                blocklistModified = modified;
+                log.info("Loaded {} blocked email domains", loaded.size());
+            }
+        }
+        modified = lastModified(allowlistPath);
+        if (modified != allowlistModified) {
+            DomainIndex loaded = load(allowlistPath);
+            if (loaded != null) {
+                allowlist = loaded;
+                allowlistModified = modified;
+                log.info("Loaded {} allowed email domains", loaded.size());
+            }
+        }
+    }
+
+    @Override
+    public boolean isDisposable(String email) {
+        if (email == null) {
+            return false;
+        }
+        int end = email.length();
+        while (end > 0 && (email.charAt(end - 1) == '.' || Character.isWhitespace(email.charAt(end - 1)))) {
+            end--;
+        }
+        int start = email.lastIndexOf('@', end - 1) + 1;
+        if (start <= 0 || start >= end) {
+            return false;
+        }
+        if (allowlist.containsSuffixOf(email, start, end)) {
+            return false;
+        }
+        return blocklist.containsSuffixOf(email, start, end);
+    }
+
+    private static long lastModified(String location) {
+        if (location == null || location.isBlank()) {
+            return 0;
+        }
+        try {
+            return Files.getLastModifiedTime(Path.of(location)).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static DomainIndex load(String location) {
+        if (location == null || location.isBlank()) {
+            return DomainIndex.EMPTY;
+        }
+        if (Files.notExists(Path.of(location))) {
+            log.warn("Email domain list {} does not exist", location);
+            return DomainIndex.EMPTY;
+        }
+        List<String> domains = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(location), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String domain = line.trim().toLowerCase(Locale.ROOT);
+                if (domain.startsWith("*.")) {
+                    domain = domain.substring(2);
+                }
+                if (!domain.isEmpty() && !domain.startsWith("#")) {
+                    domains.add(domain);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to read email domain list {}, keeping previous list: {}", location, e.getMessage());
+            return null;
+        }
+        return DomainIndex.of(domains);
+    }
+}
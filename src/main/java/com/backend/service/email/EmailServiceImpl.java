@@ -1,13 +1,19 @@
 package com.backend.service.email;
 
+import com.backend.config.RequestTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.mail.*;
 import jakarta.mail.internet.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.Properties;
 
 @Service
+@Slf4j
 public class EmailServiceImpl implements EmailService {
 
     @Value("${spring.mail.username}")
@@ -16,6 +22,27 @@ public class EmailServiceImpl implements EmailService {
     @Value("${spring.mail.password}")
     private String password;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private void send(Message message, String type) throws MessagingException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long start = RequestTimings.start();
+        String outcome = "success";
+        try {
+            Transport.send(message);
+        } catch (MessagingException | RuntimeException e) {
+            outcome = "failure";
+            throw e;
+        } finally {
+            RequestTimings.stop(RequestTimings.Phase.SMTP, start);
+            sample.stop(Timer.builder("email.smtp.send")
+                    .tag("type", type)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
     @Override
     public void sendMagicLink(String email, String link) {
         String subject = "Verify Your StreamRepo Account";
@@ -94,8 +121,8 @@ public class EmailServiceImpl implements EmailService {
 
             message.setContent(multipart);
 
-            Transport.send(message);
-            System.out.println("Magic link sent to " + email);
+            send(message, "magic_link");
+            log.debug("Magic link email delivered to {}", email);
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to send magic link: " + e.getMessage(), e);
@@ -179,8 +206,8 @@ public class EmailServiceImpl implements EmailService {
 
             message.setContent(multipart);
 
-            Transport.send(message);
-            System.out.println("Password reset link sent to " + email);
+            send(message, "password_reset");
+            log.debug("Password reset email delivered to {}", email);
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to send password reset link: " + e.getMessage(), e);
@@ -0,0 +1,236 @@
+package com.backend.service.email.broadcast;
+
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends one message per recipient over a small set of persistent SMTP connections, one per sender
+ * thread, at no more than {@code ratePerSecond} messages overall. Recipients are pulled lazily from
+ * the iterator, claimed through the {@link BroadcastListener}, and handed to the senders through a
+ * short queue, so memory stays flat however long the list is.
+ *
+ * <p>A connection that fails is closed and reopened; the message is retried on the new connection
+ * up to {@link #MAX_ATTEMPTS} times. Rejected addresses are not retried.
+ */
+@Slf4j
+public class BroadcastEngine {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long MAX_CHECKPOINT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final BroadcastRecipient POISON = new BroadcastRecipient(null, Long.MIN_VALUE, null, null);
+
+    private final SmtpSettings settings;
+    private final Session session;
+    private final int connections;
+    private final long intervalNanos;
+    private final int checkpointEvery;
+    private volatile boolean stopped;
+
+    public BroadcastEngine(SmtpSettings settings, int connections, double ratePerSecond, int checkpointEvery) {
+        if (connections < 1 || ratePerSecond <= 0 || checkpointEvery < 1) {
+            throw new IllegalArgumentException("Connections, rate and checkpoint interval must be positive");
+        }
+        this.settings = settings;
+        this.session = Session.getInstance(settings.toProperties());
+        this.connections = connections;
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        this.checkpointEvery = checkpointEvery;
+    }
+
+    /**
+     * Stops handing out recipients; messages already queued are still sent. Recipients not reached
+     * stay unclaimed for a later run.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    public BroadcastStats run(Iterator<BroadcastRecipient> recipients, BroadcastTemplate subject, BroadcastTemplate html,
+                              BroadcastTemplate text, BroadcastListener listener) throws InterruptedException {
+        BroadcastStats stats = new BroadcastStats();
+        BlockingQueue<BroadcastRecipient> queue = new ArrayBlockingQueue<>(connections * 2);
+        ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>();
+        CountDownLatch done = new CountDownLatch(connections);
+        for (int i = 0; i < connections; i++) {
+            Thread sender = new Thread(() -> {
+                try {
+                    sendLoop(queue, inFlight, subject, html, text, listener, stats);
+                } finally {
+                    done.countDown();
+                }
+            }, "broadcast-smtp-" + i);
+            sender.setDaemon(true);
+            sender.start();
+        }
+
+        long nextSendAt = System.nanoTime();
+        long dispatched = 0;
+        long lastCheckpointAt = System.nanoTime();
+        long lastSequence = Long.MIN_VALUE;
+        try {
+            while (!stopped && recipients.hasNext()) {
+                BroadcastRecipient recipient = recipients.next();
+                lastSequence = recipient.sequence();
+                if (!listener.claim(recipient)) {
+                    stats.skipped.incrementAndGet();
+                    continue;
+                }
+                long wait = nextSendAt - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                nextSendAt = Math.max(nextSendAt, System.nanoTime() - intervalNanos) + intervalNanos;
+                inFlight.add(recipient.sequence());
+                queue.put(recipient);
+                // Slow rates still checkpoint regularly so a crash loses little progress.
+                if (++dispatched % checkpointEvery == 0 || System.nanoTime() - lastCheckpointAt > MAX_CHECKPOINT_INTERVAL_NANOS) {
+                    listener.checkpoint(watermark(inFlight, recipient.sequence()), stats);
+                    lastCheckpointAt = System.nanoTime();
+                }
+            }
+        } finally {
+            for (int i = 0; i < connections; i++) {
+                queue.put(POISON);
+            }
+            done.await();
+            stats.finish();
+        }
+        if (lastSequence != Long.MIN_VALUE) {
+            listener.checkpoint(stopped ? watermark(inFlight, lastSequence) : lastSequence, stats);
+        }
+        return stats;
+    }
+
+    // Everything below the oldest message still being sent is done.
+    private static long watermark(ConcurrentSkipListSet<Long> inFlight, long dispatchedUpTo) {
+        Long oldest = inFlight.isEmpty() ? null : inFlight.first();
+        return oldest != null ? oldest - 1 : dispatchedUpTo;
+    }
+
+    private void sendLoop(BlockingQueue<BroadcastRecipient> queue, ConcurrentSkipListSet<Long> inFlight, BroadcastTemplate subject,
+                          BroadcastTemplate html, BroadcastTemplate text, BroadcastListener listener, BroadcastStats stats) {
+        Transport transport = null;
+        try {
+            while (true) {
+                BroadcastRecipient recipient;
+                try {
+                    recipient = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (recipient == POISON) {
+                    return;
+                }
+                String error = null;
+                for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+                    try {
+                        // Transport.isConnected() costs a NOOP round trip; a dead connection shows up as a send failure instead.
+                        if (transport == null) {
+                            transport = connect();
+                            stats.connections.incrementAndGet();
+                        }
+                        MimeMessage message = build(recipient, subject, html, text);
+                        transport.sendMessage(message, message.getAllRecipients());
+                        error = null;
+                        break;
+                    } catch (SendFailedException e) {
+                        error = e.getMessage();
+                        break;
+                    } catch (MessagingException | UnsupportedEncodingException e) {
+                        error = e.getMessage();
+                        close(transport);
+                        transport = null;
+                        if (!backOff(attempt)) {
+                            break;
+                        }
+                    }
+                }
+                if (error == null) {
+                    stats.sent.incrementAndGet();
+                } else {
+                    stats.failed.incrementAndGet();
+                    log.warn("Broadcast to {} failed: {}", recipient.email(), error);
+                }
+                try {
+                    listener.completed(recipient, error == null, error);
+                } finally {
+                    inFlight.remove(recipient.sequence());
+                }
+            }
+        } finally {
+            close(transport);
+        }
+    }
+
+    private static boolean backOff(int attempt) {
+        if (attempt == MAX_ATTEMPTS) {
+            return false;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(250L * attempt);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Transport connect() throws MessagingException {
+        Transport transport = session.getTransport("smtp");
+        if (settings.auth()) {
+            transport.connect(settings.host(), settings.port(), settings.username(), settings.password());
+        } else {
+            transport.connect();
+        }
+        return transport;
+    }
+
+    private MimeMessage build(BroadcastRecipient recipient, BroadcastTemplate subject, BroadcastTemplate html, BroadcastTemplate text)
+            throws MessagingException, UnsupportedEncodingException {
+        MimeMessage message = new MimeMessage(session);
+        message.setFrom(new InternetAddress(settings.from(), settings.fromName()));
+        message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(recipient.email()));
+        message.setSubject(subject.render(recipient), "UTF-8");
+
+        MimeBodyPart textPart = new MimeBodyPart();
+        textPart.setText(text.render(recipient), "UTF-8");
+        MimeBodyPart htmlPart = new MimeBodyPart();
+        htmlPart.setContent(html.render(recipient), "text/html; charset=UTF-8");
+        MimeMultipart multipart = new MimeMultipart("alternative");
+        multipart.addBodyPart(textPart);
+        multipart.addBodyPart(htmlPart);
+        message.setContent(multipart);
+        return message;
+    }
+
+    private static void close(Transport transport) {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (MessagingException ignored) {
+                // the connection is being discarded anyway
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.backend.service.email.broadcast;
+
+/**
+ * Persistence hooks for a broadcast. {@link #claim} is called once per recipient before sending and
+ * must be atomic: returning false skips the recipient, which is how a resumed run avoids sending
+ * twice. The other callbacks may be invoked from sender threads.
+ */
+public interface BroadcastListener {
+
+    boolean claim(BroadcastRecipient recipient);
+
+    void completed(BroadcastRecipient recipient, boolean sent, String error);
+
+    /**
+     * Every recipient with a sequence up to {@code sequence} has been processed.
+     */
+    void checkpoint(long sequence, BroadcastStats stats);
+}
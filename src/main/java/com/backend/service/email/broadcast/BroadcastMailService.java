@@ -0,0 +1,11 @@
+package com.backend.service.email.broadcast;
+
+import com.backend.dto.request.BroadcastRequest;
+import com.backend.model.email.BroadcastRun;
+
+import java.util.Optional;
+
+public interface BroadcastMailService {
+    BroadcastRun start(BroadcastRequest request, String requestedBy);
+    Optional<BroadcastRun> status(String runId);
+}
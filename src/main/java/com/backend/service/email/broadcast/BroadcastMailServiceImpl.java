@@ -0,0 +1,277 @@
+package com.backend.service.email.broadcast;
+
+import com.backend.config.AsyncConfig;
+import com.backend.dto.request.BroadcastRequest;
+import com.backend.model.email.BroadcastRun;
+import com.backend.model.waitingList.WaitingList;
+import com.backend.shared.exception.InvalidInputException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Emails the whole waiting list, in sequence order, through a {@link BroadcastEngine}. Each entry is
+ * claimed by stamping the run id on it before its message is sent, so a resumed run never sends
+ * twice; a crash between claim and send loses that message rather than duplicating it. Progress
+ * and counters are checkpointed on the run document, and a run left RUNNING by a crashed instance
+ * is taken over by whichever instance next sees its heartbeat older than {@code mail.broadcast.lease}.
+ *
+ * <p>The heartbeat runs on its own schedule so a slow SMTP server cannot let the lease lapse. A
+ * takeover bumps the run's epoch; heartbeats, checkpoints and the final state are only written while
+ * the owner and epoch still match, and the previous holder stops as soon as one of them misses.
+ */
+@Service
+@Slf4j
+public class BroadcastMailServiceImpl implements BroadcastMailService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier(AsyncConfig.BROADCAST_EXECUTOR)
+    private TaskExecutor executor;
+
+    @Value("${mail.broadcast.host:smtp.gmail.com}")
+    private String host;
+
+    @Value("${mail.broadcast.port:587}")
+    private int port;
+
+    @Value("${mail.broadcast.username:${spring.mail.username:}}")
+    private String username;
+
+    @Value("${mail.broadcast.password:${spring.mail.password:}}")
+    private String password;
+
+    @Value("${mail.broadcast.auth:true}")
+    private boolean auth;
+
+    @Value("${mail.broadcast.starttls:true}")
+    private boolean startTls;
+
+    @Value("${mail.broadcast.from:${spring.mail.username:}}")
+    private String from;
+
+    @Value("${mail.broadcast.connections:3}")
+    private int connections;
+
+    @Value("${mail.broadcast.rate-per-second:10}")
+    private double ratePerSecond;
+
+    @Value("${mail.broadcast.checkpoint-every:50}")
+    private int checkpointEvery;
+
+    @Value("${mail.broadcast.lease:PT2M}")
+    private Duration lease;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile ActiveRun active;
+
+    @Override
+    public BroadcastRun start(BroadcastRequest request, String requestedBy) {
+        // Compile up front so a bad placeholder is reported to the caller, not in the background.
+        BroadcastTemplate.text(request.getSubject());
+        BroadcastTemplate.html(request.getHtml());
+        BroadcastTemplate.text(request.getText());
+        if (mongoTemplate.exists(Query.query(Criteria.where("state").is(BroadcastRun.State.RUNNING)), BroadcastRun.class)) {
+            throw new InvalidInputException("A broadcast is already running");
+        }
+
+        BroadcastRun run = new BroadcastRun();
+        run.setSubject(request.getSubject());
+        run.setHtmlBody(request.getHtml());
+        run.setTextBody(request.getText());
+        run.setRequestedBy(requestedBy);
+        run.setState(BroadcastRun.State.RUNNING);
+        run.setOwner(nodeId);
+        run.setStartedAt(Instant.now());
+        run.setHeartbeatAt(Instant.now());
+        BroadcastRun saved = mongoTemplate.insert(run);
+        try {
+            executor.execute(() -> execute(saved));
+        } catch (TaskRejectedException e) {
+            finish(saved, BroadcastRun.State.FAILED, "Broadcast executor is busy");
+            throw new InvalidInputException("Broadcast executor is busy, please retry later");
+        }
+        log.info("Broadcast {} started by {}", saved.getId(), requestedBy);
+        return saved;
+    }
+
+    @Override
+    public Optional<BroadcastRun> status(String runId) {
+        return Optional.ofNullable(mongoTemplate.findById(runId, BroadcastRun.class));
+    }
+
+    @Scheduled(fixedDelayString = "${mail.broadcast.resume-check-ms:60000}")
+    public void resumeStale() {
+        if (active != null) {
+            return;
+        }
+        BroadcastRun stale = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("state").is(BroadcastRun.State.RUNNING).and("heartbeatAt").lt(Instant.now().minus(lease))),
+                new Update().set("heartbeatAt", Instant.now()).set("owner", nodeId).inc("epoch", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                BroadcastRun.class);
+        if (stale != null) {
+            log.info("Resuming broadcast {} after sequence {} at epoch {}", stale.getId(), stale.getCheckpointSequence(), stale.getEpoch());
+            executor.execute(() -> execute(stale));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${mail.broadcast.heartbeat-ms:20000}")
+    public void heartbeat() {
+        ActiveRun current = active;
+        if (current == null) {
+            return;
+        }
+        try {
+            if (mongoTemplate.updateFirst(leased(current.run()), new Update().set("heartbeatAt", Instant.now()), BroadcastRun.class)
+                    .getMatchedCount() == 0) {
+                leaseLost(current.run(), current.engine());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Heartbeat for broadcast {} failed: {}", current.run().getId(), e.getMessage());
+        }
+    }
+
+    // Leaves the run RUNNING so the next instance to start picks it up where this one stopped.
+    @PreDestroy
+    public void stop() {
+        ActiveRun current = active;
+        if (current != null) {
+            current.engine().stop();
+        }
+    }
+
+    private void execute(BroadcastRun run) {
+        BroadcastEngine engine = new BroadcastEngine(
+                new SmtpSettings(host, port, username, password, auth, startTls, from, "StreamRepo"),
+                connections, ratePerSecond, checkpointEvery);
+        active = new ActiveRun(run, engine);
+        Query recipients = new Query(Criteria.where("sequence").gt(run.getCheckpointSequence())
+                .and("lastInvitationRunId").ne(run.getId()))
+                .with(Sort.by(Sort.Direction.ASC, "sequence"))
+                .cursorBatchSize(500);
+        try (Stream<WaitingList> entries = mongoTemplate.stream(recipients, WaitingList.class)) {
+            Iterator<BroadcastRecipient> iterator = entries
+                    .map(entry -> new BroadcastRecipient(entry.getId(), entry.getSequence(), entry.getEmail(), entry.getName()))
+                    .iterator();
+            BroadcastStats stats = engine.run(iterator,
+                    BroadcastTemplate.text(run.getSubject()),
+                    BroadcastTemplate.html(run.getHtmlBody()),
+                    BroadcastTemplate.text(run.getTextBody()),
+                    new RunListener(run, engine));
+            log.info("Broadcast {} {}: {}", run.getId(), engine.isStopped() ? "paused" : "finished", stats);
+            if (!engine.isStopped()) {
+                finish(run, BroadcastRun.State.COMPLETED, null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Broadcast {} failed: {}", run.getId(), e.getMessage(), e);
+            finish(run, BroadcastRun.State.FAILED, e.getMessage());
+        } finally {
+            active = null;
+        }
+    }
+
+    private void finish(BroadcastRun run, BroadcastRun.State state, String error) {
+        Update update = new Update().set("state", state).set("finishedAt", Instant.now());
+        if (error != null) {
+            update.set("lastError", error);
+        }
+        if (mongoTemplate.updateFirst(leased(run), update, BroadcastRun.class).getMatchedCount() == 0) {
+            log.warn("Broadcast {} was taken over before it could be marked {}", run.getId(), state);
+        }
+    }
+
+    // Matches the run only while this instance still holds the lease it started or resumed it with.
+    private static Query leased(BroadcastRun run) {
+        return Query.query(Criteria.where("_id").is(run.getId())
+                .and("state").is(BroadcastRun.State.RUNNING)
+                .and("owner").is(run.getOwner())
+                .and("epoch").is(run.getEpoch()));
+    }
+
+    private static void leaseLost(BroadcastRun run, BroadcastEngine engine) {
+        if (!engine.isStopped()) {
+            log.warn("Broadcast {} lost its lease at epoch {}, stopping", run.getId(), run.getEpoch());
+            engine.stop();
+        }
+    }
+
+    private record ActiveRun(BroadcastRun run, BroadcastEngine engine) {
+    }
+
+    private final class RunListener implements BroadcastListener {
+        private final BroadcastRun run;
+        private final BroadcastEngine engine;
+        private final Counter sentCounter = Counter.builder("mail.broadcast.messages").tag("outcome", "sent").register(meterRegistry);
+        private final Counter failedCounter = Counter.builder("mail.broadcast.messages").tag("outcome", "failed").register(meterRegistry);
+        private volatile String lastError;
+
+        RunListener(BroadcastRun run, BroadcastEngine engine) {
+            this.run = run;
+            this.engine = engine;
+        }
+
+        @Override
+        public boolean claim(BroadcastRecipient recipient) {
+            return mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(recipient.id()).and("lastInvitationRunId").ne(run.getId())),
+                    new Update().set("lastInvitationRunId", run.getId()).set("invitedAt", Instant.now()),
+                    WaitingList.class).getModifiedCount() == 1;
+        }
+
+        @Override
+        public void completed(BroadcastRecipient recipient, boolean sent, String error) {
+            if (sent) {
+                sentCounter.increment();
+            } else {
+                failedCounter.increment();
+                lastError = recipient.email() + ": " + error;
+            }
+        }
+
+        // Counters are stored as this run's totals on top of what earlier attempts already recorded.
+        @Override
+        public void checkpoint(long sequence, BroadcastStats stats) {
+            Update update = new Update()
+                    .max("checkpointSequence", sequence)
+                    .set("sent", run.getSent() + stats.getSent())
+                    .set("failed", run.getFailed() + stats.getFailed())
+                    .set("skipped", run.getSkipped() + stats.getSkipped())
+                    .set("messagesPerSecond", stats.getMessagesPerSecond());
+            if (lastError != null) {
+                update.set("lastError", lastError);
+            }
+            if (mongoTemplate.updateFirst(leased(run), update, BroadcastRun.class).getMatchedCount() == 0) {
+                leaseLost(run, engine);
+            }
+        }
+    }
+}
@@ -0,0 +1,3 @@
+package com.backend.service.email.broadcast;
+
+public record BroadcastRecipient(String id, long sequence, String email, String name) {}
@@ -0,0 +1,48 @@
+package com.backend.service.email.broadcast;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class BroadcastStats {
+
+    final AtomicLong sent = new AtomicLong();
+    final AtomicLong failed = new AtomicLong();
+    final AtomicLong skipped = new AtomicLong();
+    final AtomicLong connections = new AtomicLong();
+    private final long startNanos = System.nanoTime();
+    private volatile long endNanos;
+
+    void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    public long getSent() {
+        return sent.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    public long getConnections() {
+        return connections.get();
+    }
+
+    public double getElapsedSeconds() {
+        return ((endNanos != 0 ? endNanos : System.nanoTime()) - startNanos) / 1e9;
+    }
+
+    public double getMessagesPerSecond() {
+        double elapsed = getElapsedSeconds();
+        return elapsed > 0 ? getSent() / elapsed : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("sent=%d failed=%d skipped=%d connections=%d %.1f msg/s in %.1fs",
+                getSent(), getFailed(), getSkipped(), getConnections(), getMessagesPerSecond(), getElapsedSeconds());
+    }
+}
@@ -0,0 +1,89 @@
+package com.backend.service.email.broadcast;
+
+import com.backend.shared.exception.InvalidInputException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A message body parsed once into literal segments and {@code {{name}}} and {@code {{email}}}
+ * placeholders, so rendering per recipient is a single pass of appends.
+ */
+public final class BroadcastTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{\\s*([a-zA-Z]+)\\s*}}");
+
+    private enum Field { NAME, EMAIL }
+
+    private final String[] literals;
+    private final Field[] fields;
+    private final boolean html;
+    private final int literalLength;
+
+    private BroadcastTemplate(String[] literals, Field[] fields, boolean html) {
+        this.literals = literals;
+        this.fields = fields;
+        this.html = html;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static BroadcastTemplate html(String source) {
+        return compile(source, true);
+    }
+
+    public static BroadcastTemplate text(String source) {
+        return compile(source, false);
+    }
+
+    private static BroadcastTemplate compile(String source, boolean html) {
+        List<String> literals = new ArrayList<>();
+        List<Field> fields = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(source);
+        int position = 0;
+        while (matcher.find()) {
+            literals.add(source.substring(position, matcher.start()));
+            try {
+                fields.add(Field.valueOf(matcher.group(1).toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidInputException("Unknown placeholder {{" + matcher.group(1) + "}}");
+            }
+            position = matcher.end();
+        }
+        literals.add(source.substring(position));
+        return new BroadcastTemplate(literals.toArray(new String[0]), fields.toArray(new Field[0]), html);
+    }
+
+    public String render(BroadcastRecipient recipient) {
+        StringBuilder out = new StringBuilder(literalLength + fields.length * 32);
+        for (int i = 0; i < fields.length; i++) {
+            out.append(literals[i]);
+            String value = fields[i] == Field.NAME ? recipient.name() : recipient.email();
+            appendValue(out, value != null ? value : "");
+        }
+        return out.append(literals[fields.length]).toString();
+    }
+
+    private void appendValue(StringBuilder out, String value) {
+        if (!html) {
+            out.append(value);
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.backend.service.email.broadcast;
+
+import java.util.Properties;
+
+public record SmtpSettings(String host, int port, String username, String password, boolean auth, boolean startTls, String from, String fromName) {
+
+    Properties toProperties() {
+        Properties props = new Properties();
+        props.put("mail.smtp.host", host);
+        props.put("mail.smtp.port", String.valueOf(port));
+        props.put("mail.smtp.auth", String.valueOf(auth));
+        props.put("mail.smtp.starttls.enable", String.valueOf(startTls));
+        props.put("mail.smtp.connectiontimeout", "10000");
+        props.put("mail.smtp.timeout", "30000");
+        return props;
+    }
+}
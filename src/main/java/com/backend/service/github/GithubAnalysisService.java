@@ -0,0 +1,9 @@
+package com.backend.service.github;
+
+import com.backend.model.github.Github;
+import com.backend.model.user.User;
+
+public interface GithubAnalysisService {
+    Github submit(User user, String githubLink);
+    void analyze(String githubId);
+}
@@ -0,0 +1,384 @@
+package com.backend.service.github;
+
+import com.backend.config.GithubLinkValidator;
+import com.backend.config.GithubRepositoryMetadata;
+import com.backend.controller.github.GithubController;
+import com.backend.model.github.GitStatus;
+import com.backend.model.github.Github;
+import com.backend.model.user.User;
+import com.backend.repository.github.GithubRepository;
+import com.backend.service.github.metrics.CommitMetricsEngine;
+import com.backend.service.github.result.AnalysisResultStore;
+import com.backend.service.github.result.ResultOutput;
+import com.backend.service.github.scheduler.AnalysisJobScheduler;
+import com.backend.service.github.scheduler.JobLane;
+import com.backend.service.github.storage.ForkNetworkStore;
+import com.backend.shared.exception.GithubNotFoundException;
+import com.backend.shared.exception.GithubProcessingException;
+import com.backend.shared.exception.InvalidInputException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.util.io.DisabledOutputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps submitted repositories as bare repositories in the workspace, with objects shared across
+ * forks of the same project through {@link ForkNetworkStore}. A resubmission
+ * fetches only new objects and, when the previously analyzed commit is still reachable, updates the
+ * language histogram from the tree diff between that commit and the new HEAD instead of walking the
+ * whole tree again. Nothing is recomputed when HEAD has not moved; when it has, commit-history
+ * metrics are recomputed in parallel by {@link CommitMetricsEngine}.
+ *
+ * <p>Admission uses the metadata GitHub returns while validating the link: repositories above
+ * {@code analysis.admission.max-repo-kb} are marked UNSUPPORTED without cloning, and the rest are
+ * queued in a lane chosen by size.
+ *
+ * <p>Queued jobs live in this instance's memory, so a record left PENDING by a restart has no job
+ * behind it; submitting it again queues a new one.
+ */
+@Service
+@Slf4j
+public class GithubAnalysisServiceImpl implements GithubAnalysisService {
+
+    private static final Pattern REPO_LINK = Pattern.compile(GithubLinkValidator.REPO_PATTERN);
+    private static final RefSpec ALL_BRANCHES = new RefSpec("+refs/heads/*:refs/heads/*");
+
+    @Autowired
+    private GithubRepository githubRepository;
+
+    @Autowired
+    private GithubLinkValidator githubLinkValidator;
+
+    @Autowired
+    private AnalysisResultStore resultStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AnalysisJobScheduler scheduler;
+
+    @Autowired
+    private CommitMetricsEngine metricsEngine;
+
+    @Autowired
+    private ForkNetworkStore forkNetworkStore;
+
+    @Value("${analysis.workspace:data/repos}")
+    private Path workspace;
+
+    @Value("${analysis.admission.small-repo-kb:5000}")
+    private long smallRepoKb;
+
+    @Value("${analysis.admission.large-repo-kb:100000}")
+    private long largeRepoKb;
+
+    @Value("${analysis.admission.max-repo-kb:1000000}")
+    private long maxRepoKb;
+
+    private final Set<String> liveJobs = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public Github submit(User user, String githubLink) {
+        String link = normalize(githubLink);
+        if (!REPO_LINK.matcher(link).matches()) {
+            throw new InvalidInputException("Only repository links can be analyzed");
+        }
+        Optional<Github> existing = githubRepository.findByGithubLinkAndUserId(link, user.getId());
+        if (existing.isPresent() && existing.get().getRunGitStatus() == GitStatus.PENDING && liveJobs.contains(existing.get().getId())) {
+            return existing.get();
+        }
+        GithubRepositoryMetadata metadata = githubLinkValidator.fetchRepositoryMetadata(link)
+                .orElseThrow(() -> new GithubNotFoundException("Repository not found: " + link));
+        Github github = existing.orElseGet(() -> {
+            Github created = new Github();
+            created.setUser(owner(user));
+            created.setGithubLink(link);
+            created.setCloneGitStatus(GitStatus.PENDING);
+            created.setCreatedAt(Instant.now());
+            return created;
+        });
+        github.setSizeKb(metadata.sizeKb());
+        github.setDefaultBranch(metadata.defaultBranch());
+        github.setNetworkRoot(metadata.networkRoot());
+        if (github.getLanguageBytes() == null && metadata.language() != null) {
+            github.setPrimaryLanguage(metadata.language());
+        }
+        github.setUpdatedAt(Instant.now());
+
+        boolean admitted = metadata.sizeKb() <= maxRepoKb;
+        if (admitted) {
+            github.setRunGitStatus(GitStatus.PENDING);
+        } else {
+            log.info("Rejecting {} for analysis: {} KB exceeds {} KB", link, metadata.sizeKb(), maxRepoKb);
+            github.setCloneGitStatus(GitStatus.UNSUPPORTED);
+            github.setRunGitStatus(GitStatus.UNSUPPORTED);
+        }
+        Github saved;
+        try {
+            saved = githubRepository.save(github);
+        } catch (DuplicateKeyException e) {
+            // A concurrent submission of the same link created the record first; its job covers this one.
+            return githubRepository.findByGithubLinkAndUserId(link, user.getId()).orElseThrow(() -> e);
+        }
+        if (!admitted || !liveJobs.add(saved.getId())) {
+            return saved;
+        }
+        if (!scheduler.submit(user.getId(), laneFor(saved), 1 + saved.getSizeKb() / largeRepoKb,
+                () -> analyze(saved.getId()), () -> rejected(saved.getId()))) {
+            liveJobs.remove(saved.getId());
+            finish(saved, GitStatus.FAILED);
+            throw new GithubProcessingException("Too many analyses pending, please retry later");
+        }
+        return saved;
+    }
+
+    // Re-analysis fetches incrementally, but a moved HEAD recomputes the full-history metrics, so
+    // resubmissions are routed by size like first submissions.
+    private JobLane laneFor(Github github) {
+        if (github.getSizeKb() <= smallRepoKb) {
+            return JobLane.SMALL;
+        }
+        return github.getSizeKb() > largeRepoKb ? JobLane.LARGE : JobLane.STANDARD;
+    }
+
+    @Override
+    public void analyze(String githubId) {
+        try {
+            analyzeRecord(githubRepository.findById(githubId)
+                    .orElseThrow(() -> new GithubNotFoundException("Github record not found: " + githubId)));
+        } finally {
+            liveJobs.remove(githubId);
+        }
+    }
+
+    // The executor refused the job after it left the queue, so analyze() will not run to release it.
+    private void rejected(String githubId) {
+        try {
+            githubRepository.findById(githubId).ifPresent(github -> finish(github, GitStatus.FAILED));
+        } finally {
+            liveJobs.remove(githubId);
+        }
+    }
+
+    private void analyzeRecord(Github github) {
+        String githubId = github.getId();
+        Path directory = workspace.resolve(githubId);
+        try (Git git = openOrClone(github, directory)) {
+            Repository repository = git.getRepository();
+            ObjectId head = repository.resolve(Constants.HEAD);
+            if (head == null) {
+                finish(github, GitStatus.UNSUPPORTED);
+                return;
+            }
+            if (head.name().equals(github.getLastCommitId())) {
+                log.info("Repository {} unchanged at {}, skipping analysis", github.getGithubLink(), head.name());
+                finish(github, GitStatus.SUCCESS);
+                return;
+            }
+
+            Histogram histogram = previousHistogram(github);
+            ObjectId previous = histogram != null ? resolveCommit(repository, github.getLastCommitId()) : null;
+            if (previous != null) {
+                applyDiff(repository, previous, head, histogram);
+            } else {
+                histogram = scan(repository, head);
+            }
+
+            github.setLanguageBytes(histogram.languageBytes);
+            github.setFileCount(histogram.fileCount);
+            github.setPrimaryLanguage(histogram.primaryLanguage());
+            github.setLastCommitId(head.name());
+            github.setMetrics(metricsEngine.compute(repository, head));
+            writeReport(github);
+            github.setResultUrl(GithubController.resultUrl(githubId));
+            finish(github, GitStatus.SUCCESS);
+            log.info("Analyzed {} at {} ({})", github.getGithubLink(), head.name(), previous != null ? "incremental" : "full");
+        } catch (GitAPIException | IOException | RuntimeException e) {
+            log.warn("Analysis of {} failed: {}", github.getGithubLink(), e.getMessage());
+            if (github.getCloneGitStatus() != GitStatus.SUCCESS) {
+                github.setCloneGitStatus(GitStatus.FAILED);
+            }
+            finish(github, GitStatus.FAILED);
+        }
+    }
+
+    private Git openOrClone(Github github, Path directory) throws GitAPIException, IOException {
+        if (ForkNetworkStore.supports(github.getNetworkRoot())) {
+            Git git = forkNetworkStore.sync(github, directory);
+            github.setCloneGitStatus(GitStatus.SUCCESS);
+            return git;
+        }
+        // Records submitted before fork networks were tracked keep their standalone clone.
+        if (Files.isDirectory(directory.resolve("objects"))) {
+            Git git = Git.open(directory.toFile());
+            git.fetch().setRemote("origin").setRefSpecs(ALL_BRANCHES).setRemoveDeletedRefs(true).call();
+            return git;
+        }
+        Files.createDirectories(directory.getParent());
+        Git git = Git.cloneRepository()
+                .setURI(github.getGithubLink() + ".git")
+                .setDirectory(new File(directory.toString()))
+                .setBare(true)
+                .call();
+        github.setCloneGitStatus(GitStatus.SUCCESS);
+        return git;
+    }
+
+    static Histogram scan(Repository repository, ObjectId head) throws IOException {
+        Histogram histogram = new Histogram(new HashMap<>(), 0);
+        try (RevWalk revWalk = new RevWalk(repository); TreeWalk treeWalk = new TreeWalk(repository)) {
+            treeWalk.addTree(revWalk.parseCommit(head).getTree());
+            treeWalk.setRecursive(true);
+            ObjectReader reader = treeWalk.getObjectReader();
+            while (treeWalk.next()) {
+                if (isFile(treeWalk.getFileMode(0))) {
+                    histogram.add(treeWalk.getPathString(), reader.getObjectSize(treeWalk.getObjectId(0), Constants.OBJ_BLOB), 1);
+                }
+            }
+        }
+        return histogram;
+    }
+
+    static void applyDiff(Repository repository, ObjectId from, ObjectId to, Histogram histogram) throws IOException {
+        try (RevWalk revWalk = new RevWalk(repository);
+             DiffFormatter diff = new DiffFormatter(DisabledOutputStream.INSTANCE)) {
+            diff.setRepository(repository);
+            diff.setDetectRenames(false);
+            RevCommit oldCommit = revWalk.parseCommit(from);
+            RevCommit newCommit = revWalk.parseCommit(to);
+            ObjectReader reader = revWalk.getObjectReader();
+            for (DiffEntry entry : diff.scan(oldCommit.getTree(), newCommit.getTree())) {
+                if (entry.getChangeType() != DiffEntry.ChangeType.ADD && isFile(entry.getOldMode())) {
+                    histogram.add(entry.getOldPath(), -reader.getObjectSize(entry.getOldId().toObjectId(), Constants.OBJ_BLOB), -1);
+                }
+                if (entry.getChangeType() != DiffEntry.ChangeType.DELETE && isFile(entry.getNewMode())) {
+                    histogram.add(entry.getNewPath(), reader.getObjectSize(entry.getNewId().toObjectId(), Constants.OBJ_BLOB), 1);
+                }
+            }
+        }
+    }
+
+    private void writeReport(Github github) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("githubLink", github.getGithubLink());
+        report.put("commit", github.getLastCommitId());
+        report.put("fileCount", github.getFileCount());
+        report.put("primaryLanguage", github.getPrimaryLanguage());
+        report.put("languageBytes", github.getLanguageBytes());
+        report.put("metrics", github.getMetrics());
+        try (ResultOutput output = resultStore.create(github.getId())) {
+            objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(output.stream(), report);
+            output.commit();
+        }
+    }
+
+    private void finish(Github github, GitStatus runStatus) {
+        github.setRunGitStatus(runStatus);
+        github.setUpdatedAt(Instant.now());
+        githubRepository.save(github);
+    }
+
+    private static Histogram previousHistogram(Github github) {
+        if (github.getLastCommitId() == null || github.getLanguageBytes() == null || github.getFileCount() == null) {
+            return null;
+        }
+        return new Histogram(new HashMap<>(github.getLanguageBytes()), github.getFileCount());
+    }
+
+    // A force-push can leave the last analyzed commit unreachable; the caller then rescans.
+    private static ObjectId resolveCommit(Repository repository, String commitId) throws IOException {
+        try {
+            ObjectId id = repository.resolve(commitId + "^{commit}");
+            if (id != null) {
+                try (RevWalk revWalk = new RevWalk(repository)) {
+                    revWalk.parseCommit(id);
+                }
+            }
+            return id;
+        } catch (MissingObjectException e) {
+            return null;
+        }
+    }
+
+    private static boolean isFile(FileMode mode) {
+        return mode == FileMode.REGULAR_FILE || mode == FileMode.EXECUTABLE_FILE;
+    }
+
+    private static User owner(User user) {
+        User owner = new User();
+        owner.setId(user.getId());
+        owner.setUsername(user.getUsername());
+        owner.setEmail(user.getEmail());
+        return owner;
+    }
+
+    private static String normalize(String link) {
+        if (link == null) {
+            throw new InvalidInputException("GitHub link is required");
+        }
+        String normalized = link.trim().replaceAll("/+$", "");
+        return normalized.endsWith(".git") ? normalized.substring(0, normalized.length() - 4) : normalized;
+    }
+
+    static final class Histogram {
+        final Map<String, Long> languageBytes;
+        long fileCount;
+
+        Histogram(Map<String, Long> languageBytes, long fileCount) {
+            this.languageBytes = languageBytes;
+            this.fileCount = fileCount;
+        }
+
+        private void add(String path, long bytes, int files) {
+            fileCount += files;
+            String language = LanguageDetector.detect(path);
+            if (language != null) {
+                long total = languageBytes.getOrDefault(language, 0L) + bytes;
+                if (total > 0) {
+                    languageBytes.put(language, total);
+                } else {
+                    languageBytes.remove(language);
+                }
+            }
+        }
+
+        private String primaryLanguage() {
+            return languageBytes.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+        }
+    }
+}
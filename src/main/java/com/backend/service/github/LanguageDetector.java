@@ -0,0 +1,54 @@
+package com.backend.service.github;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps file names to languages by extension, the way the language bar on GitHub roughly does.
+ * Files that are not source code return null and are left out of the histogram.
+ */
+public final class LanguageDetector {
+
+    private static final Map<String, String> BY_EXTENSION = new HashMap<>();
+
+    static {
+        register("Java", "java");
+        register("Kotlin", "kt", "kts");
+        register("Scala", "scala");
+        register("Groovy", "groovy", "gradle");
+        register("JavaScript", "js", "mjs", "cjs", "jsx");
+        register("TypeScript", "ts", "tsx");
+        register("Python", "py");
+        register("Go", "go");
+        register("Rust", "rs");
+        register("C", "c", "h");
+        register("C++", "cc", "cpp", "cxx", "hpp", "hh");
+        register("C#", "cs");
+        register("Ruby", "rb");
+        register("PHP", "php");
+        register("Swift", "swift");
+        register("Dart", "dart");
+        register("Shell", "sh", "bash");
+        register("HTML", "html", "htm");
+        register("CSS", "css", "scss", "sass", "less");
+        register("Vue", "vue");
+        register("SQL", "sql");
+    }
+
+    private LanguageDetector() {}
+
+    private static void register(String language, String... extensions) {
+        for (String extension : extensions) {
+            BY_EXTENSION.put(extension, language);
+        }
+    }
+
+    public static String detect(String path) {
+        int slash = path.lastIndexOf('/');
+        int dot = path.lastIndexOf('.');
+        if (dot <= slash + 1) {
+            return null;
+        }
+        return BY_EXTENSION.get(path.substring(dot + 1).toLowerCase());
+    }
+}
@@ -0,0 +1,231 @@
+package com.backend.service.github.metrics;
+
+import com.backend.model.github.MetricsSummary;
+import jakarta.annotation.PreDestroy;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.diff.Edit;
+import org.eclipse.jgit.diff.RawTextComparator;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.util.io.DisabledOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes commit counts, author activity and per-file churn for the history reachable from a
+ * commit. One walk lists the commits; the list is then split into ranges diffed in parallel on a
+ * dedicated fork/join pool, each range with its own reader so pack access goes through JGit's
+ * shared window cache (see {@link com.backend.config.GitWindowCacheConfig}).
+ *
+ * <p>Merge commits count towards commit and author totals but are not diffed, so churn is only
+ * attributed once. Renames are not followed.
+ */
+@Component
+public class CommitMetricsEngine {
+
+    private static final int MIN_RANGE = 64;
+
+    private final ForkJoinPool pool;
+    private final int topN;
+    private final int maxCommits;
+
+    public CommitMetricsEngine(@Value("${analysis.metrics.parallelism:0}") int parallelism,
+                               @Value("${analysis.metrics.top-n:20}") int topN,
+                               @Value("${analysis.metrics.max-commits:100000}") int maxCommits) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.topN = topN;
+        this.maxCommits = maxCommits;
+    }
+
+    public MetricsSummary compute(Repository repository, AnyObjectId head) throws IOException {
+        List<ObjectId> commits = new ArrayList<>();
+        boolean truncated = false;
+        try (RevWalk walk = new RevWalk(repository)) {
+            walk.setRetainBody(false);
+            walk.markStart(walk.parseCommit(head));
+            for (RevCommit commit : walk) {
+                if (commits.size() == maxCommits) {
+                    truncated = true;
+                    break;
+                }
+                commits.add(commit.copy());
+            }
+        }
+        int threshold = Math.max(MIN_RANGE, commits.size() / (pool.getParallelism() * 8));
+        Partial total;
+        try {
+            total = pool.invoke(new RangeTask(repository, commits, 0, commits.size(), threshold));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return summarize(total, head.name(), truncated);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private MetricsSummary summarize(Partial partial, String headCommitId, boolean truncated) {
+        MetricsSummary summary = new MetricsSummary();
+        summary.setHeadCommitId(headCommitId);
+        summary.setCommitCount(partial.commits);
+        summary.setMergeCount(partial.merges);
+        summary.setAuthorCount(partial.authors.size());
+        summary.setFilesTouched(partial.files.size());
+        summary.setFirstCommitAt(partial.firstCommitAt == Long.MAX_VALUE ? 0 : partial.firstCommitAt);
+        summary.setLastCommitAt(partial.lastCommitAt);
+        summary.setTruncated(truncated);
+
+        long added = 0;
+        long deleted = 0;
+        for (Counts counts : partial.authors.values()) {
+            added += counts.added;
+            deleted += counts.deleted;
+        }
+        summary.setLinesAdded(added);
+        summary.setLinesDeleted(deleted);
+
+        List<Map.Entry<String, Counts>> authors = top(partial.authors, Comparator.comparingLong((Counts counts) -> counts.commits)
+                .thenComparingLong(counts -> counts.added + counts.deleted));
+        summary.setAuthorEmails(authors.stream().map(Map.Entry::getKey).toList());
+        summary.setAuthorCommits(authors.stream().mapToLong(entry -> entry.getValue().commits).toArray());
+        summary.setAuthorLinesAdded(authors.stream().mapToLong(entry -> entry.getValue().added).toArray());
+        summary.setAuthorLinesDeleted(authors.stream().mapToLong(entry -> entry.getValue().deleted).toArray());
+
+        // Hotspots: files changed most often, ties broken by the amount of change.
+        List<Map.Entry<String, Counts>> files = top(partial.files, Comparator.comparingLong((Counts counts) -> counts.commits)
+                .thenComparingLong(counts -> counts.added + counts.deleted));
+        summary.setHotspotPaths(files.stream().map(Map.Entry::getKey).toList());
+        summary.setHotspotCommits(files.stream().mapToLong(entry -> entry.getValue().commits).toArray());
+        summary.setHotspotLinesChanged(files.stream().mapToLong(entry -> entry.getValue().added + entry.getValue().deleted).toArray());
+        return summary;
+    }
+
+    private List<Map.Entry<String, Counts>> top(Map<String, Counts> counts, Comparator<Counts> order) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Counts>comparingByValue(order.reversed()).thenComparing(Map.Entry.comparingByKey()))
+                .limit(topN)
+                .toList();
+    }
+
+    private static final class RangeTask extends RecursiveTask<Partial> {
+        private final Repository repository;
+        private final List<ObjectId> commits;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        RangeTask(Repository repository, List<ObjectId> commits, int from, int to, int threshold) {
+            this.repository = repository;
+            this.commits = commits;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= threshold) {
+                try {
+                    return scan();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            int middle = (from + to) >>> 1;
+            RangeTask left = new RangeTask(repository, commits, from, middle, threshold);
+            left.fork();
+            Partial right = new RangeTask(repository, commits, middle, to, threshold).compute();
+            return left.join().merge(right);
+        }
+
+        private Partial scan() throws IOException {
+            Partial partial = new Partial();
+            try (ObjectReader reader = repository.newObjectReader();
+                 RevWalk walk = new RevWalk(reader);
+                 DiffFormatter diff = new DiffFormatter(DisabledOutputStream.INSTANCE)) {
+                diff.setReader(reader, repository.getConfig());
+                diff.setDiffComparator(RawTextComparator.DEFAULT);
+                diff.setDetectRenames(false);
+                for (int i = from; i < to; i++) {
+                    RevCommit commit = walk.parseCommit(commits.get(i));
+                    String author = commit.getAuthorIdent().getEmailAddress().toLowerCase();
+                    Counts authorCounts = partial.authors.computeIfAbsent(author, key -> new Counts());
+                    authorCounts.commits++;
+                    partial.commits++;
+                    partial.firstCommitAt = Math.min(partial.firstCommitAt, commit.getCommitTime());
+                    partial.lastCommitAt = Math.max(partial.lastCommitAt, commit.getCommitTime());
+                    if (commit.getParentCount() > 1) {
+                        partial.merges++;
+                        continue;
+                    }
+                    RevCommit parent = commit.getParentCount() == 1 ? walk.parseCommit(commit.getParent(0)) : null;
+                    for (DiffEntry entry : diff.scan(parent != null ? parent.getTree() : null, commit.getTree())) {
+                        long added = 0;
+                        long deleted = 0;
+                        for (Edit edit : diff.toFileHeader(entry).toEditList()) {
+                            added += edit.getLengthB();
+                            deleted += edit.getLengthA();
+                        }
+                        String path = entry.getChangeType() == DiffEntry.ChangeType.DELETE ? entry.getOldPath() : entry.getNewPath();
+                        Counts fileCounts = partial.files.computeIfAbsent(path, key -> new Counts());
+                        fileCounts.commits++;
+                        fileCounts.added += added;
+                        fileCounts.deleted += deleted;
+                        authorCounts.added += added;
+                        authorCounts.deleted += deleted;
+                    }
+                }
+            }
+            return partial;
+        }
+    }
+
+    private static final class Partial {
+        private final Map<String, Counts> authors = new HashMap<>();
+        private final Map<String, Counts> files = new HashMap<>();
+        private long commits;
+        private long merges;
+        private long firstCommitAt = Long.MAX_VALUE;
+        private long lastCommitAt;
+
+        Partial merge(Partial other) {
+            commits += other.commits;
+            merges += other.merges;
+            firstCommitAt = Math.min(firstCommitAt, other.firstCommitAt);
+            lastCommitAt = Math.max(lastCommitAt, other.lastCommitAt);
+            other.authors.forEach((key, counts) -> authors.merge(key, counts, Counts::add));
+            other.files.forEach((key, counts) -> files.merge(key, counts, Counts::add));
+            return this;
+        }
+    }
+
+    private static final class Counts {
+        private long commits;
+        private long added;
+        private long deleted;
+
+        Counts add(Counts other) {
+            commits += other.commits;
+            added += other.added;
+            deleted += other.deleted;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.backend.service.github.result;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Holds analysis reports gzip-compressed, outside the {@code Github} document. Reports are written
+ * and read as streams; neither side ever has a whole report in memory.
+ */
+public interface AnalysisResultStore {
+
+    /**
+     * Opens a writer for the report of {@code resultId}. The report replaces any previous one only
+     * once {@link ResultOutput#commit()} succeeds.
+     */
+    ResultOutput create(String resultId) throws IOException;
+
+    Optional<StoredResult> open(String resultId) throws IOException;
+
+    void delete(String resultId) throws IOException;
+}
@@ -0,0 +1,103 @@
+package com.backend.service.github.result;
+
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSUploadStream;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reports as GridFS files named after the result id, written through an upload stream so each
+ * compressed chunk goes to Mongo as soon as it fills. Older revisions of a result are removed
+ * after a new one is committed; readers always pick the newest.
+ */
+public class GridFsResultStore implements AnalysisResultStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final GridFSBucket bucket;
+
+    public GridFsResultStore(GridFSBucket bucket) {
+        this.bucket = bucket;
+    }
+
+    @Override
+    public ResultOutput create(String resultId) {
+        GridFSUploadStream upload = bucket.openUploadStream(resultId, new GridFSUploadOptions()
+                .metadata(new Document("contentType", StoredResult.CONTENT_TYPE).append("contentEncoding", "gzip")));
+        GZIPOutputStream gzip;
+        try {
+            gzip = new GZIPOutputStream(upload, BUFFER_SIZE);
+        } catch (IOException e) {
+            upload.abort();
+            throw new IllegalStateException(e);
+        }
+        return new ResultOutput() {
+            private boolean committed;
+
+            @Override
+            public OutputStream stream() {
+                return gzip;
+            }
+
+            @Override
+            public void commit() throws IOException {
+                gzip.close();
+                committed = true;
+                removeOlderThan(resultId, upload.getObjectId());
+            }
+
+            @Override
+            public void close() {
+                if (!committed) {
+                    upload.abort();
+                }
+            }
+        };
+    }
+
+    @Override
+    public Optional<StoredResult> open(String resultId) {
+        GridFSFile file = bucket.find(Filters.eq("filename", resultId)).sort(Sorts.descending("uploadDate")).first();
+        if (file == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new StoredResult() {
+            @Override
+            public long compressedLength() {
+                return file.getLength();
+            }
+
+            @Override
+            public InputStream openCompressed() {
+                return bucket.openDownloadStream(file.getObjectId());
+            }
+        });
+    }
+
+    @Override
+    public void delete(String resultId) {
+        for (GridFSFile file : bucket.find(Filters.eq("filename", resultId))) {
+            bucket.delete(file.getObjectId());
+        }
+    }
+
+    private void removeOlderThan(String resultId, ObjectId current) {
+        List<ObjectId> stale = new ArrayList<>();
+        for (GridFSFile file : bucket.find(Filters.and(Filters.eq("filename", resultId), Filters.ne("_id", current)))) {
+            stale.add(file.getObjectId());
+        }
+        stale.forEach(bucket::delete);
+    }
+}
@@ -0,0 +1,91 @@
+package com.backend.service.github.result;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+public class LocalResultStore implements AnalysisResultStore {
+
+    private static final Pattern RESULT_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+
+    public LocalResultStore(Path root) throws IOException {
+        this.root = Files.createDirectories(root);
+    }
+
+    @Override
+    public ResultOutput create(String resultId) throws IOException {
+        Path target = path(resultId);
+        Path temp = Files.createTempFile(root, resultId, ".tmp");
+        GZIPOutputStream gzip = new GZIPOutputStream(Files.newOutputStream(temp), BUFFER_SIZE);
+        return new ResultOutput() {
+            private boolean committed;
+
+            @Override
+            public OutputStream stream() {
+                return gzip;
+            }
+
+            @Override
+            public void commit() throws IOException {
+                gzip.close();
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                committed = true;
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (!committed) {
+                    try {
+                        gzip.close();
+                    } finally {
+                        Files.deleteIfExists(temp);
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    public Optional<StoredResult> open(String resultId) throws IOException {
+        Path file = path(resultId);
+        long length;
+        try {
+            length = Files.size(file);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+        return Optional.of(new StoredResult() {
+            @Override
+            public long compressedLength() {
+                return length;
+            }
+
+            @Override
+            public InputStream openCompressed() throws IOException {
+                return Files.newInputStream(file);
+            }
+        });
+    }
+
+    @Override
+    public void delete(String resultId) throws IOException {
+        Files.deleteIfExists(path(resultId));
+    }
+
+    private Path path(String resultId) {
+        if (!RESULT_ID.matcher(resultId).matches()) {
+            throw new IllegalArgumentException("Invalid result id: " + resultId);
+        }
+        return root.resolve(resultId + ".json.gz");
+    }
+}
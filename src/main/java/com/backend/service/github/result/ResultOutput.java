@@ -0,0 +1,15 @@
+package com.backend.service.github.result;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Uncompressed side of a report being written. Closing without {@link #commit()} discards it.
+ */
+public interface ResultOutput extends Closeable {
+
+    OutputStream stream();
+
+    void commit() throws IOException;
+}
@@ -0,0 +1,15 @@
+package com.backend.service.github.result;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface StoredResult {
+
+    String CONTENT_TYPE = "application/json";
+
+    /** Size of the gzip stream, or -1 when unknown. */
+    long compressedLength();
+
+    /** The stored bytes, still gzip-compressed. */
+    InputStream openCompressed() throws IOException;
+}
@@ -0,0 +1,138 @@
+package com.backend.service.github.scheduler;
+
+import com.backend.config.AsyncConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds repository jobs to the analysis executor through a {@link FairShareQueue}, keeping at most
+ * {@code analysis.threads} jobs in flight so ordering is decided here rather than by the executor's
+ * FIFO queue.
+ */
+@Component
+@Slf4j
+public class AnalysisJobScheduler {
+
+    @Autowired
+    @Qualifier(AsyncConfig.ANALYSIS_EXECUTOR)
+    private TaskExecutor executor;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${analysis.threads:2}")
+    private int workers;
+
+    @Value("${analysis.scheduler.per-user-concurrency:1}")
+    private int perUserConcurrency;
+
+    @Value("${analysis.scheduler.max-queued-per-user:50}")
+    private int maxQueuedPerUser;
+
+    @Value("${analysis.scheduler.quantum:1}")
+    private long quantum;
+
+    @Value("${analysis.scheduler.small-lane-weight:3}")
+    private int smallLaneWeight;
+
+    @Value("${analysis.scheduler.large-lane-concurrency:1}")
+    private int largeLaneConcurrency;
+
+    private FairShareQueue<Job> queue;
+    private int inFlight;
+
+    private record Job(Runnable task, Runnable onRejected) {}
+
+    @PostConstruct
+    public void init() {
+        queue = new FairShareQueue<Job>(perUserConcurrency, maxQueuedPerUser, quantum,
+                Map.of(JobLane.SMALL, smallLaneWeight, JobLane.STANDARD, 1, JobLane.LARGE, 1), System::nanoTime)
+                .limitLane(JobLane.LARGE, largeLaneConcurrency);
+        for (JobLane lane : JobLane.values()) {
+            Gauge.builder("analysis.queue.size", this, scheduler -> scheduler.queued(lane))
+                    .tag("lane", lane.name())
+                    .description("Analysis jobs waiting for a worker")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Queues a job for the user. Returns false when the user already has too many jobs waiting.
+     * {@code onRejected} runs instead of {@code task} if the executor later refuses the job.
+     */
+    public boolean submit(String userId, JobLane lane, long cost, Runnable task, Runnable onRejected) {
+        synchronized (this) {
+            if (!queue.offer(userId, lane, cost, new Job(task, onRejected))) {
+                Counter.builder("analysis.queue.rejected").tag("lane", lane.name()).register(registry).increment();
+                return false;
+            }
+        }
+        dispatch();
+        return true;
+    }
+
+    private void dispatch() {
+        ScheduledJob<Job> rejected = null;
+        synchronized (this) {
+            while (inFlight < workers) {
+                ScheduledJob<Job> job = queue.poll();
+                if (job == null) {
+                    break;
+                }
+                Timer.builder("analysis.queue.wait")
+                        .tag("lane", job.lane().name())
+                        .register(registry)
+                        .record(System.nanoTime() - job.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+                inFlight++;
+                try {
+                    executor.execute(() -> run(job));
+                } catch (TaskRejectedException e) {
+                    log.error("Analysis executor rejected a job for user {}: {}", job.userId(), e.getMessage());
+                    inFlight--;
+                    queue.complete(job);
+                    rejected = job;
+                    break;
+                }
+            }
+        }
+        // Outside the lock: the callback records the failure in Mongo.
+        if (rejected != null) {
+            try {
+                rejected.payload().onRejected().run();
+            } catch (RuntimeException e) {
+                log.error("Handling a rejected analysis job for user {} failed: {}", rejected.userId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void run(ScheduledJob<Job> job) {
+        try {
+            job.payload().task().run();
+        } catch (RuntimeException e) {
+            log.error("Analysis job for user {} failed: {}", job.userId(), e.getMessage(), e);
+        } finally {
+            synchronized (this) {
+                inFlight--;
+                queue.complete(job);
+            }
+            dispatch();
+        }
+    }
+
+    private synchronized int queued(JobLane lane) {
+        return queue.size(lane);
+    }
+}
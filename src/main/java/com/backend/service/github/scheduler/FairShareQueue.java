@@ -0,0 +1,171 @@
+package com.backend.service.github.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-user job queues dispatched with deficit round-robin inside each {@link JobLane}. Lanes are
+ * served in a weighted cycle so higher-priority lanes go first without starving the others, and a
+ * user never has more than {@code perUserConcurrency} jobs running at once. A lane can also be
+ * limited to a number of running jobs so expensive work never occupies every worker.
+ *
+ * <p>The queue does no threading of its own and reads time only from the supplied clock, so a
+ * simulation can drive it step by step. Callers must synchronize access.
+ */
+public class FairShareQueue<T> {
+
+    private final int perUserConcurrency;
+    private final int maxQueuedPerUser;
+    private final long quantum;
+    private final LongSupplier clock;
+    private final JobLane[] laneCycle;
+    private final Map<JobLane, Lane> lanes = new EnumMap<>(JobLane.class);
+    private final Map<String, Integer> running = new HashMap<>();
+    private final Map<String, Integer> queued = new HashMap<>();
+    private final Map<JobLane, Integer> laneLimits = new EnumMap<>(JobLane.class);
+    private final Map<JobLane, Integer> laneRunning = new EnumMap<>(JobLane.class);
+    private int cycleCursor;
+
+    public FairShareQueue(int perUserConcurrency, int maxQueuedPerUser, long quantum, Map<JobLane, Integer> laneWeights, LongSupplier clock) {
+        if (perUserConcurrency < 1 || maxQueuedPerUser < 1 || quantum < 1) {
+            throw new IllegalArgumentException("Concurrency, queue limit and quantum must be positive");
+        }
+        this.perUserConcurrency = perUserConcurrency;
+        this.maxQueuedPerUser = maxQueuedPerUser;
+        this.quantum = quantum;
+        this.clock = clock;
+        List<JobLane> cycle = new ArrayList<>();
+        for (JobLane lane : JobLane.values()) {
+            lanes.put(lane, new Lane());
+            int weight = Math.max(1, laneWeights.getOrDefault(lane, 1));
+            for (int i = 0; i < weight; i++) {
+                cycle.add(lane);
+            }
+        }
+        this.laneCycle = cycle.toArray(new JobLane[0]);
+    }
+
+    public FairShareQueue<T> limitLane(JobLane lane, int maxRunning) {
+        if (maxRunning < 1) {
+            throw new IllegalArgumentException("Lane limit must be positive");
+        }
+        laneLimits.put(lane, maxRunning);
+        return this;
+    }
+
+    /**
+     * Queues a job. Returns false when the user already has {@code maxQueuedPerUser} jobs waiting.
+     */
+    public boolean offer(String userId, JobLane lane, long cost, T payload) {
+        int waiting = queued.getOrDefault(userId, 0);
+        if (waiting >= maxQueuedPerUser) {
+            return false;
+        }
+        queued.put(userId, waiting + 1);
+        lanes.get(lane).offer(new ScheduledJob<>(userId, lane, Math.max(1, cost), payload, clock.getAsLong()));
+        return true;
+    }
+
+    /**
+     * Returns the next job to run and counts it as running, or null when nothing is eligible.
+     */
+    public ScheduledJob<T> poll() {
+        for (int i = 0; i < laneCycle.length; i++) {
+            JobLane lane = laneCycle[(cycleCursor + i) % laneCycle.length];
+            if (laneRunning.getOrDefault(lane, 0) >= laneLimits.getOrDefault(lane, Integer.MAX_VALUE)) {
+                continue;
+            }
+            ScheduledJob<T> job = lanes.get(lane).poll();
+            if (job != null) {
+                cycleCursor = (cycleCursor + i + 1) % laneCycle.length;
+                queued.merge(job.userId(), -1, (a, b) -> a + b == 0 ? null : a + b);
+                running.merge(job.userId(), 1, Integer::sum);
+                laneRunning.merge(lane, 1, Integer::sum);
+                return job;
+            }
+        }
+        return null;
+    }
+
+    public void complete(ScheduledJob<T> job) {
+        running.computeIfPresent(job.userId(), (user, count) -> count > 1 ? count - 1 : null);
+        laneRunning.computeIfPresent(job.lane(), (lane, count) -> count > 1 ? count - 1 : null);
+    }
+
+    public int size(JobLane lane) {
+        return lanes.get(lane).size;
+    }
+
+    public int running(String userId) {
+        return running.getOrDefault(userId, 0);
+    }
+
+    private boolean atCapacity(String userId) {
+        return running.getOrDefault(userId, 0) >= perUserConcurrency;
+    }
+
+    private final class Lane {
+        private final Map<String, UserQueue> byUser = new HashMap<>();
+        private final ArrayDeque<UserQueue> ring = new ArrayDeque<>();
+        private int size;
+
+        void offer(ScheduledJob<T> job) {
+            UserQueue queue = byUser.computeIfAbsent(job.userId(), UserQueue::new);
+            if (queue.jobs.isEmpty()) {
+                ring.addLast(queue);
+            }
+            queue.jobs.addLast(job);
+            size++;
+        }
+
+        ScheduledJob<T> poll() {
+            // Users at their concurrency cap are passed over without earning credit; once every
+            // active user has been passed over in a row there is nothing to dispatch.
+            int skipped = 0;
+            while (!ring.isEmpty() && skipped < ring.size()) {
+                UserQueue queue = ring.peekFirst();
+                if (atCapacity(queue.userId)) {
+                    ring.addLast(ring.pollFirst());
+                    skipped++;
+                    continue;
+                }
+                ScheduledJob<T> head = queue.jobs.peekFirst();
+                if (queue.deficit < head.cost()) {
+                    queue.deficit += quantum;
+                    if (queue.deficit < head.cost()) {
+                        ring.addLast(ring.pollFirst());
+                        skipped = 0;
+                        continue;
+                    }
+                }
+                queue.deficit -= head.cost();
+                queue.jobs.pollFirst();
+                size--;
+                if (queue.jobs.isEmpty()) {
+                    queue.deficit = 0;
+                    ring.pollFirst();
+                    byUser.remove(queue.userId);
+                } else if (queue.deficit < queue.jobs.peekFirst().cost()) {
+                    ring.addLast(ring.pollFirst());
+                }
+                return head;
+            }
+            return null;
+        }
+    }
+
+    private final class UserQueue {
+        private final String userId;
+        private final ArrayDeque<ScheduledJob<T>> jobs = new ArrayDeque<>();
+        private long deficit;
+
+        UserQueue(String userId) {
+            this.userId = userId;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.backend.service.github.scheduler;
+
+/**
+ * Dispatch lanes in priority order. Cheap jobs go to {@link #SMALL} so they are not stuck behind
+ * full clones of large repositories, which have a lane of their own.
+ */
+public enum JobLane {
+    SMALL,
+    STANDARD,
+    LARGE
+}
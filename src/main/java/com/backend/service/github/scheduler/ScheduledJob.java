@@ -0,0 +1,3 @@
+package com.backend.service.github.scheduler;
+
+public record ScheduledJob<T>(String userId, JobLane lane, long cost, T payload, long enqueuedAtNanos) {}
@@ -0,0 +1,325 @@
+package com.backend.service.github.storage;
+
+import com.backend.dto.response.ForkNetworkUsage;
+import com.backend.model.github.Github;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.errors.ConfigInvalidException;
+import org.eclipse.jgit.lib.Config;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.eclipse.jgit.storage.file.FileBasedConfig;
+import org.eclipse.jgit.transport.FetchResult;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.util.FS;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps one bare object store per GitHub fork network under {@code <workspace>/networks}. Every fork
+ * is fetched into that store under its own {@code refs/forks/<githubId>/} namespace, so objects the
+ * network already has are never downloaded or written twice, and the namespaced refs keep them
+ * reachable. Each fork's own repository holds only refs and borrows all objects through
+ * {@code objects/info/alternates}.
+ *
+ * <p>The size GitHub reports for each fork is kept in the network store's config under
+ * {@code fork.<githubId>.bytes}, so usage can be rebuilt from disk after a restart. That happens
+ * lazily on the first call to {@link #usage()} or gauge read.
+ */
+@Component
+@Slf4j
+public class ForkNetworkStore {
+
+    private static final Pattern NETWORK_ROOT = Pattern.compile("^[A-Za-z0-9-]+/[A-Za-z0-9-_.]+$");
+
+    @Value("${analysis.workspace:data/repos}")
+    private Path workspace;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+    private final Map<String, NetworkState> networks = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("analysis.storage.disk.bytes", this, store -> store.totals(false))
+                .description("Bytes of git objects stored across fork networks")
+                .register(registry);
+        Gauge.builder("analysis.storage.logical.bytes", this, store -> store.totals(true))
+                .description("Estimated bytes the same forks would take as separate clones")
+                .register(registry);
+    }
+
+    public static boolean supports(String networkRoot) {
+        return networkRoot != null && NETWORK_ROOT.matcher(networkRoot).matches();
+    }
+
+    /**
+     * Fetches the fork into its network store and brings the fork repository's branches and HEAD
+     * up to date. The caller closes the returned {@link Git}.
+     */
+    public Git sync(Github github, Path forkDirectory) throws GitAPIException, IOException {
+        String network = github.getNetworkRoot().toLowerCase().replace("/", "__");
+        Path networkDirectory = workspace.resolve("networks").resolve(network + ".git");
+        Path objects = networkDirectory.resolve("objects");
+        String namespace = "refs/forks/" + github.getId() + "/heads/";
+        long start = System.nanoTime();
+        boolean joined;
+        long downloadedBytes;
+        Git fork = null;
+
+        synchronized (locks.computeIfAbsent(network, key -> new Object())) {
+            joined = Files.isDirectory(objects);
+            Set<Path> packsBefore = packs(objects);
+            try (Git store = joined
+                    ? Git.open(networkDirectory.toFile())
+                    : Git.init().setBare(true).setDirectory(networkDirectory.toFile()).call()) {
+                FetchResult result = store.fetch()
+                        .setRemote(github.getGithubLink() + ".git")
+                        .setRefSpecs(new RefSpec("+refs/heads/*:" + namespace + "*"))
+                        .setRemoveDeletedRefs(true)
+                        .call();
+                StoredConfig config = store.getRepository().getConfig();
+                config.setLong("fork", github.getId(), "bytes", github.getSizeKb() * 1024);
+                config.save();
+                NetworkState state = networks.computeIfAbsent(network, key -> new NetworkState());
+                synchronized (state) {
+                    state.forkBytes = forkBytes(config);
+                }
+                fork = openFork(forkDirectory, networkDirectory, github.getGithubLink());
+                syncRefs(store.getRepository(), fork.getRepository(), namespace, headBranch(github, result));
+                downloadedBytes = newPackBytes(objects, packsBefore);
+            } catch (GitAPIException | IOException | RuntimeException e) {
+                if (fork != null) {
+                    fork.close();
+                }
+                throw e;
+            }
+        }
+
+        // Walking every object file can take a while on a large network, so other forks are not held up by it.
+        record(network, github, joined, downloadedBytes, diskBytes(objects), System.nanoTime() - start);
+        return fork;
+    }
+
+    public List<ForkNetworkUsage> usage() {
+        loadPersisted();
+        List<ForkNetworkUsage> usage = new ArrayList<>();
+        networks.forEach((network, state) -> {
+            synchronized (state) {
+                long logical = state.forkBytes.values().stream().mapToLong(Long::longValue).sum();
+                usage.add(new ForkNetworkUsage(network, state.forkBytes.size(), state.diskBytes, logical, Math.max(0, logical - state.diskBytes)));
+            }
+        });
+        usage.sort(Comparator.comparingLong(ForkNetworkUsage::getSavedBytes).reversed());
+        return usage;
+    }
+
+    private Git openFork(Path forkDirectory, Path networkDirectory, String githubLink) throws GitAPIException, IOException {
+        Git fork = Files.isDirectory(forkDirectory.resolve("objects"))
+                ? Git.open(forkDirectory.toFile())
+                : Git.init().setBare(true).setDirectory(forkDirectory.toFile()).call();
+        Path alternates = forkDirectory.resolve("objects").resolve("info").resolve("alternates");
+        String target = networkDirectory.resolve("objects").toAbsolutePath().normalize() + "\n";
+        if (!Files.exists(alternates) || !Files.readString(alternates, StandardCharsets.UTF_8).equals(target)) {
+            Files.createDirectories(alternates.getParent());
+            Files.writeString(alternates, target, StandardCharsets.UTF_8);
+            // Reopen so the object database picks up the alternate.
+            fork.close();
+            fork = Git.open(forkDirectory.toFile());
+        }
+        StoredConfig config = fork.getRepository().getConfig();
+        config.setString("remote", "origin", "url", githubLink + ".git");
+        config.save();
+        return fork;
+    }
+
+    private static void syncRefs(Repository store, Repository fork, String namespace, String headBranch) throws IOException {
+        Set<String> branches = new HashSet<>();
+        for (Ref ref : store.getRefDatabase().getRefsByPrefix(namespace)) {
+            String branch = Constants.R_HEADS + ref.getName().substring(namespace.length());
+            branches.add(branch);
+            RefUpdate update = fork.updateRef(branch);
+            update.setNewObjectId(ref.getObjectId());
+            update.setForceUpdate(true);
+            check(update.update(), branch);
+        }
+        for (Ref ref : fork.getRefDatabase().getRefsByPrefix(Constants.R_HEADS)) {
+            if (!branches.contains(ref.getName())) {
+                RefUpdate delete = fork.updateRef(ref.getName());
+                delete.setForceUpdate(true);
+                check(delete.delete(), ref.getName());
+            }
+        }
+        if (headBranch != null && branches.contains(Constants.R_HEADS + headBranch)) {
+            check(fork.updateRef(Constants.HEAD).link(Constants.R_HEADS + headBranch), Constants.HEAD);
+        }
+    }
+
+    private static String headBranch(Github github, FetchResult result) {
+        if (github.getDefaultBranch() != null) {
+            return github.getDefaultBranch();
+        }
+        Ref head = result.getAdvertisedRef(Constants.HEAD);
+        if (head != null && head.isSymbolic() && head.getTarget().getName().startsWith(Constants.R_HEADS)) {
+            return head.getTarget().getName().substring(Constants.R_HEADS.length());
+        }
+        return null;
+    }
+
+    private static void check(RefUpdate.Result result, String ref) throws IOException {
+        switch (result) {
+            case NEW, FORCED, FAST_FORWARD, NO_CHANGE, RENAMED -> { }
+            default -> throw new IOException("Failed to update " + ref + ": " + result);
+        }
+    }
+
+    private void record(String network, Github github, boolean joined, long downloadedBytes, long diskBytes, long elapsedNanos) {
+        String mode = joined ? "joined" : "new";
+        Timer.builder("analysis.clone.duration").tag("network", mode).register(registry).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("analysis.clone.downloaded.bytes").baseUnit("bytes").tag("network", mode).register(registry).record(downloadedBytes);
+
+        long forkBytes = github.getSizeKb() * 1024;
+        NetworkState state = networks.get(network);
+        if (diskBytes >= 0) {
+            synchronized (state) {
+                state.diskBytes = diskBytes;
+            }
+        }
+        if (joined && forkBytes > 0) {
+            log.info("Fetched {} into network {}: {} KB written of ~{} KB ({}% reused) in {} ms", github.getGithubLink(), network,
+                    downloadedBytes >> 10, forkBytes >> 10, Math.max(0, 100 - downloadedBytes * 100 / forkBytes), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        } else {
+            log.info("Fetched {} into network {}: {} KB written in {} ms", github.getGithubLink(), network,
+                    downloadedBytes >> 10, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+    }
+
+    private long totals(boolean logical) {
+        loadPersisted();
+        long total = 0;
+        for (NetworkState state : networks.values()) {
+            synchronized (state) {
+                total += logical ? state.forkBytes.values().stream().mapToLong(Long::longValue).sum() : state.diskBytes;
+            }
+        }
+        return total;
+    }
+
+    // Networks synced since startup already have fresher state, so only the others are filled in.
+    private void loadPersisted() {
+        if (loaded) {
+            return;
+        }
+        synchronized (networks) {
+            if (loaded) {
+                return;
+            }
+            Path root = workspace.resolve("networks");
+            if (Files.isDirectory(root)) {
+                try (Stream<Path> directories = Files.list(root)) {
+                    directories.filter(directory -> directory.getFileName().toString().endsWith(".git")
+                                    && Files.isDirectory(directory.resolve("objects")))
+                            .forEach(this::loadNetwork);
+                } catch (IOException | UncheckedIOException e) {
+                    log.warn("Could not list fork networks under {}: {}", root, e.getMessage());
+                }
+            }
+            loaded = true;
+        }
+    }
+
+    private void loadNetwork(Path networkDirectory) {
+        String directoryName = networkDirectory.getFileName().toString();
+        String network = directoryName.substring(0, directoryName.length() - ".git".length());
+        FileBasedConfig config = new FileBasedConfig(networkDirectory.resolve("config").toFile(), FS.DETECTED);
+        try {
+            config.load();
+        } catch (IOException | ConfigInvalidException e) {
+            log.warn("Could not read fork sizes of network {}: {}", network, e.getMessage());
+            return;
+        }
+        NetworkState state = new NetworkState();
+        state.forkBytes = forkBytes(config);
+        state.diskBytes = Math.max(0, diskBytes(networkDirectory.resolve("objects")));
+        networks.putIfAbsent(network, state);
+    }
+
+    private static Map<String, Long> forkBytes(Config config) {
+        Map<String, Long> sizes = new HashMap<>();
+        for (String githubId : config.getSubsections("fork")) {
+            sizes.put(githubId, config.getLong("fork", githubId, "bytes", 0));
+        }
+        return Map.copyOf(sizes);
+    }
+
+    private static Set<Path> packs(Path objects) throws IOException {
+        Path packDirectory = objects.resolve("pack");
+        if (!Files.isDirectory(packDirectory)) {
+            return Set.of();
+        }
+        try (Stream<Path> files = Files.list(packDirectory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".pack")).collect(Collectors.toSet());
+        }
+    }
+
+    // JGit stores every fetch as a new pack, so the packs that appeared are what was downloaded.
+    private static long newPackBytes(Path objects, Set<Path> packsBefore) throws IOException {
+        long bytes = 0;
+        for (Path pack : packs(objects)) {
+            if (!packsBefore.contains(pack)) {
+                bytes += Files.size(pack);
+            }
+        }
+        return bytes;
+    }
+
+    // Returns -1 when the walk fails, e.g. because a concurrent fetch removed a temporary file.
+    private static long diskBytes(Path objects) {
+        if (!Files.isDirectory(objects)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.walk(objects)) {
+            return files.map(Path::toFile).filter(File::isFile).mapToLong(File::length).sum();
+        } catch (IOException | UncheckedIOException e) {
+            log.debug("Could not measure {}: {}", objects, e.getMessage());
+            return -1;
+        }
+    }
+
+    private static final class NetworkState {
+        private Map<String, Long> forkBytes = Map.of();
+        private long diskBytes;
+    }
+}
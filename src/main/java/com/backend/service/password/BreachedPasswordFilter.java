@@ -0,0 +1,119 @@
+package com.backend.service.password;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Read-only Bloom filter over SHA-1 hashes of breached passwords. The bit array lives in a
+ * memory-mapped file so large filters stay off the Java heap; see {@link BreachedPasswordFilterBuilder}
+ * for the file layout.
+ */
+public final class BreachedPasswordFilter {
+
+    static final int MAGIC = 0x53524246; // "SRBF"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int SEGMENT_SHIFT = 30;
+    static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+
+    private static final ThreadLocal<MessageDigest> SHA1 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    });
+
+    private final MappedByteBuffer[] segments;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BreachedPasswordFilter(MappedByteBuffer[] segments, long bitCount, int hashCount) {
+        this.segments = segments;
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+    }
+
+    public static BreachedPasswordFilter open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IOException("Not a breached-password filter: " + path);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported breached-password filter version " + version + ": " + path);
+            }
+            long bitCount = header.getLong();
+            int hashCount = header.getInt();
+            long dataBytes = dataBytes(bitCount);
+            if (bitCount <= 0 || hashCount <= 0 || channel.size() < HEADER_SIZE + dataBytes) {
+                throw new IOException("Corrupt breached-password filter: " + path);
+            }
+
+            int segmentCount = (int) ((dataBytes + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT);
+            MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long offset = (long) i << SEGMENT_SHIFT;
+                long length = Math.min(SEGMENT_SIZE, dataBytes - offset);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + offset, length);
+            }
+            return new BreachedPasswordFilter(segments, bitCount, hashCount);
+        }
+    }
+
+    public boolean mightContain(String password) {
+        MessageDigest digest = SHA1.get();
+        digest.reset();
+        return mightContainHash(digest.digest(password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public boolean mightContainHash(byte[] sha1) {
+        long h1 = readLong(sha1, 0);
+        long h2 = readLong(sha1, 8);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = bitIndex(h1, h2, i, bitCount);
+            long byteOffset = bit >>> 3;
+            byte value = segments[(int) (byteOffset >>> SEGMENT_SHIFT)].get((int) (byteOffset & (SEGMENT_SIZE - 1)));
+            if ((value & (1 << (bit & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    static long dataBytes(long bitCount) {
+        return ((bitCount + 63) >>> 6) << 3;
+    }
+
+    static long bitIndex(long h1, long h2, int i, long bitCount) {
+        return ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+    }
+
+    static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFFL);
+        }
+        return value;
+    }
+}
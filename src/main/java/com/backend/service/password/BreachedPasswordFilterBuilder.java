@@ -0,0 +1,136 @@
+package com.backend.service.password;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Offline tool that turns a local list of SHA-1 password hashes (one hex hash per line, optionally
+ * followed by {@code :count} as in the public breach corpora) into the file read by
+ * {@link BreachedPasswordFilter}.
+ *
+ * <pre>
+ * java -cp backend.jar -Dloader.main=com.backend.service.password.BreachedPasswordFilterBuilder \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher hashes.txt breached.bloom [falsePositiveRate]
+ * </pre>
+ *
+ * File layout: int magic, int version, long bitCount, int hashCount, int reserved, then the bit array.
+ */
+public final class BreachedPasswordFilterBuilder {
+
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.001;
+
+    private BreachedPasswordFilterBuilder() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BreachedPasswordFilterBuilder <hash-list> <filter-file> [false-positive-rate]");
+            System.exit(1);
+        }
+        double falsePositiveRate = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_FALSE_POSITIVE_RATE;
+        long start = System.nanoTime();
+        long entries = build(Path.of(args[0]), Path.of(args[1]), falsePositiveRate);
+        System.err.printf("Wrote %d entries to %s in %d ms%n", entries, args[1], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public static long build(Path hashList, Path output, double falsePositiveRate) throws IOException {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        long expectedEntries = countEntries(hashList);
+        long bitCount = optimalBitCount(Math.max(1, expectedEntries), falsePositiveRate);
+        int hashCount = optimalHashCount(Math.max(1, expectedEntries), bitCount);
+        long dataBytes = BreachedPasswordFilter.dataBytes(bitCount);
+
+        Files.deleteIfExists(output);
+        try (RandomAccessFile file = new RandomAccessFile(output.toFile(), "rw");
+             FileChannel channel = file.getChannel()) {
+            file.setLength(BreachedPasswordFilter.HEADER_SIZE + dataBytes);
+
+            ByteBuffer header = ByteBuffer.allocate(BreachedPasswordFilter.HEADER_SIZE);
+            header.putInt(BreachedPasswordFilter.MAGIC)
+                    .putInt(BreachedPasswordFilter.VERSION)
+                    .putLong(bitCount)
+                    .putInt(hashCount)
+                    .putInt(0)
+                    .flip();
+            channel.write(header, 0);
+
+            int segmentCount = (int) ((dataBytes + BreachedPasswordFilter.SEGMENT_SIZE - 1) >>> BreachedPasswordFilter.SEGMENT_SHIFT);
+            MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long offset = (long) i << BreachedPasswordFilter.SEGMENT_SHIFT;
+                long length = Math.min(BreachedPasswordFilter.SEGMENT_SIZE, dataBytes - offset);
+                segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, BreachedPasswordFilter.HEADER_SIZE + offset, length);
+            }
+
+            long written = 0;
+            byte[] hash = new byte[20];
+            try (BufferedReader reader = Files.newBufferedReader(hashList, StandardCharsets.US_ASCII)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!parseHash(line, hash)) {
+                        continue;
+                    }
+                    long h1 = BreachedPasswordFilter.readLong(hash, 0);
+                    long h2 = BreachedPasswordFilter.readLong(hash, 8);
+                    for (int i = 0; i < hashCount; i++) {
+                        long bit = BreachedPasswordFilter.bitIndex(h1, h2, i, bitCount);
+                        long byteOffset = bit >>> 3;
+                        MappedByteBuffer segment = segments[(int) (byteOffset >>> BreachedPasswordFilter.SEGMENT_SHIFT)];
+                        int index = (int) (byteOffset & (BreachedPasswordFilter.SEGMENT_SIZE - 1));
+                        segment.put(index, (byte) (segment.get(index) | (1 << (bit & 7))));
+                    }
+                    written++;
+                }
+            }
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+            return written;
+        }
+    }
+
+    static long optimalBitCount(long expectedEntries, double falsePositiveRate) {
+        return (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    }
+
+    static int optimalHashCount(long expectedEntries, long bitCount) {
+        return Math.max(1, (int) Math.round((double) bitCount / expectedEntries * Math.log(2)));
+    }
+
+    private static long countEntries(Path hashList) throws IOException {
+        long count = 0;
+        byte[] hash = new byte[20];
+        try (BufferedReader reader = Files.newBufferedReader(hashList, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (parseHash(line, hash)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    static boolean parseHash(String line, byte[] target) {
+        if (line.length() < 40) {
+            return false;
+        }
+        for (int i = 0; i < 20; i++) {
+            int high = Character.digit(line.charAt(2 * i), 16);
+            int low = Character.digit(line.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                return false;
+            }
+            target[i] = (byte) ((high << 4) | low);
+        }
+        return line.length() == 40 || line.charAt(40) == ':';
+    }
+}
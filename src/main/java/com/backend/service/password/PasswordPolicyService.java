@@ -0,0 +1,6 @@
+package com.backend.service.password;
+
+public interface PasswordPolicyService {
+    void validate(String password);
+    String check(String password);
+}
@@ -0,0 +1,79 @@
+package com.backend.service.password;
+
+import com.backend.shared.exception.PasswordOrEmailException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Service
+@Slf4j
+public class PasswordPolicyServiceImpl implements PasswordPolicyService {
+
+    private static final int MIN_LENGTH = 5;
+    private static final int STRONG_LENGTH = 8;
+
+    @Value("${password.breached-filter.path:}")
+    private String breachedFilterPath;
+
+    private volatile BreachedPasswordFilter breachedFilter;
+
+    @PostConstruct
+    void loadBreachedFilter() {
+        if (breachedFilterPath == null || breachedFilterPath.isBlank()) {
+            log.info("No breached-password filter configured, skipping breach check");
+            return;
+        }
+        Path path = Path.of(breachedFilterPath);
+        if (!Files.isReadable(path)) {
+            log.warn("Breached-password filter not readable at {}, skipping breach check", path);
+            return;
+        }
+        try {
+            breachedFilter = BreachedPasswordFilter.open(path);
+            log.info("Loaded breached-password filter from {}: bits={}, hashes={}", path, breachedFilter.getBitCount(), breachedFilter.getHashCount());
+        } catch (IOException e) {
+            log.error("Failed to load breached-password filter from {}: {}", path, e.getMessage());
+        }
+    }
+
+    @Override
+    public void validate(String password) {
+        String violation = check(password);
+        if (violation != null) {
+            throw new PasswordOrEmailException(violation, null);
+        }
+    }
+
+    @Override
+    public String check(String password) {
+        if (password == null || password.length() < MIN_LENGTH) {
+            return "Password should be at least 5 characters.";
+        }
+        boolean hasLower = false;
+        boolean hasUpper = false;
+        boolean hasDigit = false;
+        for (int i = 0, n = password.length(); i < n; i++) {
+            char c = password.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                hasLower = true;
+            } else if (c >= 'A' && c <= 'Z') {
+                hasUpper = true;
+            } else if (c >= '0' && c <= '9') {
+                hasDigit = true;
+            }
+        }
+        if (password.length() < STRONG_LENGTH || !hasLower || !hasUpper || !hasDigit) {
+            return "Password is too weak.";
+        }
+        BreachedPasswordFilter filter = breachedFilter;
+        if (filter != null && filter.mightContain(password)) {
+            return "This password has appeared in a data breach. Please choose a different one.";
+        }
+        return null;
+    }
+}
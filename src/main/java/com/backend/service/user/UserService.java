@@ -1,7 +1,9 @@
 package com.backend.service.user;
 
 import com.backend.dto.UserDTO;
+import com.backend.shared.result.ServiceResult;
 
 public interface UserService {
     void updateUser(String email, UserDTO updatedInfo);
+    ServiceResult<Void> tryUpdateUser(String email, UserDTO updatedInfo);
 }
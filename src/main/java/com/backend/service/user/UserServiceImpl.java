@@ -1,49 +1,87 @@
 package com.backend.service.user;
 
-import com.backend.shared.exception.UserNotFoundException;
 import com.backend.dto.UserDTO;
 import com.backend.model.user.User;
+import com.backend.repository.user.UserPatch;
 import com.backend.repository.user.UserRepository;
+import com.backend.service.avatar.AvatarServiceImpl;
+import com.backend.service.avatar.StoredAvatar;
+import com.backend.shared.exception.InvalidInputException;
 import com.backend.config.PasswordUtil;
+import com.backend.shared.result.ServiceResult;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.util.Optional;
 
 @Service
 @Slf4j
+@Timed("service.user")
 public class UserServiceImpl implements UserService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AvatarServiceImpl avatarService;
+
     @Override
     public void updateUser(String email, UserDTO updatedInfo) {
+        tryUpdateUser(email, updatedInfo).orElseThrow();
+    }
+
+    @Override
+    public ServiceResult<Void> tryUpdateUser(String email, UserDTO updatedInfo) {
         Optional<User> existingUser = userRepository.findByEmail(email);
         if (existingUser.isEmpty()) {
-            throw new UserNotFoundException("User not found with email: " + email);
+            return ServiceResult.failure(ServiceResult.Error.NOT_FOUND, "User not found with email: " + email);
         }
 
         User user = existingUser.get();
+        UserPatch patch = UserPatch.of(user);
         if (updatedInfo.getUsername() != null && !updatedInfo.getUsername().isBlank()) {
-            user.setUsername(updatedInfo.getUsername());
+            patch.set("username", User::getUsername, User::setUsername, updatedInfo.getUsername());
         }
         if (updatedInfo.getEmail() != null && !updatedInfo.getEmail().isBlank()) {
-            user.setEmail(updatedInfo.getEmail());
+            patch.set("email", User::getEmail, User::setEmail, updatedInfo.getEmail());
         }
-        if (updatedInfo.getPassword() != null && !updatedInfo.getPassword().isBlank()) {
-            user.setPassword(PasswordUtil.encryptPassword(updatedInfo.getPassword()));
+        if (updatedInfo.getPassword() != null && !updatedInfo.getPassword().isBlank()
+                && (user.getPassword() == null || !PasswordUtil.matches(updatedInfo.getPassword(), user.getPassword()))) {
+            patch.set("password", User::getPassword, User::setPassword, PasswordUtil.encryptPassword(updatedInfo.getPassword()));
         }
         if (updatedInfo.getBio() != null && !updatedInfo.getBio().isBlank()) {
-            user.setBio(updatedInfo.getBio());
+            patch.set("bio", User::getBio, User::setBio, updatedInfo.getBio());
         }
         if (updatedInfo.getName() != null && !updatedInfo.getName().isBlank()) {
-            user.setName(updatedInfo.getName());
+            patch.set("name", User::getName, User::setName, updatedInfo.getName());
         }
         if (updatedInfo.getPicture() != null && !updatedInfo.getPicture().isBlank()) {
-            user.setPicture(updatedInfo.getPicture());
+            if (avatarService.isInline(updatedInfo.getPicture())) {
+                StoredAvatar avatar;
+                try {
+                    avatar = avatarService.storeInline(updatedInfo.getPicture());
+                } catch (IOException | InvalidInputException e) {
+                    return ServiceResult.failure(ServiceResult.Error.INVALID_INPUT, "Picture could not be processed: " + e.getMessage());
+                }
+                patch.set("picture", User::getPicture, User::setPicture, avatar.url())
+                        .set("pictureHash", User::getPictureHash, User::setPictureHash, avatar.hash());
+            } else {
+                patch.set("picture", User::getPicture, User::setPicture, updatedInfo.getPicture())
+                        .set("pictureHash", User::getPictureHash, User::setPictureHash, null);
+            }
+        }
+        try {
+            userRepository.applyPatch(patch);
+        } catch (DuplicateKeyException e) {
+            return ServiceResult.failure(ServiceResult.Error.ALREADY_EXISTS, "Username or email is already in use");
+        } catch (OptimisticLockingFailureException e) {
+            return ServiceResult.failure(ServiceResult.Error.CONFLICT, "User was modified by another request, please retry");
         }
-        userRepository.save(user);
+        return ServiceResult.ok();
     }
 }
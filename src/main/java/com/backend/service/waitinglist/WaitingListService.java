@@ -1,8 +1,16 @@
 package com.backend.service.waitinglist;
 
 import com.backend.dto.request.WaitingListDTO;
+import com.backend.dto.response.WaitingListPosition;
+import com.backend.shared.result.ServiceResult;
 
 public interface WaitingListService {
 
     void createWaitingList(WaitingListDTO waitingListDTO);
+
+    ServiceResult<Void> tryCreateWaitingList(WaitingListDTO waitingListDTO);
+
+    ServiceResult<WaitingListPosition> tryGetPosition(String email);
+
+    long getTotal();
 }
@@ -1,23 +1,59 @@
 package com.backend.service.waitinglist;
 
+import com.backend.config.WaitingListSequenceBackfill;
 import com.backend.dto.request.WaitingListDTO;
+import com.backend.dto.response.WaitingListPosition;
 import com.backend.model.waitingList.WaitingList;
 import com.backend.repository.waitinglist.WaitingListRepository;
-import com.backend.shared.exception.AlreadyExistException;
+import com.backend.service.counter.CounterServiceImpl;
+import com.backend.service.domain.EmailDomainServiceImpl;
 import com.backend.shared.exception.InvalidInputException;
+import com.backend.shared.result.ServiceResult;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entries are numbered from the {@value #SEQUENCE} counter when they are inserted, so a position is
+ * the number of lower sequences, answered from the sequence index. The public total is kept in
+ * memory: local signups bump it, and it is reconciled with Mongo's collection count on a schedule
+ * to pick up signups on other instances and deletions.
+ */
 @Service
 @Slf4j
+@Timed("service.waitinglist")
 public class WaitingListServiceImpl implements WaitingListService {
 
+    public static final String SEQUENCE = "waitingList";
+
     @Autowired
     private WaitingListRepository waitingListRepository;
 
+    @Autowired
+    private EmailDomainServiceImpl emailDomainService;
+
+    @Autowired
+    private CounterServiceImpl counterService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private WaitingListSequenceBackfill sequenceBackfill;
+
     private final ModelMapper modelMapper = new ModelMapper();
+    private final AtomicLong total = new AtomicLong(-1);
 
     public boolean existingWaitingListUser(String email) {
         if (email == null || email.trim().isEmpty()) {
@@ -28,34 +64,82 @@ public class WaitingListServiceImpl implements WaitingListService {
 
     @Override
     public void createWaitingList(WaitingListDTO waitingListDTO) {
+        tryCreateWaitingList(waitingListDTO).orElseThrow();
+    }
+
+    @Override
+    public ServiceResult<Void> tryCreateWaitingList(WaitingListDTO waitingListDTO) {
         if (waitingListDTO == null) {
-            throw new InvalidInputException("Waiting list request cannot be null");
+            return ServiceResult.failure(ServiceResult.Error.INVALID_INPUT, "Waiting list request cannot be null");
         }
 
         String email = waitingListDTO.getEmail();
         String name = waitingListDTO.getName();
 
         if (email == null || email.trim().isEmpty()) {
-            throw new InvalidInputException("Email is required");
+            return ServiceResult.failure(ServiceResult.Error.INVALID_INPUT, "Email is required");
         }
         if (name == null || name.trim().isEmpty()) {
-            throw new InvalidInputException("Name is required");
+            return ServiceResult.failure(ServiceResult.Error.INVALID_INPUT, "Name is required");
+        }
+        if (emailDomainService.isDisposable(email)) {
+            return ServiceResult.failure(ServiceResult.Error.INVALID_INPUT, "Disposable email addresses are not allowed");
         }
         if (existingWaitingListUser(email)) {
-            throw new AlreadyExistException("You are already on our waiting list, we will keep you in touch");
+            return ServiceResult.failure(ServiceResult.Error.ALREADY_EXISTS, "You are already on our waiting list, we will keep you in touch");
         }
 
         WaitingList newWaitingList = new WaitingList();
         modelMapper.map(waitingListDTO, newWaitingList);
         newWaitingList.setName(name.trim());
         newWaitingList.setEmail(email.trim());
+        newWaitingList.setCreatedAt(Instant.now());
 
         try {
-            waitingListRepository.save(newWaitingList);
+            if (!sequenceBackfill.ensureCompleted()) {
+                throw new IllegalStateException("Existing waiting list entries have not been numbered yet");
+            }
+            // A duplicate burns a sequence value; positions count entries, so gaps do not matter.
+            newWaitingList.setSequence(counterService.next(SEQUENCE));
+            waitingListRepository.insert(newWaitingList);
+            total.updateAndGet(current -> current < 0 ? current : current + 1);
             log.info("Successfully added {} to waiting list", email);
+        } catch (DuplicateKeyException e) {
+            return ServiceResult.failure(ServiceResult.Error.ALREADY_EXISTS, "You are already on our waiting list, we will keep you in touch");
         } catch (Exception e) {
             log.error("Failed to save waiting list entry for {}: {}", email, e.getMessage());
             throw new RuntimeException("Failed to process waiting list registration due to a system error", e);
         }
+        return ServiceResult.ok();
+    }
+
+    @Override
+    public ServiceResult<WaitingListPosition> tryGetPosition(String email) {
+        if (email == null || email.trim().isEmpty()) {
+            return ServiceResult.failure(ServiceResult.Error.INVALID_INPUT, "Email is required");
+        }
+        Optional<WaitingList> entry = waitingListRepository.findByEmail(email.trim());
+        if (entry.isEmpty()) {
+            return ServiceResult.failure(ServiceResult.Error.NOT_FOUND, "You are not on our waiting list");
+        }
+        // Entries the backfill has not numbered yet fall back to signup (ObjectId) order.
+        Criteria before = entry.get().getSequence() != null
+                ? Criteria.where("sequence").lt(entry.get().getSequence())
+                : Criteria.where("_id").lt(entry.get().getId());
+        long ahead = mongoTemplate.count(Query.query(before), WaitingList.class);
+        return ServiceResult.ok(new WaitingListPosition(ahead + 1, Math.max(getTotal(), ahead + 1)));
+    }
+
+    @Override
+    public long getTotal() {
+        long current = total.get();
+        return current >= 0 ? current : reconcileTotal();
+    }
+
+    @Scheduled(fixedDelayString = "${waitinglist.total.reconcile-interval-ms:60000}")
+    public long reconcileTotal() {
+        long counted = mongoTemplate.estimatedCount(WaitingList.class);
+        total.set(counted);
+        return counted;
     }
-}
\ No newline at end of file
+}
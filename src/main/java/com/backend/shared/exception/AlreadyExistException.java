@@ -1,6 +1,6 @@
 package com.backend.shared.exception;
 
-public class AlreadyExistException extends RuntimeException{
+public class AlreadyExistException extends DomainException {
     public AlreadyExistException(String message) {
         super(message);
     }
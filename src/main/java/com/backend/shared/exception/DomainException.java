@@ -0,0 +1,13 @@
+package com.backend.shared.exception;
+
+/**
+ * Base for exceptions that signal expected business outcomes (duplicate signup, unknown user, bad
+ * input). They skip stack trace capture and suppression bookkeeping, since the message is all any
+ * handler uses and filling in the stack dominates the cost under signup or login floods.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,6 +1,6 @@
 package com.backend.shared.exception;
 
-public class GithubNotFoundException extends RuntimeException {
+public class GithubNotFoundException extends DomainException {
     public GithubNotFoundException(String message) {
         super(message);
     }
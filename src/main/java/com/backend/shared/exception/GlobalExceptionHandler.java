@@ -18,7 +18,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(GithubNotFoundException.class)
     public ResponseEntity<ResponseDetails> handleGithubNotFoundException(GithubNotFoundException ex) {
-        log.error("Not found error: {}", ex.getMessage(), ex);
+        log.warn("Not found error: {}", ex.getMessage());
         ResponseDetails error = new ResponseDetails(LocalDateTime.now(), ex.getMessage(), HttpStatus.NOT_FOUND.toString(), null);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
@@ -39,9 +39,16 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
 
+    @ExceptionHandler(InvalidInputException.class)
+    public ResponseEntity<ResponseDetails> handleInvalidInputException(InvalidInputException ex) {
+        log.warn("Invalid input: {}", ex.getMessage());
+        ResponseDetails error = new ResponseDetails(LocalDateTime.now(), ex.getMessage(), HttpStatus.BAD_REQUEST.toString(), null);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ResponseDetails> handleValidationException(MethodArgumentNotValidException ex) {
-        log.error("Validation error: {}", ex.getMessage(), ex);
+        log.warn("Validation error: {}", ex.getMessage());
         String errorMessage = ex.getBindingResult().getFieldErrors().stream()
                 .map(error -> error.getField() + ": " + error.getDefaultMessage())
                 .reduce((msg1, msg2) -> msg1 + "; " + msg2)
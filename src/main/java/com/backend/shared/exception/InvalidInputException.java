@@ -1,6 +1,6 @@
 package com.backend.shared.exception;
 
-public class InvalidInputException extends RuntimeException {
+public class InvalidInputException extends DomainException {
     public InvalidInputException(String message) {
         super(message);
     }
@@ -0,0 +1,7 @@
+package com.backend.shared.exception;
+
+public class InvalidRefreshTokenException extends DomainException {
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,6 @@
 package com.backend.shared.exception;
 
-public class PasswordOrEmailException extends RuntimeException {
+public class PasswordOrEmailException extends DomainException {
     public PasswordOrEmailException(String message, Throwable invalidPasswordLength) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package com.backend.shared.exception;
 
-public class UserNotVerified extends RuntimeException{
+public class UserNotVerified extends DomainException {
 
     public UserNotVerified(String message) {
         super(message);
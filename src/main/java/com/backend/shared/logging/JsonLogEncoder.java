@@ -0,0 +1,208 @@
+package com.backend.shared.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.StackTraceElementProxy;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Writes each event as one line of JSON straight into a reused per-thread UTF-8 buffer, so no
+ * intermediate strings are built per field. Throwables are written with their class and message,
+ * and with a stack trace only when {@code includeStackTraces} is on.
+ */
+public class JsonLogEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final ThreadLocal<JsonBuffer> BUFFER = ThreadLocal.withInitial(JsonBuffer::new);
+
+    private boolean includeStackTraces = true;
+    private int maxStackDepth = 30;
+
+    public void setIncludeStackTraces(boolean includeStackTraces) {
+        this.includeStackTraces = includeStackTraces;
+    }
+
+    public void setMaxStackDepth(int maxStackDepth) {
+        this.maxStackDepth = maxStackDepth;
+    }
+
+    @Override
+    public byte[] headerBytes() {
+        return EMPTY;
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return EMPTY;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        JsonBuffer out = BUFFER.get();
+        out.reset();
+        out.raw("{\"ts\":").number(event.getTimeStamp());
+        out.raw(",\"level\":").string(event.getLevel().levelStr);
+        out.raw(",\"logger\":").string(event.getLoggerName());
+        out.raw(",\"thread\":").string(event.getThreadName());
+        out.raw(",\"msg\":").string(event.getFormattedMessage());
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null && !mdc.isEmpty()) {
+            out.raw(",\"mdc\":{");
+            boolean first = true;
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                if (!first) {
+                    out.raw(",");
+                }
+                out.string(entry.getKey()).raw(":").string(entry.getValue());
+                first = false;
+            }
+            out.raw("}");
+        }
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            out.raw(",\"error\":");
+            writeThrowable(out, throwable, 0);
+        }
+        out.raw("}\n");
+        return out.toByteArray();
+    }
+
+    private void writeThrowable(JsonBuffer out, IThrowableProxy throwable, int depth) {
+        out.raw("{\"type\":").string(throwable.getClassName());
+        out.raw(",\"message\":").string(throwable.getMessage());
+        if (includeStackTraces) {
+            StackTraceElementProxy[] frames = throwable.getStackTraceElementProxyArray();
+            int limit = Math.min(frames.length - throwable.getCommonFrames(), maxStackDepth);
+            out.raw(",\"stack\":[");
+            for (int i = 0; i < limit; i++) {
+                if (i > 0) {
+                    out.raw(",");
+                }
+                StackTraceElement element = frames[i].getStackTraceElement();
+                out.raw("\"");
+                out.chars(element.getClassName()).raw(".").chars(element.getMethodName()).raw(":");
+                out.number(element.getLineNumber());
+                out.raw("\"");
+            }
+            out.raw("]");
+        }
+        IThrowableProxy cause = throwable.getCause();
+        if (cause != null && cause != throwable && depth < 5) {
+            out.raw(",\"cause\":");
+            writeThrowable(out, cause, depth + 1);
+        }
+        out.raw("}");
+    }
+
+    private static final class JsonBuffer {
+        private byte[] bytes = new byte[1024];
+        private int length;
+
+        void reset() {
+            if (bytes.length > 64 * 1024) {
+                bytes = new byte[1024];
+            }
+            length = 0;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+
+        JsonBuffer raw(String ascii) {
+            ensure(ascii.length());
+            for (int i = 0; i < ascii.length(); i++) {
+                bytes[length++] = (byte) ascii.charAt(i);
+            }
+            return this;
+        }
+
+        JsonBuffer number(long value) {
+            if (value == Long.MIN_VALUE) {
+                return raw("-9223372036854775808");
+            }
+            ensure(20);
+            if (value < 0) {
+                bytes[length++] = '-';
+                value = -value;
+            }
+            int start = length;
+            do {
+                bytes[length++] = (byte) ('0' + (value % 10));
+                value /= 10;
+            } while (value > 0);
+            for (int i = start, j = length - 1; i < j; i++, j--) {
+                byte tmp = bytes[i];
+                bytes[i] = bytes[j];
+                bytes[j] = tmp;
+            }
+            return this;
+        }
+
+        JsonBuffer string(String value) {
+            if (value == null) {
+                return raw("null");
+            }
+            raw("\"");
+            chars(value);
+            return raw("\"");
+        }
+
+        JsonBuffer chars(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                ensure(6);
+                if (c == '"' || c == '\\') {
+                    bytes[length++] = '\\';
+                    bytes[length++] = (byte) c;
+                } else if (c < 0x20) {
+                    writeControl(c);
+                } else if (c < 0x80) {
+                    bytes[length++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[length++] = (byte) (0xC0 | (c >> 6));
+                    bytes[length++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    bytes[length++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    bytes[length++] = '?';
+                } else {
+                    bytes[length++] = (byte) (0xE0 | (c >> 12));
+                    bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            return this;
+        }
+
+        private void writeControl(char c) {
+            bytes[length++] = '\\';
+            switch (c) {
+                case '\n' -> bytes[length++] = 'n';
+                case '\r' -> bytes[length++] = 'r';
+                case '\t' -> bytes[length++] = 't';
+                default -> {
+                    bytes[length++] = 'u';
+                    bytes[length++] = '0';
+                    bytes[length++] = '0';
+                    bytes[length++] = HEX[c >> 4];
+                    bytes[length++] = HEX[c & 0xF];
+                }
+            }
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.backend.shared.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Samples repetitive log statements. Events are keyed by logger and message template; within each
+ * interval the first {@code burst} events of a key pass, and after that only one in
+ * {@code sampleRate} does. Events above {@code maxSampledLevel} are never sampled.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final ConcurrentMap<String, ConcurrentMap<String, Window>> windows = new ConcurrentHashMap<>();
+    private final AtomicInteger trackedKeys = new AtomicInteger();
+
+    private int burst = 20;
+    private int sampleRate = 100;
+    private long intervalMillis = 1000;
+    private int maxTrackedKeys = 10_000;
+    private Level maxSampledLevel = Level.WARN;
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    public void setIntervalMillis(long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+    }
+
+    public void setMaxTrackedKeys(int maxTrackedKeys) {
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    public void setMaxSampledLevel(String level) {
+        this.maxSampledLevel = Level.toLevel(level, Level.WARN);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null || level == null || level.toInt() > maxSampledLevel.toInt() || !logger.isEnabledFor(level)) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = window(logger.getName(), format);
+        if (window == null) {
+            return FilterReply.NEUTRAL;
+        }
+        return window.admit(System.currentTimeMillis()) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private Window window(String loggerName, String format) {
+        ConcurrentMap<String, Window> byFormat = windows.get(loggerName);
+        if (byFormat == null) {
+            byFormat = windows.computeIfAbsent(loggerName, name -> new ConcurrentHashMap<>());
+        }
+        Window window = byFormat.get(format);
+        if (window != null) {
+            return window;
+        }
+        if (trackedKeys.get() >= maxTrackedKeys) {
+            return null;
+        }
+        return byFormat.computeIfAbsent(format, key -> {
+            trackedKeys.incrementAndGet();
+            return new Window();
+        });
+    }
+
+    private final class Window {
+        private final AtomicLong windowStart = new AtomicLong();
+        private final AtomicInteger count = new AtomicInteger();
+
+        boolean admit(long now) {
+            long start = windowStart.get();
+            if (now - start >= intervalMillis && windowStart.compareAndSet(start, now)) {
+                count.set(0);
+            }
+            int seen = count.incrementAndGet();
+            return seen <= burst || (seen - burst) % sampleRate == 0;
+        }
+    }
+}
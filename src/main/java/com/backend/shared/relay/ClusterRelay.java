@@ -0,0 +1,13 @@
+package com.backend.shared.relay;
+
+/**
+ * Carries broker messages published on this node to the other nodes, which hand them to their
+ * local subscribers. Implementations must not deliver a message back to the node it came from.
+ */
+public interface ClusterRelay {
+
+    /** Header set on messages replayed from the relay so they are not published again. */
+    String RELAYED_HEADER = "x-cluster-relayed";
+
+    void publish(String destination, String contentType, byte[] payload);
+}
@@ -0,0 +1,249 @@
+package com.backend.shared.relay;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Relays broker messages through a MongoDB collection and its change stream, so it needs a replica
+ * set (a single-node one is enough). One worker thread per node runs in ticks: each tick inserts the
+ * messages queued since the last one with a single {@code insertMany}, then replays every insert
+ * from other nodes to the local broker. Ids already replayed are skipped, which covers events seen
+ * again after the stream resumes. Documents expire after {@code retention}.
+ *
+ * <p>Mongo is only touched from the worker, so an unreachable server delays the relay rather than
+ * application startup. Messages published meanwhile wait in a bounded queue that drops the oldest
+ * once {@value #MAX_OUTBOUND} are pending.
+ */
+@Slf4j
+public class MongoChangeStreamRelay implements ClusterRelay, SmartLifecycle {
+
+    private static final int MAX_BATCH = 500;
+    static final int MAX_OUTBOUND = 10_000;
+    private static final int DEDUP_WINDOW = 10_000;
+
+    private final MongoTemplate mongoTemplate;
+    private final String collectionName;
+    private final Duration tick;
+    private final Duration retention;
+    private final Supplier<MessageChannel> localBroker;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final BlockingQueue<Document> outbound = new ArrayBlockingQueue<>(MAX_OUTBOUND);
+    private final AtomicLong dropped = new AtomicLong();
+    private final Map<String, Boolean> replayed = new LinkedHashMap<>(1024, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > DEDUP_WINDOW;
+        }
+    };
+
+    private volatile boolean running;
+    private Thread worker;
+    private BsonDocument resumeToken;
+    private boolean ttlIndexCreated;
+
+    public MongoChangeStreamRelay(MongoTemplate mongoTemplate, String collectionName, Duration tick, Duration retention,
+                                  Supplier<MessageChannel> localBroker) {
+        this.mongoTemplate = mongoTemplate;
+        this.collectionName = collectionName;
+        this.tick = tick;
+        this.retention = retention;
+        this.localBroker = localBroker;
+    }
+
+    @Override
+    public void publish(String destination, String contentType, byte[] payload) {
+        Document document = new Document("_id", UUID.randomUUID().toString())
+                .append("origin", nodeId)
+                .append("destination", destination)
+                .append("contentType", contentType)
+                .append("payload", new Binary(payload))
+                .append("createdAt", new Date());
+        while (!outbound.offer(document)) {
+            if (outbound.poll() != null) {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "stomp-relay");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("STOMP cluster relay started on {} as node {}", collectionName, nodeId);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(tick.toMillis() * 4 + 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushOutbound();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                ensureTtlIndex();
+                relay();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (MongoException e) {
+                log.warn("STOMP relay change stream failed, reopening: {}", e.getMessage());
+                sleepQuietly(Math.max(1000, tick.toMillis()));
+            } catch (RuntimeException e) {
+                log.error("STOMP relay worker failed, restarting: {}", e.getMessage(), e);
+                sleepQuietly(Math.max(1000, tick.toMillis()));
+            }
+            reportDropped();
+        }
+    }
+
+    private void ensureTtlIndex() {
+        if (!ttlIndexCreated) {
+            mongoTemplate.indexOps(collectionName).createIndex(
+                    new Index().on("createdAt", Sort.Direction.ASC).expire(retention).named(collectionName + "_ttl"));
+            ttlIndexCreated = true;
+        }
+    }
+
+    private void relay() throws InterruptedException {
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = openCursor()) {
+            while (running) {
+                long tickStart = System.nanoTime();
+                flushOutbound();
+                replay(cursor);
+                long remaining = tick.toNanos() - (System.nanoTime() - tickStart);
+                if (remaining > 0) {
+                    TimeUnit.NANOSECONDS.sleep(remaining);
+                }
+            }
+        }
+    }
+
+    private void reportDropped() {
+        long count = dropped.getAndSet(0);
+        if (count > 0) {
+            log.warn("Dropped {} queued STOMP messages because the relay fell behind", count);
+        }
+    }
+
+    int pending() {
+        return outbound.size();
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> openCursor() {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(collectionName)
+                .watch(List.of(Aggregates.match(Filters.and(
+                        Filters.eq("operationType", "insert"),
+                        Filters.ne("fullDocument.origin", nodeId)))))
+                .maxAwaitTime(1, TimeUnit.MILLISECONDS);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+        return stream.cursor();
+    }
+
+    private void flushOutbound() {
+        reportDropped();
+        List<Document> batch = new ArrayList<>();
+        Document next;
+        while (batch.size() < MAX_BATCH && (next = outbound.poll()) != null) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            mongoTemplate.getCollection(collectionName).insertMany(batch, new InsertManyOptions().ordered(false));
+        } catch (RuntimeException e) {
+            log.warn("Dropped {} relayed STOMP messages: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void replay(MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor) {
+        for (int i = 0; i < MAX_BATCH; i++) {
+            ChangeStreamDocument<Document> event = cursor.tryNext();
+            if (event == null) {
+                break;
+            }
+            Document document = event.getFullDocument();
+            if (document == null || replayed.put(document.getString("_id"), Boolean.TRUE) != null) {
+                continue;
+            }
+            deliver(document);
+        }
+        BsonDocument token = cursor.getResumeToken();
+        if (token != null) {
+            resumeToken = token;
+        }
+    }
+
+    private void deliver(Document document) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(document.getString("destination"));
+        String contentType = document.getString("contentType");
+        if (contentType != null) {
+            accessor.setContentType(MimeType.valueOf(contentType));
+        }
+        accessor.setHeader(RELAYED_HEADER, Boolean.TRUE);
+        byte[] payload = document.get("payload", Binary.class).getData();
+        try {
+            localBroker.get().send(MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to replay STOMP message to {}: {}", accessor.getDestination(), e.getMessage());
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.backend.shared.relay;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+/**
+ * Copies serialized messages headed for the broker prefix to the {@link ClusterRelay} while letting
+ * them continue to the local broker unchanged.
+ */
+public class RelayChannelInterceptor implements ChannelInterceptor {
+
+    private final ClusterRelay relay;
+    private final String destinationPrefix;
+
+    public RelayChannelInterceptor(ClusterRelay relay, String destinationPrefix) {
+        this.relay = relay;
+        this.destinationPrefix = destinationPrefix;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        MessageHeaders headers = message.getHeaders();
+        if (SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE
+                || headers.containsKey(ClusterRelay.RELAYED_HEADER)
+                || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        if (destination != null && destination.startsWith(destinationPrefix)) {
+            Object contentType = headers.get(MessageHeaders.CONTENT_TYPE);
+            relay.publish(destination, contentType != null ? contentType.toString() : null, payload);
+        }
+        return message;
+    }
+}
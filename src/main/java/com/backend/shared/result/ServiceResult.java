@@ -0,0 +1,80 @@
+package com.backend.shared.result;
+
+import com.backend.shared.exception.AlreadyExistException;
+import com.backend.shared.exception.InvalidInputException;
+import com.backend.shared.exception.PasswordOrEmailException;
+import com.backend.shared.exception.UserNotFoundException;
+import com.backend.shared.exception.UserNotVerified;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Outcome of a service call that can fail for routine business reasons. Controllers branch on
+ * {@link #getError()} instead of catching exceptions; {@link #orElseThrow()} restores the throwing
+ * behaviour for callers that prefer it.
+ */
+public final class ServiceResult<T> {
+
+    public enum Error {
+        INVALID_INPUT,
+        WEAK_PASSWORD,
+        ALREADY_EXISTS,
+        NOT_FOUND,
+        NOT_VERIFIED,
+        CONFLICT
+    }
+
+    private static final ServiceResult<Void> OK = new ServiceResult<>(null, null, null);
+
+    private final T value;
+    private final Error error;
+    private final String message;
+
+    private ServiceResult(T value, Error error, String message) {
+        this.value = value;
+        this.error = error;
+        this.message = message;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> ServiceResult<T> ok() {
+        return (ServiceResult<T>) OK;
+    }
+
+    public static <T> ServiceResult<T> ok(T value) {
+        return new ServiceResult<>(value, null, null);
+    }
+
+    public static <T> ServiceResult<T> failure(Error error, String message) {
+        return new ServiceResult<>(null, error, message);
+    }
+
+    public boolean isOk() {
+        return error == null;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public Error getError() {
+        return error;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public T orElseThrow() {
+        if (error == null) {
+            return value;
+        }
+        switch (error) {
+            case INVALID_INPUT -> throw new InvalidInputException(message);
+            case WEAK_PASSWORD -> throw new PasswordOrEmailException(message, null);
+            case ALREADY_EXISTS -> throw new AlreadyExistException(message);
+            case NOT_VERIFIED -> throw new UserNotVerified(message);
+            case CONFLICT -> throw new OptimisticLockingFailureException(message);
+            default -> throw new UserNotFoundException(message);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.backend.benchmark;
+
+import com.backend.config.GitWindowCacheConfig;
+import com.backend.model.github.MetricsSummary;
+import com.backend.service.github.metrics.CommitMetricsEngine;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.storage.file.WindowCacheConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-history metrics over a large local repository, serial against the fork/join split, with
+ * JGit's default window cache against the tuned one. Point {@code benchmark.repo} at a clone (bare
+ * or not) with a long history, e.g. a mirror of spring-framework, and run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.backend.benchmark.CommitMetricsBenchmark -Dbenchmark.repo=/path/to/repo}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CommitMetricsBenchmark {
+
+    @Param({"1", "4", "8"})
+    public int parallelism;
+
+    @Param({"default", "tuned"})
+    public String windowCache;
+
+    private Repository repository;
+    private ObjectId head;
+    private CommitMetricsEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String path = System.getProperty("benchmark.repo");
+        if (path == null || path.isBlank()) {
+            throw new IllegalStateException("Set -Dbenchmark.repo to a local repository with a long history");
+        }
+        WindowCacheConfig config = "tuned".equals(windowCache)
+                ? GitWindowCacheConfig.tuned(GitWindowCacheConfig.defaultLimit(Runtime.getRuntime().maxMemory()))
+                : new WindowCacheConfig();
+        config.install();
+        File dotGit = new File(path, Constants.DOT_GIT);
+        repository = new FileRepositoryBuilder().setGitDir(dotGit.isDirectory() ? dotGit : new File(path)).setMustExist(true).build();
+        head = repository.resolve(Constants.HEAD);
+        engine = new CommitMetricsEngine(parallelism, 20, Integer.MAX_VALUE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.shutdown();
+        repository.close();
+    }
+
+    @Benchmark
+    public MetricsSummary fullHistory() throws Exception {
+        return engine.compute(repository, head);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(CommitMetricsBenchmark.class.getSimpleName())
+                .jvmArgsAppend("-Dbenchmark.repo=" + System.getProperty("benchmark.repo", ""))
+                .build()).run();
+    }
+}
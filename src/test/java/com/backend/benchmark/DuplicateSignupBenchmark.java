@@ -0,0 +1,81 @@
+package com.backend.benchmark;
+
+import com.backend.shared.exception.AlreadyExistException;
+import com.backend.shared.result.ServiceResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rejecting a duplicate signup at a realistic call depth: a stack-capturing exception (the
+ * previous behaviour), the stackless domain exception, and the exception-free {@link ServiceResult}
+ * path. {@code depth} approximates the Tomcat, Spring Security and MVC frames above the service.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.backend.benchmark.DuplicateSignupBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DuplicateSignupBenchmark {
+
+    private static final String MESSAGE = "Username already exists";
+
+    @Param({"20", "150"})
+    public int depth;
+
+    static final class StackfulAlreadyExistException extends RuntimeException {
+        StackfulAlreadyExistException(String message) {
+            super(message);
+        }
+    }
+
+    @Benchmark
+    public String stackfulException() {
+        try {
+            return descend(depth, 0);
+        } catch (StackfulAlreadyExistException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String stacklessException() {
+        try {
+            return descend(depth, 1);
+        } catch (AlreadyExistException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String serviceResult() {
+        return descend(depth, 2);
+    }
+
+    private static String descend(int remaining, int mode) {
+        if (remaining > 0) {
+            return descend(remaining - 1, mode);
+        }
+        switch (mode) {
+            case 0 -> throw new StackfulAlreadyExistException(MESSAGE);
+            case 1 -> throw new AlreadyExistException(MESSAGE);
+            default -> {
+                ServiceResult<Void> result = ServiceResult.failure(ServiceResult.Error.ALREADY_EXISTS, MESSAGE);
+                return result.isOk() ? null : result.getMessage();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(DuplicateSignupBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
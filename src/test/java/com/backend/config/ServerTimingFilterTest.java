@@ -0,0 +1,93 @@
+package com.backend.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServerTimingFilterTest {
+
+    private static final Pattern DB_AND_TOTAL = Pattern.compile("db;dur=(\\d+\\.\\d{3}), total;dur=(\\d+\\.\\d{3})");
+
+    private ServerTimingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ServerTimingFilter();
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "slowThresholdMs", 1000L);
+        filter.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestTimings.setEnabled(false);
+    }
+
+    @Test
+    public void testTimedPathsReportDbAndTotal() throws Exception {
+        for (String path : new String[]{"/api/auth/login", "/api/user/me", "/waiting-list/position"}) {
+            MockHttpServletResponse response = run(path);
+
+            String header = response.getHeader("Server-Timing");
+            assertNotNull(header, path);
+            Matcher matcher = DB_AND_TOTAL.matcher(header);
+            assertTrue(matcher.matches(), header);
+            assertEquals("3.000", matcher.group(1));
+            assertTrue(Double.parseDouble(matcher.group(2)) >= 0, header);
+            assertEquals("{\"ok\":true}", response.getContentAsString());
+        }
+    }
+
+    @Test
+    public void testOtherPathsAreNotTimed() throws Exception {
+        for (String path : new String[]{"/api/github/repos", "/api/user/avatars/abc/256.jpg", "/actuator/health", "/api/authx"}) {
+            MockHttpServletResponse response = run(path);
+
+            assertNull(response.getHeader("Server-Timing"), path);
+            assertEquals("{\"ok\":true}", response.getContentAsString());
+        }
+    }
+
+    @Test
+    public void testDisabledFilterAddsNoHeader() throws Exception {
+        ReflectionTestUtils.setField(filter, "enabled", false);
+        filter.init();
+
+        assertNull(run("/api/auth/login").getHeader("Server-Timing"));
+        assertFalse(RequestTimings.isEnabled());
+    }
+
+    @Test
+    public void testTimeOutsideARequestIsNotCounted() throws Exception {
+        RequestTimings.add(RequestTimings.Phase.MONGO, TimeUnit.SECONDS.toNanos(5));
+
+        MockHttpServletResponse response = run("/api/user/me");
+
+        Matcher matcher = DB_AND_TOTAL.matcher(response.getHeader("Server-Timing"));
+        assertTrue(matcher.matches());
+        assertEquals("3.000", matcher.group(1));
+    }
+
+    // Stands in for a controller that spends 3ms in Mongo before writing its body.
+    private MockHttpServletResponse run(String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            RequestTimings.add(RequestTimings.Phase.MONGO, TimeUnit.MILLISECONDS.toNanos(3));
+            res.getOutputStream().write("{\"ok\":true}".getBytes(StandardCharsets.UTF_8));
+        };
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,58 @@
+package com.backend.config;
+
+import com.backend.model.user.User;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class UserVersionBackfillTest {
+
+    private MongoTemplate mongoTemplate;
+    private UserVersionBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        backfill = new UserVersionBackfill();
+        ReflectionTestUtils.setField(backfill, "mongoTemplate", mongoTemplate);
+    }
+
+    @Test
+    public void testUnversionedUsersStartAtZero() {
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(User.class))).thenReturn(UpdateResult.acknowledged(3, 3L, null));
+
+        backfill.run(null);
+        backfill.retry();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(query.capture(), update.capture(), eq(User.class));
+        assertEquals(new Document("version", new Document("$exists", false)), query.getValue().getQueryObject());
+        assertEquals(new Document("$set", new Document("version", 0L)), update.getValue().getUpdateObject());
+    }
+
+    @Test
+    public void testUnreachableMongoIsRetriedUntilTheBackfillCompletes() {
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(User.class)))
+                .thenThrow(new DataAccessResourceFailureException("Timed out"))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertDoesNotThrow(() -> backfill.run(null));
+        backfill.retry();
+        backfill.retry();
+
+        verify(mongoTemplate, times(2)).updateMulti(any(Query.class), any(Update.class), eq(User.class));
+    }
+}
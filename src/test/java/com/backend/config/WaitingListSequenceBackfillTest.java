@@ -0,0 +1,128 @@
+package com.backend.config;
+
+import com.backend.model.waitingList.WaitingList;
+import com.backend.service.counter.CounterServiceImpl;
+import com.backend.service.waitinglist.WaitingListServiceImpl;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class WaitingListSequenceBackfillTest {
+
+    private MongoTemplate mongoTemplate;
+    private CounterServiceImpl counterService;
+    private BulkOperations bulk;
+    private WaitingListSequenceBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        counterService = mock(CounterServiceImpl.class);
+        bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WaitingList.class)).thenReturn(bulk);
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(bulk.execute()).thenReturn(result);
+        backfill = new WaitingListSequenceBackfill();
+        ReflectionTestUtils.setField(backfill, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(backfill, "counterService", counterService);
+    }
+
+    @Test
+    public void testLegacyEntriesAreNumberedInOneBulkWritePerBatch() {
+        when(mongoTemplate.findOne(any(Query.class), eq(WaitingList.class))).thenReturn(entry(new ObjectId().toHexString(), 7L));
+        List<WaitingList> firstBatch = legacy(500);
+        List<WaitingList> secondBatch = legacy(2);
+        when(mongoTemplate.find(any(Query.class), eq(WaitingList.class))).thenReturn(firstBatch, secondBatch);
+        when(counterService.reserve(WaitingListServiceImpl.SEQUENCE, 500)).thenReturn(8L);
+        when(counterService.reserve(WaitingListServiceImpl.SEQUENCE, 2)).thenReturn(508L);
+
+        backfill.run(null);
+
+        verify(counterService).advanceTo(WaitingListServiceImpl.SEQUENCE, 7L);
+        verify(counterService, never()).next(any());
+        verify(bulk, times(2)).execute();
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(502)).updateOne(queries.capture(), updates.capture());
+        assertEquals(new Document("_id", firstBatch.get(0).getId()).append("sequence", new Document("$exists", false)),
+                queries.getAllValues().get(0).getQueryObject());
+        Document first = (Document) updates.getAllValues().get(0).getUpdateObject().get("$set");
+        assertEquals(8L, first.get("sequence"));
+        assertEquals(Instant.ofEpochSecond(new ObjectId(firstBatch.get(0).getId()).getTimestamp()), first.get("createdAt"));
+        assertEquals(509L, ((Document) updates.getAllValues().get(501).getUpdateObject().get("$set")).get("sequence"));
+    }
+
+    @Test
+    public void testUnreachableMongoDoesNotFailStartupAndIsRetried() {
+        when(mongoTemplate.findOne(any(Query.class), eq(WaitingList.class)))
+                .thenThrow(new DataAccessResourceFailureException("Timed out"))
+                .thenReturn(null);
+        when(mongoTemplate.find(any(Query.class), eq(WaitingList.class))).thenReturn(List.of());
+
+        assertDoesNotThrow(() -> backfill.run(null));
+        backfill.retry();
+        backfill.retry();
+
+        verify(mongoTemplate, times(2)).findOne(any(Query.class), eq(WaitingList.class));
+        verify(counterService, never()).reserve(any(), anyInt());
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(WaitingList.class));
+    }
+
+    @Test
+    public void testSignupsRunThePendingBackfillFirst() {
+        when(mongoTemplate.findOne(any(Query.class), eq(WaitingList.class)))
+                .thenThrow(new DataAccessResourceFailureException("Timed out"))
+                .thenReturn(null);
+        when(mongoTemplate.find(any(Query.class), eq(WaitingList.class))).thenReturn(List.of());
+
+        backfill.run(null);
+
+        assertTrue(backfill.ensureCompleted());
+        assertTrue(backfill.ensureCompleted());
+        backfill.retry();
+        verify(mongoTemplate, times(2)).findOne(any(Query.class), eq(WaitingList.class));
+    }
+
+    @Test
+    public void testSignupsAreHeldBackWhileTheBackfillCannotRun() {
+        when(mongoTemplate.findOne(any(Query.class), eq(WaitingList.class))).thenThrow(new DataAccessResourceFailureException("Timed out"));
+
+        backfill.run(null);
+
+        assertFalse(backfill.ensureCompleted());
+        verify(mongoTemplate, times(2)).findOne(any(Query.class), eq(WaitingList.class));
+    }
+
+    private static List<WaitingList> legacy(int count) {
+        List<WaitingList> entries = new ArrayList<>();
+        long seconds = 1_600_000_000L;
+        for (int i = 0; i < count; i++) {
+            entries.add(entry(new ObjectId(Date.from(Instant.ofEpochSecond(seconds + i))).toHexString(), null));
+        }
+        return entries;
+    }
+
+    private static WaitingList entry(String id, Long sequence) {
+        return new WaitingList(id, id + "@example.com", "Name", sequence, null, null, null);
+    }
+}
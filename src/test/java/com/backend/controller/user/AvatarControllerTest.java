@@ -0,0 +1,144 @@
+package com.backend.controller.user;
+
+import com.backend.service.avatar.LocalBlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import jakarta.servlet.ServletOutputStream;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class AvatarControllerTest {
+
+    private static final String HASH = "a".repeat(64);
+    private static final String URL = "/api/user/avatars/" + HASH + "/128.png";
+    private static final String ETAG = "\"" + HASH + "-128.png\"";
+    private static final byte[] CONTENT = "0123456789".getBytes();
+
+    @TempDir
+    Path tempDir;
+
+    private AvatarController controller;
+    private MockMvc mockMvc;
+    private LocalBlobStore blobStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        blobStore = new LocalBlobStore(tempDir, "/api/user/avatars/");
+        blobStore.put(HASH + "/128.png", CONTENT, "image/png");
+        controller = new AvatarController(1024);
+        ReflectionTestUtils.setField(controller, "blobStore", blobStore);
+        ReflectionTestUtils.setField(controller, "maxCachedFileBytes", 64L);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void testServesWholeFileWithCachingHeaders() throws Exception {
+        mockMvc.perform(get(URL))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void testMatchingEtagIsNotModified() throws Exception {
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void testSingleRangesFromMemoryAndFromDisk() throws Exception {
+        for (long maxCached : new long[]{64L, 0L}) {
+            ReflectionTestUtils.setField(controller, "maxCachedFileBytes", maxCached);
+            mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=2-5"))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                    .andExpect(content().bytes(Arrays.copyOfRange(CONTENT, 2, 6)));
+            mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=-3"))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"))
+                    .andExpect(content().bytes(Arrays.copyOfRange(CONTENT, 7, 10)));
+            mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=8-100"))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 8-9/10"))
+                    .andExpect(content().bytes(Arrays.copyOfRange(CONTENT, 8, 10)));
+        }
+    }
+
+    @Test
+    void testUnsatisfiableRange() throws Exception {
+        mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=10-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+        mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=-0"))
+                .andExpect(status().isRequestedRangeNotSatisfiable());
+    }
+
+    @Test
+    void testMalformedOrMultipleRangesServeWholeFile() throws Exception {
+        for (String range : new String[]{"bytes=abc-def", "items=0-1", "bytes=0-1,4-5", "bytes=5-2", "bytes=-", "bytes=3"}) {
+            mockMvc.perform(get(URL).header(HttpHeaders.RANGE, range))
+                    .andExpect(status().isOk())
+                    .andExpect(content().bytes(CONTENT));
+        }
+    }
+
+    @Test
+    void testStaleIfRangeServesWholeFile() throws Exception {
+        mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=0-1").header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void testUnknownOrMissingAvatarIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/user/avatars/not-a-hash/128.png"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/user/avatars/" + "b".repeat(64) + "/128.png"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+    }
+
+    @Test
+    void testFileTruncatedAfterStatFailsInsteadOfLooping() {
+        ReflectionTestUtils.setField(controller, "maxCachedFileBytes", 0L);
+        Path file = blobStore.resolve(HASH + "/128.png");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", URL);
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+                    raf.setLength(4);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                return super.getOutputStream();
+            }
+        };
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                assertThrows(EOFException.class, () -> controller.serve(HASH, "128.png", request, response)));
+    }
+}
@@ -17,7 +17,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -53,4 +55,16 @@ public class WaitingListControllerTest {
                 .content(objectMapper.writeValueAsString(waitingListDTO)))
                 .andExpect(status().isCreated());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetPosition() throws Exception {
+        mockMvc.perform(post("/waiting-list/user")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(waitingListDTO)));
+        mockMvc.perform(get("/waiting-list/position").param("email", waitingListDTO.getEmail()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.position").isNumber());
+        mockMvc.perform(get("/waiting-list/position").param("email", "not-on-the-list@example.com"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,52 @@
+package com.backend.dto.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ResponseTemplateTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    public void testPreEncodedOutputMatchesJackson() throws Exception {
+        LocalDateTime[] timestamps = {
+                LocalDateTime.of(2025, 7, 1, 12, 30, 45, 123_456_789),
+                LocalDateTime.of(2025, 7, 1, 12, 30, 45),
+                LocalDateTime.of(2025, 7, 1, 12, 30)
+        };
+        for (LocalDateTime timestamp : timestamps) {
+            ResponseDetails details = new ResponseDetails(timestamp, "Your account has been created successfully", HttpStatus.CREATED.toString(), "/api/auth/register");
+            assertEquals(objectMapper.writeValueAsString(details),
+                    write(new PreEncodedJson(ResponseTemplate.details(details.getMessage(), HttpStatus.CREATED, "/api/auth/register"), timestamp, null)));
+
+            ResponseDetails dynamic = new ResponseDetails(timestamp, "Name \"is\" required ✓", HttpStatus.BAD_REQUEST.toString(), "/waiting-list/user");
+            assertEquals(objectMapper.writeValueAsString(dynamic),
+                    write(new PreEncodedJson(ResponseTemplate.detailsWithMessage(HttpStatus.BAD_REQUEST, "/waiting-list/user"), timestamp, dynamic.getMessage())));
+
+            String controls = "Line one\nLine two\r\n\tindented \b\f \u0000 \u0001 \u001f \u007f end";
+            ResponseDetails escaped = new ResponseDetails(timestamp, controls, HttpStatus.BAD_REQUEST.toString(), "/waiting-list/user");
+            assertEquals(objectMapper.writeValueAsString(escaped),
+                    write(new PreEncodedJson(ResponseTemplate.detailsWithMessage(HttpStatus.BAD_REQUEST, "/waiting-list/user"), timestamp, controls)));
+            assertEquals(objectMapper.writeValueAsString(escaped),
+                    write(new PreEncodedJson(ResponseTemplate.details(controls, HttpStatus.BAD_REQUEST, "/waiting-list/user"), timestamp, null)));
+
+            LoginResponse login = new LoginResponse("eyJhbGciOiJIUzI1NiJ9.e30.sig", "hZ3m1Q_refresh", new ResponseDetails(timestamp, "Login successful", HttpStatus.OK.toString(), "/api/auth/register"));
+            assertEquals(objectMapper.writeValueAsString(login),
+                    write(new PreEncodedJson(ResponseTemplate.login("Login successful", HttpStatus.OK, "/api/auth/register"), timestamp, login.getToken(), login.getRefreshToken())));
+        }
+    }
+
+    private static String write(PreEncodedJson json) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        json.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
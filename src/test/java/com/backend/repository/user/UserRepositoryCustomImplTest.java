@@ -0,0 +1,98 @@
+package com.backend.repository.user;
+
+import com.backend.model.user.User;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class UserRepositoryCustomImplTest {
+
+    private MongoTemplate mongoTemplate;
+    private UserRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        repository = new UserRepositoryCustomImpl();
+        ReflectionTestUtils.setField(repository, "mongoTemplate", mongoTemplate);
+    }
+
+    @Test
+    public void testPatchWithoutChangesWritesNothing() {
+        User user = user(3L);
+        UserPatch patch = UserPatch.of(user)
+                .set("username", User::getUsername, User::setUsername, "ada")
+                .set("bio", User::getBio, User::setBio, "Analyst");
+
+        assertFalse(patch.isDirty());
+        assertFalse(repository.applyPatch(patch));
+        verifyNoInteractions(mongoTemplate);
+        assertEquals(3L, user.getVersion());
+    }
+
+    @Test
+    public void testOnlyChangedFieldsAreSetUnderTheLoadedVersion() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(User.class))).thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        User user = user(3L);
+        UserPatch patch = UserPatch.of(user)
+                .set("username", User::getUsername, User::setUsername, "ada")
+                .set("bio", User::getBio, User::setBio, "Engine designer")
+                .set("pictureHash", User::getPictureHash, User::setPictureHash, null);
+
+        assertTrue(repository.applyPatch(patch));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(User.class));
+        assertEquals(new Document("_id", "u1").append("version", 3L), query.getValue().getQueryObject());
+        assertEquals(new Document("$set", new Document("bio", "Engine designer")).append("$inc", new Document("version", 1)),
+                update.getValue().getUpdateObject());
+        assertEquals("Engine designer", user.getBio());
+        assertEquals(4L, user.getVersion());
+    }
+
+    @Test
+    public void testUserWithoutVersionIsMatchedByMissingVersion() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(User.class))).thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        User user = user(null);
+
+        repository.applyPatch(UserPatch.of(user).set("name", User::getName, User::setName, "Ada King"));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateFirst(query.capture(), any(Update.class), eq(User.class));
+        assertEquals(new Document("_id", "u1").append("version", null), query.getValue().getQueryObject());
+        assertEquals(1L, user.getVersion());
+    }
+
+    @Test
+    public void testConcurrentChangeIsAVersionConflict() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(User.class))).thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        User user = user(3L);
+        UserPatch patch = UserPatch.of(user).set("name", User::getName, User::setName, "Ada King");
+
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.applyPatch(patch));
+        assertEquals(3L, user.getVersion());
+    }
+
+    private static User user(Long version) {
+        User user = new User();
+        user.setId("u1");
+        user.setUsername("ada");
+        user.setName("Ada");
+        user.setBio("Analyst");
+        user.setVersion(version);
+        return user;
+    }
+}
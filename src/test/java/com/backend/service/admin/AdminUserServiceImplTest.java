@@ -0,0 +1,213 @@
+package com.backend.service.admin;
+
+import com.backend.dto.request.BulkUserFilter;
+import com.backend.dto.response.BulkJobStatus;
+import com.backend.model.auth.RefreshToken;
+import com.backend.model.github.Github;
+import com.backend.model.user.Role;
+import com.backend.model.user.User;
+import com.backend.service.avatar.AvatarServiceImpl;
+import com.backend.service.github.result.AnalysisResultStore;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class AdminUserServiceImplTest {
+
+    private MongoTemplate mongoTemplate;
+    private AdminUserServiceImpl service;
+    private AvatarServiceImpl avatarService;
+    private AnalysisResultStore resultStore;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(User.class))).thenAnswer(invocation -> {
+            int size = idsIn(invocation.getArgument(0)).size();
+            return UpdateResult.acknowledged(size, (long) size, null);
+        });
+        service = new AdminUserServiceImpl();
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(service, "executor", (TaskExecutor) Runnable::run);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "chunkPauseMs", 0L);
+        avatarService = mock(AvatarServiceImpl.class);
+        resultStore = mock(AnalysisResultStore.class);
+        ReflectionTestUtils.setField(service, "avatarService", avatarService);
+        ReflectionTestUtils.setField(service, "resultStore", resultStore);
+    }
+
+    @Test
+    public void testIdListIsAppliedInChunks() throws Exception {
+        BulkJobStatus status = service.verify(body("a\nb\n\n c \nd\ne\n"));
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(3)).updateMulti(queries.capture(), any(Update.class), eq(User.class));
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d"), List.of("e")), queries.getAllValues().stream().map(AdminUserServiceImplTest::idsIn).toList());
+        assertEquals("COMPLETED", status.getState());
+        assertEquals(3, status.getChunks());
+        assertEquals(5, status.getModified());
+    }
+
+    @Test
+    public void testFilteredJobPagesByIdAndLeavesTheFilterAlone() {
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users")))
+                .thenReturn(List.of(new Document("_id", "u1"), new Document("_id", "u2")), List.of(new Document("_id", "u3")), List.of());
+        BulkUserFilter filter = new BulkUserFilter();
+        filter.setProvider("github");
+        filter.setIsVerified(false);
+
+        BulkJobStatus status = service.verify(filter);
+
+        assertEquals(false, filter.getIsVerified());
+        assertEquals("COMPLETED", service.status(status.getJobId()).getState());
+        ArgumentCaptor<Query> pages = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(3)).find(pages.capture(), eq(Document.class), eq("users"));
+        Document unverified = new Document("provider", "github").append("isVerified", new Document("$ne", true));
+        assertEquals(unverified, pages.getAllValues().get(0).getQueryObject());
+        assertEquals(new Document("$and", List.of(unverified, new Document("_id", new Document("$gt", "u2")))),
+                pages.getAllValues().get(1).getQueryObject());
+        assertEquals(new Document("$and", List.of(unverified, new Document("_id", new Document("$gt", "u3")))),
+                pages.getAllValues().get(2).getQueryObject());
+        pages.getAllValues().forEach(page -> {
+            assertEquals(2, page.getLimit());
+            assertEquals(new Document("_id", 1), page.getSortObject());
+        });
+        verify(mongoTemplate, times(2)).updateMulti(any(Query.class), any(Update.class), eq(User.class));
+    }
+
+    @Test
+    public void testRoleChangeRevokesTokensOnlyForUsersWhoseRoleChanged() throws Exception {
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users"))).thenReturn(List.of(new Document("_id", "u2")));
+        ReflectionTestUtils.setField(service, "chunkSize", 10);
+
+        service.changeRole(Role.ADMIN, body("u1\nu2\nu3\n"));
+
+        ArgumentCaptor<Query> lookup = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(lookup.capture(), eq(Document.class), eq("users"));
+        assertEquals(new Document("_id", new Document("$in", List.of("u1", "u2", "u3"))).append("role", new Document("$ne", "ADMIN")),
+                lookup.getValue().getQueryObject());
+        ArgumentCaptor<Query> users = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateMulti(users.capture(), any(Update.class), eq(User.class));
+        assertEquals(List.of("u2"), idsIn(users.getValue()));
+        ArgumentCaptor<Query> tokens = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateMulti(tokens.capture(), any(Update.class), eq(RefreshToken.class));
+        assertEquals(new Document("userId", new Document("$in", List.of("u2"))).append("revoked", false), tokens.getValue().getQueryObject());
+    }
+
+    @Test
+    public void testRoleChangeSkipsChunkWithNothingToChange() throws Exception {
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users"))).thenReturn(List.of());
+        BulkUserFilter filter = new BulkUserFilter();
+        filter.setRole("user");
+
+        service.changeRole(Role.ADMIN, body("u1\n"));
+        service.changeRole(Role.ADMIN, filter);
+
+        assertEquals("user", filter.getRole());
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(User.class));
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(RefreshToken.class));
+    }
+
+    @Test
+    public void testDeletedUsersLoseTheirTokensAnalysesAndUnsharedAvatars() throws Exception {
+        ReflectionTestUtils.setField(service, "chunkSize", 10);
+        Document shared = new Document("_id", "u1").append("picture", "/api/user/avatars/h1/256.png").append("pictureHash", "h1");
+        Document own = new Document("_id", "u2").append("picture", "/api/user/avatars/h2/256.jpg").append("pictureHash", "h2");
+        Document verifiedMeanwhile = new Document("_id", "u3");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users")))
+                .thenReturn(List.of(shared, own, verifiedMeanwhile), List.of(shared, own, verifiedMeanwhile), List.of(verifiedMeanwhile), List.of());
+        when(mongoTemplate.remove(any(Query.class), eq(User.class))).thenReturn(DeleteResult.acknowledged(2));
+        Github analysis = new Github();
+        analysis.setId("g1");
+        when(mongoTemplate.find(any(Query.class), eq(Github.class))).thenReturn(List.of(analysis));
+        when(mongoTemplate.exists(any(Query.class), eq(User.class))).thenAnswer(invocation ->
+                "h1".equals(((Query) invocation.getArgument(0)).getQueryObject().get("pictureHash")));
+
+        BulkJobStatus status = service.deleteUnverified(30, null);
+
+        assertEquals("COMPLETED", service.status(status.getJobId()).getState());
+        ArgumentCaptor<Query> tokens = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(tokens.capture(), eq(RefreshToken.class));
+        assertEquals(new Document("userId", new Document("$in", List.of("u1", "u2"))), tokens.getValue().getQueryObject());
+        ArgumentCaptor<Query> analyses = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(analyses.capture(), eq(Github.class));
+        assertEquals(new Document("user.id", new Document("$in", List.of("u1", "u2", "u1", "u2"))), analyses.getValue().getQueryObject());
+        verify(resultStore).delete("g1");
+        verify(avatarService).delete("h2", "/api/user/avatars/h2/256.jpg");
+        verify(avatarService, never()).delete(eq("h1"), any());
+    }
+
+    @Test
+    public void testDeleteWithNothingMatchingTouchesNoDependents() {
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users"))).thenReturn(List.of(new Document("_id", "u1")), List.of(), List.of());
+
+        service.deleteUnverified(30, "github");
+
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(User.class));
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(RefreshToken.class));
+        verifyNoInteractions(avatarService, resultStore);
+    }
+
+    @Test
+    public void testChunksOfConcurrentJobsTakeTurnsAndPause() throws Exception {
+        ReflectionTestUtils.setField(service, "chunkSize", 1);
+        ReflectionTestUtils.setField(service, "chunkPauseMs", 30L);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(User.class))).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(10);
+            running.decrementAndGet();
+            return UpdateResult.acknowledged(1, 1L, null);
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            long start = System.nanoTime();
+            Future<BulkJobStatus> first = callers.submit(() -> service.verify(body("a\nb\nc\n")));
+            Future<BulkJobStatus> second = callers.submit(() -> service.verify(body("d\ne\nf\n")));
+            assertEquals(3, first.get(5, TimeUnit.SECONDS).getChunks());
+            assertEquals(3, second.get(5, TimeUnit.SECONDS).getChunks());
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertEquals(1, maxRunning.get());
+            // Each job sleeps after each of its three chunks.
+            assertTrue(elapsedMs >= 90, "elapsed " + elapsedMs);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static ByteArrayInputStream body(String ids) {
+        return new ByteArrayInputStream(ids.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> idsIn(Query query) {
+        return (List<Object>) ((Document) query.getQueryObject().get("_id")).get("$in");
+    }
+}
@@ -0,0 +1,112 @@
+package com.backend.service.auth;
+
+import com.backend.config.MongoIndexManager;
+import com.backend.dto.UserDTO;
+import com.backend.model.email.MagicLink;
+import com.backend.model.user.User;
+import com.backend.repository.mail.MagicLinkRepository;
+import com.backend.repository.user.UserRepository;
+import com.backend.service.domain.EmailDomainServiceImpl;
+import com.backend.service.email.EmailServiceImpl;
+import com.backend.service.password.PasswordPolicyServiceImpl;
+import com.backend.shared.result.ServiceResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Registration inserts first and relies on the unique user indexes, so a duplicate surfaces as a
+ * {@link DuplicateKeyException} naming the violated index.
+ */
+@ExtendWith(MockitoExtension.class)
+public class AuthServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MagicLinkRepository magicLinkRepository;
+
+    @Mock
+    private EmailServiceImpl emailService;
+
+    @Mock
+    private PasswordPolicyServiceImpl passwordPolicyService;
+
+    @Mock
+    private EmailDomainServiceImpl emailDomainService;
+
+    @InjectMocks
+    private AuthServiceImpl authService;
+
+    private UserDTO userDTO;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(authService, "frontendUrl", "http://localhost:3000");
+        ReflectionTestUtils.setField(authService, "magicLinkExpiration", 900_000L);
+        userDTO = new UserDTO();
+        userDTO.setUsername("zipDemon");
+        userDTO.setName("Kelechi Divine");
+        userDTO.setEmail("kelechi@example.com");
+        userDTO.setPassword("StrongPassword128njowqe20i@#3@");
+    }
+
+    @Test
+    void testDuplicateUsernameIsAlreadyExists() {
+        when(userRepository.insert(any(User.class))).thenThrow(duplicate(MongoIndexManager.USERS_USERNAME_UNIQUE));
+
+        ServiceResult<Void> result = authService.tryRegisterUser(userDTO);
+
+        assertEquals(ServiceResult.Error.ALREADY_EXISTS, result.getError());
+        assertEquals("Username already exists", result.getMessage());
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void testDuplicateEmailOfVerifiedUserIsAlreadyExists() {
+        User existing = new User();
+        existing.setEmail(userDTO.getEmail());
+        existing.setIsVerified(true);
+        when(userRepository.insert(any(User.class))).thenThrow(duplicate(MongoIndexManager.USERS_EMAIL_UNIQUE));
+        when(userRepository.findByEmail(userDTO.getEmail())).thenReturn(Optional.of(existing));
+
+        ServiceResult<Void> result = authService.tryRegisterUser(userDTO);
+
+        assertEquals(ServiceResult.Error.ALREADY_EXISTS, result.getError());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void testDuplicateEmailOfUnverifiedUserResendsMagicLink() {
+        User existing = new User();
+        existing.setId("user-1");
+        existing.setEmail(userDTO.getEmail());
+        existing.setIsVerified(false);
+        when(userRepository.insert(any(User.class))).thenThrow(duplicate(MongoIndexManager.USERS_EMAIL_UNIQUE));
+        when(userRepository.findByEmail(userDTO.getEmail())).thenReturn(Optional.of(existing));
+
+        ServiceResult<Void> result = authService.tryRegisterUser(userDTO);
+
+        assertTrue(result.isOk());
+        verify(magicLinkRepository).save(any(MagicLink.class));
+        verify(emailService).sendMagicLink(eq(userDTO.getEmail()), anyString());
+    }
+
+    private static DuplicateKeyException duplicate(String index) {
+        return new DuplicateKeyException("E11000 duplicate key error collection: backend.users index: " + index + " dup key");
+    }
+}
@@ -0,0 +1,136 @@
+package com.backend.service.auth;
+
+import com.backend.config.AsyncConfig;
+import com.backend.config.GithubApiMetrics;
+import com.backend.model.user.User;
+import com.backend.repository.user.UserPatch;
+import com.backend.repository.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Loads the service next to {@link AsyncConfig}, so it is wrapped in the same async proxy as in the
+ * application and is injected the way {@link AuthServiceImpl} injects it.
+ */
+@SpringJUnitConfig({AsyncConfig.class, GithubEmailServiceImpl.class, GithubEmailServiceImplTest.Conversions.class})
+@TestPropertySource(properties = "github.email-cache.ttl=PT1H")
+public class GithubEmailServiceImplTest {
+
+    @Configuration
+    static class Conversions {
+        @Bean
+        static ConversionService conversionService() {
+            return ApplicationConversionService.getSharedInstance();
+        }
+    }
+
+    @Autowired
+    private GithubEmailService githubEmailService;
+
+    @MockitoBean
+    private RestTemplate restTemplate;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private GithubApiMetrics githubApiMetrics;
+
+    @Test
+    void testServiceIsProxiedForAsyncRefresh() {
+        assertTrue(AopUtils.isAopProxy(githubEmailService));
+    }
+
+    @Test
+    void testIsStale() {
+        User user = new User();
+        assertTrue(githubEmailService.isStale(user));
+
+        user.setProviderEmailVerifiedAt(Instant.now().minus(Duration.ofMinutes(5)));
+        assertFalse(githubEmailService.isStale(user));
+
+        user.setProviderEmailVerifiedAt(Instant.now().minus(Duration.ofHours(2)));
+        assertTrue(githubEmailService.isStale(user));
+    }
+
+    @Test
+    void testRefreshRunsOnRefreshExecutorAndUpdatesCachedEmail() throws InterruptedException {
+        User user = new User();
+        user.setId("user-1");
+        user.setProviderEmail("old@example.com");
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(user));
+        stubEmails(List.of(
+                Map.of("email", "secondary@example.com", "primary", false, "verified", true),
+                Map.of("email", "new@example.com", "primary", true, "verified", true)));
+
+        AtomicReference<String> refreshThread = new AtomicReference<>();
+        CountDownLatch patched = new CountDownLatch(1);
+        when(userRepository.applyPatch(any(UserPatch.class))).thenAnswer(invocation -> {
+            refreshThread.set(Thread.currentThread().getName());
+            patched.countDown();
+            return true;
+        });
+
+        githubEmailService.refreshAsync("user-1", "token");
+
+        assertTrue(patched.await(5, TimeUnit.SECONDS));
+        assertTrue(refreshThread.get().startsWith("github-email-"));
+        assertEquals("new@example.com", user.getProviderEmail());
+        assertNotNull(user.getProviderEmailVerifiedAt());
+    }
+
+    @Test
+    void testConcurrentRefreshesForOneUserCallGithubOnce() throws InterruptedException {
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(restTemplate.exchange(eq("https://api.github.com/user/emails"), eq(HttpMethod.GET), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenAnswer(invocation -> {
+                    inFlight.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return ResponseEntity.ok(List.of());
+                });
+
+        githubEmailService.refreshAsync("user-2", "token");
+        assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+        githubEmailService.refreshAsync("user-2", "token");
+        Thread.sleep(100);
+        release.countDown();
+
+        verify(restTemplate, timeout(5000).times(1))
+                .exchange(any(String.class), any(HttpMethod.class), any(HttpEntity.class), any(ParameterizedTypeReference.class));
+        verify(userRepository, never()).applyPatch(any(UserPatch.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubEmails(List<Map<String, Object>> emails) {
+        when(restTemplate.exchange(eq("https://api.github.com/user/emails"), eq(HttpMethod.GET), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(emails));
+    }
+}
@@ -0,0 +1,130 @@
+package com.backend.service.auth;
+
+import com.backend.model.auth.AuthorizedClientRecord;
+import com.backend.repository.auth.AuthorizedClientRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class MongoOAuth2AuthorizedClientServiceTest {
+
+    private static final ClientRegistration GITHUB = ClientRegistration.withRegistrationId("github")
+            .clientId("client")
+            .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+            .redirectUri("{baseUrl}/login/oauth2/code/{registrationId}")
+            .authorizationUri("https://github.com/login/oauth/authorize")
+            .tokenUri("https://github.com/login/oauth/access_token")
+            .build();
+
+    private AuthorizedClientRecordRepository repository;
+    private MongoOAuth2AuthorizedClientService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(AuthorizedClientRecordRepository.class);
+        ClientRegistrationRepository registrations = mock(ClientRegistrationRepository.class);
+        when(registrations.findByRegistrationId("github")).thenReturn(GITHUB);
+        service = new MongoOAuth2AuthorizedClientService(Base64.getEncoder().encodeToString(new byte[32]));
+        ReflectionTestUtils.setField(service, "repository", repository);
+        ReflectionTestUtils.setField(service, "clientRegistrationRepository", registrations);
+        ReflectionTestUtils.setField(service, "cacheTtl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(service, "cacheSize", 100);
+    }
+
+    @Test
+    public void testSavedTokensAreEncryptedAndReadBack() {
+        AuthorizedClientRecord stored = save("alice", "gho_alice");
+
+        assertNotEquals("gho_alice", stored.getAccessToken());
+        assertNotEquals("ghr_alice", stored.getRefreshToken());
+
+        forgetCached();
+        when(repository.findByRegistrationIdAndPrincipalName("github", "alice")).thenReturn(Optional.of(stored));
+        OAuth2AuthorizedClient loaded = service.loadAuthorizedClient("github", "alice");
+
+        assertEquals("gho_alice", loaded.getAccessToken().getTokenValue());
+        assertEquals(Set.of("read:user"), loaded.getAccessToken().getScopes());
+        assertEquals("ghr_alice", loaded.getRefreshToken().getTokenValue());
+    }
+
+    @Test
+    public void testLoadsAreCachedUntilRemoved() {
+        AuthorizedClientRecord stored = save("alice", "gho_alice");
+        forgetCached();
+        when(repository.findByRegistrationIdAndPrincipalName("github", "alice")).thenReturn(Optional.of(stored));
+
+        OAuth2AuthorizedClient first = service.loadAuthorizedClient("github", "alice");
+        OAuth2AuthorizedClient second = service.loadAuthorizedClient("github", "alice");
+
+        assertSame(first, second);
+        verify(repository, times(2)).findByRegistrationIdAndPrincipalName("github", "alice");
+
+        service.removeAuthorizedClient("github", "alice");
+        when(repository.findByRegistrationIdAndPrincipalName("github", "alice")).thenReturn(Optional.empty());
+
+        assertNull(service.loadAuthorizedClient("github", "alice"));
+        verify(repository).deleteByRegistrationIdAndPrincipalName("github", "alice");
+        verify(repository, times(3)).findByRegistrationIdAndPrincipalName("github", "alice");
+    }
+
+    @Test
+    public void testExpiredEntryIsReloaded() {
+        ReflectionTestUtils.setField(service, "cacheTtl", Duration.ZERO);
+        AuthorizedClientRecord stored = save("alice", "gho_alice");
+        when(repository.findByRegistrationIdAndPrincipalName("github", "alice")).thenReturn(Optional.of(stored));
+
+        service.loadAuthorizedClient("github", "alice");
+        service.loadAuthorizedClient("github", "alice");
+
+        // One lookup from save, then one per load.
+        verify(repository, times(3)).findByRegistrationIdAndPrincipalName("github", "alice");
+    }
+
+    @Test
+    public void testTokensCopiedOntoAnotherPrincipalAreDiscarded() {
+        AuthorizedClientRecord alice = save("alice", "gho_alice");
+        AuthorizedClientRecord forged = new AuthorizedClientRecord();
+        forged.setRegistrationId("github");
+        forged.setPrincipalName("mallory");
+        forged.setAccessToken(alice.getAccessToken());
+        when(repository.findByRegistrationIdAndPrincipalName("github", "mallory")).thenReturn(Optional.of(forged));
+
+        assertNull(service.loadAuthorizedClient("github", "mallory"));
+        verify(repository).deleteByRegistrationIdAndPrincipalName("github", "mallory");
+    }
+
+    // Drops what save() put in the cache so the next load goes to the repository.
+    private void forgetCached() {
+        ((Map<?, ?>) ReflectionTestUtils.getField(service, "cache")).clear();
+    }
+
+    private AuthorizedClientRecord save(String principal, String token) {
+        when(repository.findByRegistrationIdAndPrincipalName("github", principal)).thenReturn(Optional.empty());
+        Instant now = Instant.now();
+        OAuth2AuthorizedClient client = new OAuth2AuthorizedClient(GITHUB, principal,
+                new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, token, now, now.plusSeconds(3600), Set.of("read:user")),
+                new OAuth2RefreshToken(token.replace("gho_", "ghr_"), now));
+        service.saveAuthorizedClient(client, new TestingAuthenticationToken(principal, null));
+        ArgumentCaptor<AuthorizedClientRecord> saved = ArgumentCaptor.forClass(AuthorizedClientRecord.class);
+        verify(repository).save(saved.capture());
+        return saved.getValue();
+    }
+}
@@ -0,0 +1,97 @@
+package com.backend.service.auth;
+
+import com.backend.dto.response.TokenPair;
+import com.backend.model.auth.RefreshToken;
+import com.backend.model.user.Role;
+import com.backend.model.user.User;
+import com.backend.repository.auth.RefreshTokenRepository;
+import com.backend.repository.user.UserRepository;
+import com.backend.security.JwtTokenProvider;
+import com.backend.shared.exception.InvalidRefreshTokenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class RefreshTokenServiceImplTest {
+
+    private RefreshTokenRepository refreshTokenRepository;
+    private UserRepository userRepository;
+    private MongoTemplate mongoTemplate;
+    private JwtTokenProvider jwtTokenProvider;
+    private RefreshTokenServiceImpl refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        userRepository = mock(UserRepository.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        jwtTokenProvider = mock(JwtTokenProvider.class);
+        when(jwtTokenProvider.generateToken(any(Authentication.class))).thenReturn("access");
+        refreshTokenService = new RefreshTokenServiceImpl();
+        ReflectionTestUtils.setField(refreshTokenService, "refreshTokenRepository", refreshTokenRepository);
+        ReflectionTestUtils.setField(refreshTokenService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(refreshTokenService, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(refreshTokenService, "jwtTokenProvider", jwtTokenProvider);
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpiration", 60_000L);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(RefreshToken.class)))
+                .thenReturn(claimed("u1", "ada", "USER"));
+    }
+
+    @Test
+    public void testRotatedTokensCarryTheCurrentUsernameAndRole() {
+        User user = new User();
+        user.setId("u1");
+        user.setUsername("ada_renamed");
+        user.setRole(Role.ADMIN);
+        when(userRepository.findById("u1")).thenReturn(Optional.of(user));
+
+        TokenPair tokens = refreshTokenService.refresh("raw-token");
+
+        assertEquals("access", tokens.getAccessToken());
+        ArgumentCaptor<Authentication> authentication = ArgumentCaptor.forClass(Authentication.class);
+        verify(jwtTokenProvider).generateToken(authentication.capture());
+        assertEquals("ada_renamed", authentication.getValue().getName());
+        assertEquals("ROLE_ADMIN", authentication.getValue().getAuthorities().stream().map(GrantedAuthority::getAuthority).findFirst().orElseThrow());
+        ArgumentCaptor<RefreshToken> rotated = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(rotated.capture());
+        assertEquals("family", rotated.getValue().getFamilyId());
+        assertEquals("ada_renamed", rotated.getValue().getUsername());
+        assertEquals("ADMIN", rotated.getValue().getRole());
+    }
+
+    @Test
+    public void testDeletedUserCannotRefreshAndLosesTheFamily() {
+        when(userRepository.findById("u1")).thenReturn(Optional.empty());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.refresh("raw-token"));
+
+        verify(refreshTokenRepository).revokeFamily("family");
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+        verify(jwtTokenProvider, never()).generateToken(any(Authentication.class));
+    }
+
+    private static RefreshToken claimed(String userId, String username, String role) {
+        RefreshToken token = new RefreshToken();
+        token.setFamilyId("family");
+        token.setUserId(userId);
+        token.setUsername(username);
+        token.setRole(role);
+        token.setExpiresAt(Instant.now().plusSeconds(60));
+        return token;
+    }
+}
@@ -0,0 +1,56 @@
+package com.backend.service.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenCipherTest {
+
+    private static final String KEY = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final TokenCipher cipher = new TokenCipher(KEY);
+
+    @Test
+    public void testRoundTripUsesFreshIvEachTime() {
+        String first = cipher.encrypt("gho_token", "github\u0000alice");
+        String second = cipher.encrypt("gho_token", "github\u0000alice");
+
+        assertNotEquals(first, second);
+        assertEquals("gho_token", cipher.decrypt(first, "github\u0000alice"));
+        assertEquals("gho_token", cipher.decrypt(second, "github\u0000alice"));
+        assertNull(cipher.encrypt(null, "github\u0000alice"));
+        assertNull(cipher.decrypt(null, "github\u0000alice"));
+    }
+
+    @Test
+    public void testTamperedCiphertextIsRejected() {
+        byte[] sealed = Base64.getDecoder().decode(cipher.encrypt("gho_token", "github\u0000alice"));
+        for (int i = 0; i < sealed.length; i++) {
+            byte[] tampered = sealed.clone();
+            tampered[i] ^= 1;
+            String encoded = Base64.getEncoder().encodeToString(tampered);
+            assertThrows(IllegalStateException.class, () -> cipher.decrypt(encoded, "github\u0000alice"), "byte " + i);
+        }
+        assertThrows(IllegalStateException.class, () -> cipher.decrypt("AAAA", "github\u0000alice"));
+        assertThrows(IllegalStateException.class, () -> cipher.decrypt("not base64!", "github\u0000alice"));
+    }
+
+    @Test
+    public void testCiphertextIsBoundToItsContextAndKey() {
+        String sealed = cipher.encrypt("gho_token", "github\u0000alice");
+
+        assertThrows(IllegalStateException.class, () -> cipher.decrypt(sealed, "github\u0000mallory"));
+        assertThrows(IllegalStateException.class, () -> cipher.decrypt(sealed, "google\u0000alice"));
+        byte[] otherKey = new byte[32];
+        otherKey[0] = 1;
+        TokenCipher other = new TokenCipher(Base64.getEncoder().encodeToString(otherKey));
+        assertThrows(IllegalStateException.class, () -> other.decrypt(sealed, "github\u0000alice"));
+    }
+
+    @Test
+    public void testRejectsKeysOfTheWrongLength() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenCipher(Base64.getEncoder().encodeToString(new byte[16])));
+    }
+}
@@ -0,0 +1,146 @@
+package com.backend.service.avatar;
+
+import com.backend.shared.exception.InvalidInputException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AvatarServiceImplTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LocalBlobStore blobStore;
+    private AvatarServiceImpl avatarService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        blobStore = new LocalBlobStore(tempDir, "/api/avatars");
+        avatarService = new AvatarServiceImpl();
+        ReflectionTestUtils.setField(avatarService, "blobStore", blobStore);
+        ReflectionTestUtils.setField(avatarService, "sizes", new int[]{64, 256});
+        ReflectionTestUtils.setField(avatarService, "maxSourcePixels", 16_777_216L);
+    }
+
+    @Test
+    public void testOpaqueImageIsCroppedAndStoredAsJpegAtEverySize() throws Exception {
+        byte[] upload = encode(striped(600, 400, BufferedImage.TYPE_INT_RGB), "png");
+
+        StoredAvatar avatar = avatarService.store(new ByteArrayInputStream(upload));
+
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(upload));
+        assertEquals(hash, avatar.hash());
+        assertEquals("/api/avatars/" + hash + "/256.jpg", avatar.url());
+        BufferedImage large = ImageIO.read(blobStore.resolve(hash + "/256.jpg").toFile());
+        BufferedImage small = ImageIO.read(blobStore.resolve(hash + "/64.jpg").toFile());
+        assertEquals(256, large.getWidth());
+        assertEquals(256, large.getHeight());
+        assertEquals(64, small.getWidth());
+        assertEquals(64, small.getHeight());
+        // The 600x400 source is cropped to its centre, so the red margins on the left and right are gone.
+        Color edge = new Color(large.getRGB(2, 128));
+        assertTrue(edge.getBlue() > 200 && edge.getRed() < 60, "edge " + edge);
+    }
+
+    @Test
+    public void testTransparentImageStaysPng() throws Exception {
+        byte[] upload = encode(striped(300, 300, BufferedImage.TYPE_INT_ARGB), "png");
+
+        StoredAvatar avatar = avatarService.store(new ByteArrayInputStream(upload));
+
+        assertTrue(avatar.url().endsWith("/256.png"));
+        BufferedImage stored = ImageIO.read(blobStore.resolve(avatar.hash() + "/64.png").toFile());
+        assertTrue(stored.getColorModel().hasAlpha());
+    }
+
+    @Test
+    public void testSameUploadMapsToSameKeys() throws Exception {
+        byte[] upload = encode(striped(128, 128, BufferedImage.TYPE_INT_RGB), "jpg");
+
+        StoredAvatar first = avatarService.store(new ByteArrayInputStream(upload));
+        StoredAvatar second = avatarService.storeInline("data:image/jpeg;base64," + Base64.getEncoder().encodeToString(upload));
+
+        assertEquals(first, second);
+        try (var files = Files.list(tempDir.resolve(first.hash()))) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    public void testImageAboveThePixelCapIsRejectedFromItsHeader() throws Exception {
+        ReflectionTestUtils.setField(avatarService, "maxSourcePixels", 100L * 100);
+        byte[] upload = encode(striped(101, 100, BufferedImage.TYPE_INT_RGB), "png");
+
+        assertThrows(InvalidInputException.class, () -> avatarService.store(new ByteArrayInputStream(upload)));
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void testUndecodableInputIsRejected() {
+        assertThrows(InvalidInputException.class, () -> avatarService.store(new ByteArrayInputStream("not an image".getBytes())));
+        assertThrows(InvalidInputException.class, () -> avatarService.storeInline("data:image/png;base64,***"));
+    }
+
+    @Test
+    public void testDeleteRemovesEveryRendition() throws Exception {
+        StoredAvatar avatar = avatarService.store(new ByteArrayInputStream(encode(striped(128, 128, BufferedImage.TYPE_INT_ARGB), "png")));
+
+        avatarService.delete(avatar.hash(), avatar.url());
+
+        try (var files = Files.list(tempDir.resolve(avatar.hash()))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void testIsInline() {
+        assertTrue(avatarService.isInline("iVBORw0KGgo="));
+        assertTrue(avatarService.isInline("data:image/png;base64,iVBORw0KGgo="));
+        assertFalse(avatarService.isInline(null));
+        assertFalse(avatarService.isInline(""));
+        assertFalse(avatarService.isInline("  "));
+        assertFalse(avatarService.isInline("https://avatars.githubusercontent.com/u/1"));
+        assertFalse(avatarService.isInline("http://example.com/a.png"));
+        assertFalse(avatarService.isInline("/api/avatars/abc/256.jpg"));
+    }
+
+    // Blue centre square with red bands on whichever sides are longer.
+    private static BufferedImage striped(int width, int height, int type) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D graphics = image.createGraphics();
+        if (type == BufferedImage.TYPE_INT_ARGB) {
+            graphics.setColor(new Color(0, 0, 0, 0));
+        } else {
+            graphics.setColor(Color.RED);
+        }
+        graphics.fillRect(0, 0, width, height);
+        int side = Math.min(width, height);
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect((width - side) / 2, (height - side) / 2, side, side);
+        graphics.dispose();
+        return image;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertTrue(ImageIO.write(image, format, out));
+        return out.toByteArray();
+    }
+}
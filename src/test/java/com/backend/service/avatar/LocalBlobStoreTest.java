@@ -0,0 +1,39 @@
+package com.backend.service.avatar;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalBlobStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testPutWritesUnderRootAndReturnsUrl() throws Exception {
+        LocalBlobStore store = new LocalBlobStore(tempDir.resolve("blobs"), "/api/avatars");
+
+        String url = store.put("abc/256.png", "data".getBytes(StandardCharsets.UTF_8), "image/png");
+
+        assertEquals("/api/avatars/abc/256.png", url);
+        assertEquals("data", Files.readString(store.resolve("abc/256.png")));
+    }
+
+    @Test
+    public void testResolveRejectsKeysOutsideRoot() throws Exception {
+        LocalBlobStore store = new LocalBlobStore(tempDir.resolve("blobs"), "/api/avatars/");
+        Files.writeString(tempDir.resolve("secret.txt"), "secret");
+
+        assertThrows(IllegalArgumentException.class, () -> store.resolve("../secret.txt"));
+        assertThrows(IllegalArgumentException.class, () -> store.resolve("abc/../../secret.txt"));
+        assertThrows(IllegalArgumentException.class, () -> store.resolve(tempDir.resolve("secret.txt").toString()));
+        assertThrows(IllegalArgumentException.class, () -> store.put("../escape.png", new byte[]{1}, "image/png"));
+        assertFalse(Files.exists(tempDir.resolve("escape.png")));
+        assertTrue(store.resolve("abc/./256.png").endsWith(Path.of("abc", "256.png")));
+    }
+}
@@ -0,0 +1,54 @@
+package com.backend.service.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DomainIndexTest {
+
+    @Test
+    public void testSuffixMatchesWholeLabelsOnly() {
+        DomainIndex index = DomainIndex.of(List.of("mailinator.com", "tempmail.dev"));
+
+        assertTrue(contains(index, "mailinator.com"));
+        assertTrue(contains(index, "eu.mailinator.com"));
+        assertTrue(contains(index, "a.b.tempmail.dev"));
+        assertFalse(contains(index, "notmailinator.com"));
+        assertFalse(contains(index, "mailinator.com.evil.org"));
+        assertFalse(contains(index, "com"));
+        assertFalse(contains(index, "example.com"));
+    }
+
+    @Test
+    public void testLookupIgnoresCase() {
+        DomainIndex index = DomainIndex.of(List.of("MailDrop.cc"));
+
+        assertTrue(contains(index, "maildrop.cc"));
+        assertTrue(contains(index, "Inbox.MAILDROP.CC"));
+    }
+
+    @Test
+    public void testOnlyTheGivenRegionIsMatched() {
+        DomainIndex index = DomainIndex.of(List.of("yopmail.com"));
+        String address = "someone@yopmail.com>";
+
+        assertTrue(index.containsSuffixOf(address, address.indexOf('@') + 1, address.length() - 1));
+        assertFalse(index.containsSuffixOf(address, address.indexOf('@') + 1, address.length()));
+    }
+
+    @Test
+    public void testDuplicatesAreStoredOnce() {
+        DomainIndex index = DomainIndex.of(List.of("a.io", "b.io", "a.io", "A.IO"));
+
+        assertEquals(2, index.size());
+        assertTrue(contains(index, "a.io"));
+        assertTrue(contains(index, "b.io"));
+        assertFalse(contains(DomainIndex.EMPTY, "a.io"));
+    }
+
+    private static boolean contains(DomainIndex index, String domain) {
+        return index.containsSuffixOf(domain, 0, domain.length());
+    }
+}
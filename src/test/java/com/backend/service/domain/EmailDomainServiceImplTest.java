@@ -0,0 +1,85 @@
+package com.backend.service.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmailDomainServiceImplTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path blocklist;
+    private Path allowlist;
+    private EmailDomainServiceImpl emailDomainService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        blocklist = Files.writeString(tempDir.resolve("blocklist.txt"), "# disposable providers\nmailinator.com\n*.Guerrillamail.com\n\nsharklasers.com\n");
+        allowlist = Files.writeString(tempDir.resolve("allowlist.txt"), "corp.sharklasers.com\n");
+        emailDomainService = new EmailDomainServiceImpl();
+        ReflectionTestUtils.setField(emailDomainService, "blocklistPath", blocklist.toString());
+        ReflectionTestUtils.setField(emailDomainService, "allowlistPath", allowlist.toString());
+        emailDomainService.loadLists();
+    }
+
+    @Test
+    public void testBlockedDomainAndItsSubdomainsAreDisposable() {
+        assertTrue(emailDomainService.isDisposable("someone@mailinator.com"));
+        assertTrue(emailDomainService.isDisposable("someone@eu.mailinator.com"));
+        assertTrue(emailDomainService.isDisposable("someone@guerrillamail.com"));
+        assertTrue(emailDomainService.isDisposable("someone@x.guerrillamail.com"));
+        assertFalse(emailDomainService.isDisposable("someone@notmailinator.com"));
+        assertFalse(emailDomainService.isDisposable("someone@example.com"));
+    }
+
+    @Test
+    public void testLookupIgnoresCaseAndTrailingDots() {
+        assertTrue(emailDomainService.isDisposable("Someone@MAILINATOR.Com"));
+        assertTrue(emailDomainService.isDisposable("someone@mailinator.com. "));
+        assertTrue(emailDomainService.isDisposable("\"a@b\"@Mailinator.com"));
+    }
+
+    @Test
+    public void testAllowlistOverridesBlocklist() {
+        assertTrue(emailDomainService.isDisposable("someone@sharklasers.com"));
+        assertFalse(emailDomainService.isDisposable("someone@corp.sharklasers.com"));
+        assertFalse(emailDomainService.isDisposable("someone@dev.corp.sharklasers.com"));
+    }
+
+    @Test
+    public void testMalformedAddressesAreNotDisposable() {
+        assertFalse(emailDomainService.isDisposable(null));
+        assertFalse(emailDomainService.isDisposable(""));
+        assertFalse(emailDomainService.isDisposable("mailinator.com"));
+        assertFalse(emailDomainService.isDisposable("someone@"));
+        assertFalse(emailDomainService.isDisposable("someone@."));
+    }
+
+    @Test
+    public void testChangedListIsReloaded() throws Exception {
+        Files.writeString(blocklist, "tempmail.dev\n");
+        Files.setLastModifiedTime(blocklist, FileTime.fromMillis(Files.getLastModifiedTime(blocklist).toMillis() + 1000));
+
+        emailDomainService.reloadIfChanged();
+
+        assertTrue(emailDomainService.isDisposable("someone@tempmail.dev"));
+        assertFalse(emailDomainService.isDisposable("someone@mailinator.com"));
+    }
+
+    @Test
+    public void testMissingListsBlockNothing() {
+        ReflectionTestUtils.setField(emailDomainService, "blocklistPath", tempDir.resolve("missing.txt").toString());
+
+        emailDomainService.reloadIfChanged();
+
+        assertFalse(emailDomainService.isDisposable("someone@mailinator.com"));
+    }
+}
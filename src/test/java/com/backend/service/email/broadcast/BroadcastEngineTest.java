@@ -0,0 +1,232 @@
+package com.backend.service.email.broadcast;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the engine against {@link LocalSmtpServer}, a minimal in-process SMTP stand-in that records
+ * every accepted message and the number of connections it served.
+ */
+public class BroadcastEngineTest {
+
+    private static final BroadcastTemplate SUBJECT = BroadcastTemplate.text("Welcome {{name}}");
+    private static final BroadcastTemplate HTML = BroadcastTemplate.html("<p>Hi {{name}}, your access for {{email}} is ready</p>");
+    private static final BroadcastTemplate TEXT = BroadcastTemplate.text("Hi {{name}}, your access for {{email}} is ready");
+
+    private LocalSmtpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new LocalSmtpServer();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testSendsEveryRecipientOverPersistentConnections() throws Exception {
+        BroadcastEngine engine = new BroadcastEngine(server.settings(), 3, 1000, 10);
+        RecordingListener listener = new RecordingListener();
+
+        BroadcastStats stats = engine.run(recipients(1, 60).iterator(), SUBJECT, HTML, TEXT, listener);
+
+        assertEquals(60, stats.getSent());
+        assertEquals(0, stats.getFailed());
+        assertEquals(60, server.messages.size());
+        assertTrue(server.connections.get() <= 3, "connections " + server.connections.get());
+        assertEquals(60, listener.checkpoint.get());
+        assertTrue(server.messages.stream().anyMatch(message -> message.contains("Hi User &lt;7&gt;, your access for user7@example.com")));
+    }
+
+    @Test
+    public void testThrottleLimitsMessagesPerSecond() throws Exception {
+        BroadcastEngine engine = new BroadcastEngine(server.settings(), 2, 20, 100);
+
+        BroadcastStats stats = engine.run(recipients(1, 21).iterator(), SUBJECT, HTML, TEXT, new RecordingListener());
+
+        assertEquals(21, stats.getSent());
+        // 21 messages at 20/s need at least one second after the first is released
+        assertTrue(stats.getElapsedSeconds() >= 0.95, "elapsed " + stats.getElapsedSeconds());
+    }
+
+    @Test
+    public void testResumedRunSkipsRecipientsAlreadyClaimed() throws Exception {
+        RecordingListener listener = new RecordingListener();
+        BroadcastEngine first = new BroadcastEngine(server.settings(), 2, 1000, 5);
+        listener.stopAfter(first, 25);
+        first.run(recipients(1, 50).iterator(), SUBJECT, HTML, TEXT, listener);
+        int sentBeforeCrash = server.messages.size();
+        long checkpoint = listener.checkpoint.get();
+        assertTrue(sentBeforeCrash >= 25 && sentBeforeCrash < 50);
+        assertTrue(checkpoint <= sentBeforeCrash);
+
+        // The resumed run starts after the checkpoint; claims filter out anything sent past it.
+        BroadcastEngine resumed = new BroadcastEngine(server.settings(), 2, 1000, 5);
+        BroadcastStats stats = resumed.run(recipients(checkpoint + 1, 50).iterator(), SUBJECT, HTML, TEXT, listener);
+
+        assertEquals(50, server.messages.size());
+        assertEquals(sentBeforeCrash - checkpoint, stats.getSkipped());
+        assertEquals(50, server.recipients.size());
+    }
+
+    @Test
+    public void testRejectedRecipientIsCountedWithoutStoppingTheRun() throws Exception {
+        server.reject("user3@example.com");
+        BroadcastEngine engine = new BroadcastEngine(server.settings(), 1, 1000, 10);
+        RecordingListener listener = new RecordingListener();
+
+        BroadcastStats stats = engine.run(recipients(1, 5).iterator(), SUBJECT, HTML, TEXT, listener);
+
+        assertEquals(4, stats.getSent());
+        assertEquals(1, stats.getFailed());
+        assertEquals(List.of("user3@example.com"), listener.failures);
+    }
+
+    private static List<BroadcastRecipient> recipients(long from, long to) {
+        List<BroadcastRecipient> recipients = new ArrayList<>();
+        for (long i = from; i <= to; i++) {
+            recipients.add(new BroadcastRecipient("id" + i, i, "user" + i + "@example.com", "User <" + i + ">"));
+        }
+        return recipients;
+    }
+
+    private static final class RecordingListener implements BroadcastListener {
+        private final Set<String> claimed = ConcurrentHashMap.newKeySet();
+        private final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicLong checkpoint = new AtomicLong();
+        private final AtomicInteger claims = new AtomicInteger();
+        private BroadcastEngine stopEngine;
+        private int stopAfter;
+
+        void stopAfter(BroadcastEngine engine, int claims) {
+            this.stopEngine = engine;
+            this.stopAfter = claims;
+        }
+
+        @Override
+        public boolean claim(BroadcastRecipient recipient) {
+            if (!claimed.add(recipient.id())) {
+                return false;
+            }
+            if (stopEngine != null && claims.incrementAndGet() == stopAfter) {
+                stopEngine.stop();
+                stopEngine = null;
+            }
+            return true;
+        }
+
+        @Override
+        public void completed(BroadcastRecipient recipient, boolean sent, String error) {
+            if (!sent) {
+                failures.add(recipient.email());
+            }
+        }
+
+        @Override
+        public void checkpoint(long sequence, BroadcastStats stats) {
+            checkpoint.accumulateAndGet(sequence, Math::max);
+        }
+    }
+
+    static final class LocalSmtpServer implements AutoCloseable {
+        private final ServerSocket socket = new ServerSocket(0);
+        private final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+        private final Set<String> recipients = ConcurrentHashMap.newKeySet();
+        private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger connections = new AtomicInteger();
+
+        LocalSmtpServer() throws IOException {
+            Thread acceptor = new Thread(() -> {
+                while (!socket.isClosed()) {
+                    try {
+                        Socket client = socket.accept();
+                        connections.incrementAndGet();
+                        Thread handler = new Thread(() -> serve(client));
+                        handler.setDaemon(true);
+                        handler.start();
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        SmtpSettings settings() {
+            return new SmtpSettings("localhost", socket.getLocalPort(), null, null, false, false, "noreply@example.com", "StreamRepo");
+        }
+
+        void reject(String email) {
+            rejected.add(email);
+        }
+
+        private void serve(Socket client) {
+            try (client;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.US_ASCII));
+                 OutputStream out = client.getOutputStream()) {
+                reply(out, "220 localhost ESMTP");
+                String recipient = null;
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                    switch (command) {
+                        case "EHLO", "HELO" -> reply(out, "250 localhost");
+                        case "MAIL", "NOOP", "RSET" -> reply(out, "250 OK");
+                        case "RCPT" -> {
+                            recipient = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                            reply(out, rejected.contains(recipient) ? "550 No such user" : "250 OK");
+                        }
+                        case "DATA" -> {
+                            reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                            StringBuilder data = new StringBuilder();
+                            while ((line = in.readLine()) != null && !line.equals(".")) {
+                                data.append(line).append('\n');
+                            }
+                            messages.add(data.toString());
+                            recipients.add(recipient);
+                            reply(out, "250 OK");
+                        }
+                        case "QUIT" -> {
+                            reply(out, "221 Bye");
+                            return;
+                        }
+                        default -> reply(out, "502 Not implemented");
+                    }
+                }
+            } catch (IOException ignored) {
+                // client went away
+            }
+        }
+
+        private static void reply(OutputStream out, String line) throws IOException {
+            out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.backend.service.email.broadcast;
+
+import com.backend.model.email.BroadcastRun;
+import com.backend.model.waitingList.WaitingList;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks the queries the service sends to Mongo, with the engine delivering to a local SMTP stand-in.
+ */
+public class BroadcastMailServiceImplTest {
+
+    private static final UpdateResult MATCHED = UpdateResult.acknowledged(1, 1L, null);
+    private static final UpdateResult MISSED = UpdateResult.acknowledged(0, 0L, null);
+
+    private BroadcastEngineTest.LocalSmtpServer server;
+    private MongoTemplate mongoTemplate;
+    private BroadcastMailServiceImpl service;
+    private String nodeId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new BroadcastEngineTest.LocalSmtpServer();
+        mongoTemplate = mock(MongoTemplate.class);
+        service = new BroadcastMailServiceImpl();
+        SmtpSettings smtp = server.settings();
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "executor", (TaskExecutor) Runnable::run);
+        ReflectionTestUtils.setField(service, "host", smtp.host());
+        ReflectionTestUtils.setField(service, "port", smtp.port());
+        ReflectionTestUtils.setField(service, "auth", false);
+        ReflectionTestUtils.setField(service, "startTls", false);
+        ReflectionTestUtils.setField(service, "from", smtp.from());
+        ReflectionTestUtils.setField(service, "connections", 1);
+        ReflectionTestUtils.setField(service, "ratePerSecond", 1000.0);
+        ReflectionTestUtils.setField(service, "checkpointEvery", 5);
+        ReflectionTestUtils.setField(service, "lease", Duration.ofMinutes(2));
+        nodeId = (String) ReflectionTestUtils.getField(service, "nodeId");
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(WaitingList.class))).thenReturn(MATCHED);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Test
+    public void testResumeTakesOverStaleRunAndFencesEveryWrite() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(BroadcastRun.class)))
+                .thenReturn(run(4, 3));
+        when(mongoTemplate.stream(any(Query.class), eq(WaitingList.class))).thenReturn(entries(4, 13).stream());
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(BroadcastRun.class))).thenReturn(MATCHED);
+
+        service.resumeStale();
+
+        ArgumentCaptor<Query> staleQuery = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> takeover = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(staleQuery.capture(), takeover.capture(), any(FindAndModifyOptions.class), eq(BroadcastRun.class));
+        Document stale = staleQuery.getValue().getQueryObject();
+        assertEquals(BroadcastRun.State.RUNNING, stale.get("state"));
+        assertTrue(((Document) stale.get("heartbeatAt")).get("$lt", Instant.class).isBefore(Instant.now().minus(Duration.ofMinutes(1))));
+        Document update = takeover.getValue().getUpdateObject();
+        assertEquals(1, ((Document) update.get("$inc")).get("epoch"));
+        assertEquals(nodeId, ((Document) update.get("$set")).get("owner"));
+
+        ArgumentCaptor<Query> resume = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(resume.capture(), eq(WaitingList.class));
+        assertEquals(new Document("sequence", new Document("$gt", 3L)).append("lastInvitationRunId", new Document("$ne", "run-1")),
+                resume.getValue().getQueryObject());
+        assertEquals(new Document("sequence", 1), resume.getValue().getSortObject());
+
+        ArgumentCaptor<Query> claims = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(10)).updateFirst(claims.capture(), any(Update.class), eq(WaitingList.class));
+        assertEquals(new Document("_id", "id4").append("lastInvitationRunId", new Document("$ne", "run-1")),
+                claims.getAllValues().get(0).getQueryObject());
+
+        ArgumentCaptor<Query> runQueries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> runUpdates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, atLeast(2)).updateFirst(runQueries.capture(), runUpdates.capture(), eq(BroadcastRun.class));
+        Document leased = new Document("_id", "run-1").append("state", BroadcastRun.State.RUNNING).append("owner", nodeId).append("epoch", 4L);
+        runQueries.getAllValues().forEach(query -> assertEquals(leased, query.getQueryObject()));
+        Document finished = runUpdates.getValue().getUpdateObject();
+        assertEquals(BroadcastRun.State.COMPLETED, ((Document) finished.get("$set")).get("state"));
+    }
+
+    @Test
+    public void testCheckpointAfterTakeoverStopsTheRunWithoutFinishingIt() throws Exception {
+        when(mongoTemplate.stream(any(Query.class), eq(WaitingList.class))).thenReturn(entries(1, 50).stream());
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(BroadcastRun.class))).thenReturn(MISSED);
+
+        ReflectionTestUtils.invokeMethod(service, "execute", run(1, 0));
+
+        ArgumentCaptor<Update> runUpdates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, atLeast(1)).updateFirst(any(Query.class), runUpdates.capture(), eq(BroadcastRun.class));
+        runUpdates.getAllValues().forEach(update -> assertFalse(((Document) update.getUpdateObject().get("$set")).containsKey("state")));
+        ArgumentCaptor<Query> claims = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, atLeast(1)).updateFirst(claims.capture(), any(Update.class), eq(WaitingList.class));
+        assertTrue(claims.getAllValues().size() < 50, "claims " + claims.getAllValues().size());
+    }
+
+    @Test
+    public void testHeartbeatRunsIndependentlyAndStopsTheRunOnceTheLeaseIsGone() throws Exception {
+        ReflectionTestUtils.setField(service, "ratePerSecond", 5.0);
+        ReflectionTestUtils.setField(service, "checkpointEvery", 1000);
+        when(mongoTemplate.stream(any(Query.class), eq(WaitingList.class))).thenReturn(entries(1, 100).stream());
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(BroadcastRun.class))).thenReturn(MATCHED, MISSED);
+        Thread worker = new Thread(() -> ReflectionTestUtils.invokeMethod(service, "execute", run(2, 0)));
+        worker.start();
+        verify(mongoTemplate, timeout(5000).atLeastOnce()).updateFirst(any(Query.class), any(Update.class), eq(WaitingList.class));
+
+        service.heartbeat();
+        assertTrue(worker.isAlive());
+        service.heartbeat();
+        worker.join(5000);
+
+        assertFalse(worker.isAlive());
+        ArgumentCaptor<Query> heartbeats = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, atLeast(2)).updateFirst(heartbeats.capture(), updates.capture(), eq(BroadcastRun.class));
+        assertEquals(new Document("_id", "run-1").append("state", BroadcastRun.State.RUNNING).append("owner", nodeId).append("epoch", 2L),
+                heartbeats.getAllValues().get(0).getQueryObject());
+        assertEquals(Set.of("heartbeatAt"), ((Document) updates.getAllValues().get(0).getUpdateObject().get("$set")).keySet());
+        ArgumentCaptor<Query> claims = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, atLeast(1)).updateFirst(claims.capture(), any(Update.class), eq(WaitingList.class));
+        assertTrue(claims.getAllValues().size() < 100, "claims " + claims.getAllValues().size());
+    }
+
+    private BroadcastRun run(long epoch, long checkpoint) {
+        BroadcastRun run = new BroadcastRun();
+        run.setId("run-1");
+        run.setSubject("Welcome {{name}}");
+        run.setHtmlBody("<p>Hi {{name}}</p>");
+        run.setTextBody("Hi {{name}}");
+        run.setState(BroadcastRun.State.RUNNING);
+        run.setOwner(nodeId);
+        run.setEpoch(epoch);
+        run.setCheckpointSequence(checkpoint);
+        return run;
+    }
+
+    private static List<WaitingList> entries(long from, long to) {
+        List<WaitingList> entries = new ArrayList<>();
+        for (long i = from; i <= to; i++) {
+            entries.add(new WaitingList("id" + i, "user" + i + "@example.com", "User " + i, i, Instant.now(), null, null));
+        }
+        return entries;
+    }
+}
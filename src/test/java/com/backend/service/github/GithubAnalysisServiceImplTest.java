@@ -0,0 +1,203 @@
+package com.backend.service.github;
+
+import com.backend.config.GithubLinkValidator;
+import com.backend.config.GithubRepositoryMetadata;
+import com.backend.model.github.GitStatus;
+import com.backend.model.github.Github;
+import com.backend.model.user.User;
+import com.backend.repository.github.GithubRepository;
+import com.backend.service.github.scheduler.AnalysisJobScheduler;
+import com.backend.service.github.scheduler.JobLane;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.transport.RefSpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GithubAnalysisServiceImplTest {
+
+    private static final String LINK = "https://github.com/vercel/next.js";
+
+    @Mock
+    private GithubRepository githubRepository;
+
+    @Mock
+    private GithubLinkValidator githubLinkValidator;
+
+    @Mock
+    private AnalysisJobScheduler scheduler;
+
+    @InjectMocks
+    private GithubAnalysisServiceImpl analysisService;
+
+    @TempDir
+    Path tempDir;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(analysisService, "smallRepoKb", 5_000L);
+        ReflectionTestUtils.setField(analysisService, "largeRepoKb", 100_000L);
+        ReflectionTestUtils.setField(analysisService, "maxRepoKb", 1_000_000L);
+        user = new User();
+        user.setId("user-1");
+    }
+
+    @Test
+    void testIncrementalHistogramMatchesFullScan() throws Exception {
+        Path source = tempDir.resolve("source");
+        try (Git work = Git.init().setDirectory(source.toFile()).call()) {
+            write(source, "src/App.java", "class App {}\n".repeat(20));
+            write(source, "src/util.js", "export const a = 1;\n".repeat(5));
+            write(source, "scripts/build.py", "print('build')\n");
+            write(source, "README.md", "# demo\n");
+            commit(work, "initial");
+
+            try (Git bare = Git.cloneRepository().setURI(source.toUri().toString()).setDirectory(tempDir.resolve("bare").toFile()).setBare(true).call()) {
+                ObjectId first = bare.getRepository().resolve(Constants.HEAD);
+                GithubAnalysisServiceImpl.Histogram histogram = GithubAnalysisServiceImpl.scan(bare.getRepository(), first);
+                assertEquals(4, histogram.fileCount);
+                assertEquals(Map.of("Java", 260L, "JavaScript", 100L, "Python", 15L), histogram.languageBytes);
+
+                write(source, "src/App.java", "class App {}\n".repeat(40));
+                Files.delete(source.resolve("src/util.js"));
+                write(source, "src/util.ts", "export const a: number = 1;\n");
+                write(source, "src/Helper.java", "class Helper {}\n");
+                Files.delete(source.resolve("README.md"));
+                work.add().addFilepattern(".").call();
+                work.rm().addFilepattern("src/util.js").addFilepattern("README.md").call();
+                commit(work, "second");
+
+                bare.fetch().setRefSpecs(new RefSpec("+refs/heads/*:refs/heads/*")).call();
+                ObjectId second = bare.getRepository().resolve(Constants.HEAD);
+                assertNotEquals(first, second);
+
+                GithubAnalysisServiceImpl.applyDiff(bare.getRepository(), first, second, histogram);
+                GithubAnalysisServiceImpl.Histogram rescanned = GithubAnalysisServiceImpl.scan(bare.getRepository(), second);
+                assertEquals(rescanned.languageBytes, histogram.languageBytes);
+                assertEquals(rescanned.fileCount, histogram.fileCount);
+                assertEquals(Map.of("Java", 536L, "TypeScript", 28L, "Python", 15L), histogram.languageBytes);
+                assertEquals(4, histogram.fileCount);
+            }
+        }
+    }
+
+    @Test
+    void testRepositoryNamesWithDotsAreAccepted() {
+        Github saved = record("github-1", GitStatus.PENDING);
+        when(githubRepository.findByGithubLinkAndUserId(LINK, "user-1")).thenReturn(Optional.empty());
+        when(githubLinkValidator.fetchRepositoryMetadata(LINK)).thenReturn(Optional.of(metadata()));
+        when(githubRepository.save(any(Github.class))).thenReturn(saved);
+        when(scheduler.submit(eq("user-1"), any(), anyLong(), any(), any())).thenReturn(true);
+
+        assertSame(saved, analysisService.submit(user, LINK + ".git/"));
+        verify(scheduler).submit(eq("user-1"), any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void testPendingRecordIsQueuedAgainOnlyWithoutLiveJob() {
+        Github pending = record("github-1", GitStatus.PENDING);
+        when(githubRepository.findByGithubLinkAndUserId(LINK, "user-1")).thenReturn(Optional.of(pending));
+        when(githubLinkValidator.fetchRepositoryMetadata(LINK)).thenReturn(Optional.of(metadata()));
+        when(githubRepository.save(any(Github.class))).thenReturn(pending);
+        when(scheduler.submit(eq("user-1"), any(), anyLong(), any(), any())).thenReturn(true);
+
+        // No job behind the PENDING record, as after a restart: it is queued again.
+        analysisService.submit(user, LINK);
+        // The job queued above is still live, so a resubmission returns the record as is.
+        analysisService.submit(user, LINK);
+
+        verify(scheduler, times(1)).submit(eq("user-1"), any(), anyLong(), any(), any());
+        verify(githubLinkValidator, times(1)).fetchRepositoryMetadata(LINK);
+    }
+
+    @Test
+    void testJobRefusedByTheExecutorFailsTheRecordAndCanBeResubmitted() {
+        Github pending = record("github-1", GitStatus.PENDING);
+        when(githubRepository.findByGithubLinkAndUserId(LINK, "user-1")).thenReturn(Optional.of(pending));
+        when(githubRepository.findById("github-1")).thenReturn(Optional.of(pending));
+        when(githubLinkValidator.fetchRepositoryMetadata(LINK)).thenReturn(Optional.of(metadata()));
+        when(githubRepository.save(any(Github.class))).thenReturn(pending);
+        when(scheduler.submit(eq("user-1"), any(), anyLong(), any(), any())).thenAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(4)).run();
+            return true;
+        });
+
+        analysisService.submit(user, LINK);
+        assertEquals(GitStatus.FAILED, pending.getRunGitStatus());
+
+        analysisService.submit(user, LINK);
+        verify(scheduler, times(2)).submit(eq("user-1"), any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void testResubmittedLargeRepositoryStaysInLargeLane() {
+        Github analyzed = record("github-1", GitStatus.SUCCESS);
+        analyzed.setLastCommitId("0123456789abcdef0123456789abcdef01234567");
+        when(githubRepository.findByGithubLinkAndUserId(LINK, "user-1")).thenReturn(Optional.of(analyzed));
+        when(githubLinkValidator.fetchRepositoryMetadata(LINK)).thenReturn(Optional.of(
+                new GithubRepositoryMetadata("vercel", "next.js", 900_000, "canary", "JavaScript", false, false, "vercel/next.js")));
+        when(githubRepository.save(any(Github.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(scheduler.submit(eq("user-1"), any(), anyLong(), any(), any())).thenReturn(true);
+
+        analysisService.submit(user, LINK);
+
+        verify(scheduler).submit(eq("user-1"), eq(JobLane.LARGE), eq(10L), any(), any());
+    }
+
+    @Test
+    void testConcurrentInsertReturnsExistingRecord() {
+        Github winner = record("github-1", GitStatus.PENDING);
+        when(githubRepository.findByGithubLinkAndUserId(LINK, "user-1")).thenReturn(Optional.empty(), Optional.of(winner));
+        when(githubLinkValidator.fetchRepositoryMetadata(LINK)).thenReturn(Optional.of(metadata()));
+        when(githubRepository.save(any(Github.class))).thenThrow(new DuplicateKeyException("github_link_user"));
+
+        assertSame(winner, analysisService.submit(user, LINK));
+        verifyNoInteractions(scheduler);
+    }
+
+    private static Github record(String id, GitStatus runStatus) {
+        Github github = new Github();
+        github.setId(id);
+        github.setGithubLink(LINK);
+        github.setRunGitStatus(runStatus);
+        github.setSizeKb(1_000);
+        return github;
+    }
+
+    private static GithubRepositoryMetadata metadata() {
+        return new GithubRepositoryMetadata("vercel", "next.js", 1_000, "canary", "JavaScript", false, false, "vercel/next.js");
+    }
+
+    private static void write(Path root, String path, String content) throws Exception {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private static void commit(Git git, String message) throws Exception {
+        git.add().addFilepattern(".").call();
+        PersonIdent ident = new PersonIdent("Test", "test@example.com");
+        git.commit().setMessage(message).setAuthor(ident).setCommitter(ident).call();
+    }
+}
@@ -0,0 +1,126 @@
+package com.backend.service.github.metrics;
+
+import com.backend.model.github.MetricsSummary;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommitMetricsEngineTest {
+
+    private static final PersonIdent ALICE = new PersonIdent("Alice", "alice@example.com");
+    private static final PersonIdent BOB = new PersonIdent("Bob", "bob@example.com");
+
+    @TempDir
+    Path tempDir;
+
+    private CommitMetricsEngine engine;
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    void testCountsCommitsAuthorsAndChurn() throws Exception {
+        engine = new CommitMetricsEngine(2, 20, 100_000);
+        try (Git git = Git.init().setDirectory(tempDir.toFile()).setInitialBranch("main").call()) {
+            write("a.txt", "1\n2\n3\n");
+            write("b.txt", "x\ny\n");
+            commit(git, ALICE, "add a and b");               // +5
+
+            write("a.txt", "1\nTWO\n3\n");
+            write("c.txt", "c1\nc2\nc3\nc4\n");
+            commit(git, BOB, "edit a, add c");                // +5 -1
+
+            git.checkout().setCreateBranch(true).setName("side").call();
+            write("b.txt", "x\ny\nz\n");
+            commit(git, ALICE, "extend b");                   // +1
+
+            git.checkout().setName("main").call();
+            Files.delete(tempDir.resolve("c.txt"));
+            git.rm().addFilepattern("c.txt").call();
+            commit(git, BOB, "drop c");                       // -4
+
+            // Merges count as commits for their author but are not diffed. The differently cased
+            // email still counts as Alice.
+            StoredConfig config = git.getRepository().getConfig();
+            config.setString("user", null, "name", "Alice");
+            config.setString("user", null, "email", "Alice@Example.com");
+            config.save();
+            git.merge().include(git.getRepository().resolve("side")).setMessage("merge side").call();
+
+            MetricsSummary summary = engine.compute(git.getRepository(), git.getRepository().resolve(Constants.HEAD));
+
+            assertEquals(5, summary.getCommitCount());
+            assertEquals(1, summary.getMergeCount());
+            assertEquals(2, summary.getAuthorCount());
+            assertEquals(3, summary.getFilesTouched());
+            assertEquals(11, summary.getLinesAdded());
+            assertEquals(5, summary.getLinesDeleted());
+            assertFalse(summary.isTruncated());
+            assertTrue(summary.getFirstCommitAt() > 0 && summary.getFirstCommitAt() <= summary.getLastCommitAt());
+
+            assertEquals(List.of("alice@example.com", "bob@example.com"), summary.getAuthorEmails());
+            assertArrayEquals(new long[]{3, 2}, summary.getAuthorCommits());
+            assertArrayEquals(new long[]{6, 5}, summary.getAuthorLinesAdded());
+            assertArrayEquals(new long[]{0, 5}, summary.getAuthorLinesDeleted());
+
+            // Every file changed in two commits; ties go to the file with the most changed lines.
+            assertEquals(List.of("c.txt", "a.txt", "b.txt"), summary.getHotspotPaths());
+            assertArrayEquals(new long[]{2, 2, 2}, summary.getHotspotCommits());
+            assertArrayEquals(new long[]{8, 5, 3}, summary.getHotspotLinesChanged());
+        }
+    }
+
+    @Test
+    void testParallelRangesAddUpAndHistoryIsTruncated() throws Exception {
+        try (Git git = Git.init().setDirectory(tempDir.toFile()).setInitialBranch("main").call()) {
+            StringBuilder content = new StringBuilder();
+            for (int i = 0; i < 300; i++) {
+                content.append("line ").append(i).append('\n');
+                write("log.txt", content.toString());
+                commit(git, i % 2 == 0 ? ALICE : BOB, "commit " + i);
+            }
+
+            // 300 commits on 4 threads are split into ranges of 64.
+            engine = new CommitMetricsEngine(4, 1, 100_000);
+            MetricsSummary summary = engine.compute(git.getRepository(), git.getRepository().resolve(Constants.HEAD));
+            assertEquals(300, summary.getCommitCount());
+            assertEquals(300, summary.getLinesAdded());
+            assertEquals(0, summary.getLinesDeleted());
+            assertEquals(2, summary.getAuthorCount());
+            assertEquals(1, summary.getAuthorEmails().size());
+            assertArrayEquals(new long[]{150}, summary.getAuthorCommits());
+            assertEquals(List.of("log.txt"), summary.getHotspotPaths());
+            assertArrayEquals(new long[]{300}, summary.getHotspotCommits());
+            engine.shutdown();
+
+            engine = new CommitMetricsEngine(4, 20, 100);
+            MetricsSummary truncated = engine.compute(git.getRepository(), git.getRepository().resolve(Constants.HEAD));
+            assertEquals(100, truncated.getCommitCount());
+            assertEquals(100, truncated.getLinesAdded());
+            assertTrue(truncated.isTruncated());
+        }
+    }
+
+    private void write(String path, String content) throws Exception {
+        Files.writeString(tempDir.resolve(path), content);
+    }
+
+    private static void commit(Git git, PersonIdent author, String message) throws Exception {
+        git.add().addFilepattern(".").call();
+        git.commit().setMessage(message).setAuthor(author).setCommitter(author).call();
+    }
+}
@@ -0,0 +1,61 @@
+package com.backend.service.github.result;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalResultStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testCommittedReportIsStoredCompressedAndReplacesPrevious() throws Exception {
+        LocalResultStore store = new LocalResultStore(tempDir);
+        write(store, "repo1", "{\"old\":true}", true);
+        String report = "{\"files\":[" + "{\"path\":\"src/Main.java\",\"lines\":120},".repeat(10_000) + "{}]}";
+        write(store, "repo1", report, true);
+
+        StoredResult stored = store.open("repo1").orElseThrow();
+        assertTrue(stored.compressedLength() < report.length() / 10);
+        try (InputStream in = new GZIPInputStream(stored.openCompressed())) {
+            assertEquals(report, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testUncommittedReportIsDiscarded() throws Exception {
+        LocalResultStore store = new LocalResultStore(tempDir);
+        write(store, "repo2", "{\"partial\":", false);
+
+        assertTrue(store.open("repo2").isEmpty());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void testRejectsIdsThatEscapeTheStore() {
+        LocalResultStore store = assertDoesNotThrow(() -> new LocalResultStore(tempDir));
+        assertThrows(IllegalArgumentException.class, () -> store.open("../etc"));
+    }
+
+    private static void write(LocalResultStore store, String id, String report, boolean commit) throws Exception {
+        try (ResultOutput output = store.create(id)) {
+            OutputStream out = output.stream();
+            out.write(report.getBytes(StandardCharsets.UTF_8));
+            if (commit) {
+                output.commit();
+            }
+        }
+    }
+}
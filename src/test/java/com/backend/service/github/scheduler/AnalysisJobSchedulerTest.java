@@ -0,0 +1,64 @@
+package com.backend.service.github.scheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnalysisJobSchedulerTest {
+
+    private final List<String> events = new ArrayList<>();
+    private boolean rejecting;
+    private AnalysisJobScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new AnalysisJobScheduler();
+        TaskExecutor executor = task -> {
+            if (rejecting) {
+                throw new TaskRejectedException("Executor is full");
+            }
+            task.run();
+        };
+        ReflectionTestUtils.setField(scheduler, "executor", executor);
+        ReflectionTestUtils.setField(scheduler, "registry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(scheduler, "workers", 1);
+        ReflectionTestUtils.setField(scheduler, "perUserConcurrency", 1);
+        ReflectionTestUtils.setField(scheduler, "maxQueuedPerUser", 10);
+        ReflectionTestUtils.setField(scheduler, "quantum", 1L);
+        ReflectionTestUtils.setField(scheduler, "smallLaneWeight", 3);
+        ReflectionTestUtils.setField(scheduler, "largeLaneConcurrency", 1);
+        scheduler.init();
+    }
+
+    @Test
+    public void testRejectedJobRunsItsCallbackAndFreesItsSlot() {
+        rejecting = true;
+        assertTrue(scheduler.submit("user-1", JobLane.STANDARD, 1, () -> events.add("ran a"), () -> events.add("rejected a")));
+
+        rejecting = false;
+        assertTrue(scheduler.submit("user-1", JobLane.STANDARD, 1, () -> events.add("ran b"), () -> events.add("rejected b")));
+
+        assertEquals(List.of("rejected a", "ran b"), events);
+    }
+
+    @Test
+    public void testFailingCallbackDoesNotEscapeSubmit() {
+        rejecting = true;
+
+        assertTrue(scheduler.submit("user-1", JobLane.SMALL, 1, () -> events.add("ran"), () -> {
+            throw new IllegalStateException("Mongo is down");
+        }));
+
+        rejecting = false;
+        scheduler.submit("user-1", JobLane.SMALL, 1, () -> events.add("ran next"), () -> events.add("rejected next"));
+        assertEquals(List.of("ran next"), events);
+    }
+}
@@ -0,0 +1,205 @@
+package com.backend.service.github.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the queue with a discrete-time simulation: every job takes {@link #JOB_TICKS} ticks and
+ * the clock only moves when the simulation advances it, so every run dispatches in the same order.
+ */
+public class FairShareQueueTest {
+
+    private static final int WORKERS = 4;
+    private static final long JOB_TICKS = 10;
+
+    @Test
+    public void testLightUsersWaitIsBoundedWhileOneUserFloodsTheQueue() {
+        Simulation simulation = new Simulation(2);
+        simulation.submitAt(0, "heavy", JobLane.STANDARD, 200);
+        for (int i = 0; i < 8; i++) {
+            simulation.submitAt(25 + i * 7, "light-" + i, JobLane.STANDARD, 1);
+        }
+        simulation.run();
+
+        // The heavy user never holds more than its cap, so the other two workers serve everyone else.
+        assertEquals(2, simulation.maxRunning("heavy"));
+        assertTrue(simulation.maxWait("light-") <= 2 * JOB_TICKS, "light wait " + simulation.maxWait("light-"));
+        assertEquals(208, simulation.completed());
+    }
+
+    @Test
+    public void testDeficitRoundRobinSharesWorkersAcrossSkewedUsers() {
+        Simulation simulation = new Simulation(WORKERS);
+        simulation.submitAt(0, "heavy", JobLane.STANDARD, 120);
+        simulation.submitAt(0, "medium", JobLane.STANDARD, 30);
+        for (int i = 0; i < 12; i++) {
+            simulation.submitAt(i * 15, "light-" + i, JobLane.STANDARD, 2);
+        }
+        simulation.run();
+
+        // Under FIFO a light user arriving early would wait behind ~150 jobs (~375 ticks); here both
+        // of its jobs start within two rounds over the active users.
+        assertTrue(simulation.maxWait("light-") <= 2 * JOB_TICKS, "light wait " + simulation.maxWait("light-"));
+        // Under FIFO the medium user would finish only after all 120 heavy jobs (~375 ticks).
+        assertTrue(simulation.lastFinish("medium") <= 25 * JOB_TICKS, "medium finished at " + simulation.lastFinish("medium"));
+        assertEquals(174, simulation.completed());
+    }
+
+    @Test
+    public void testSmallLaneIsServedFirstWithoutStarvingStandard() {
+        Simulation simulation = new Simulation(WORKERS);
+        simulation.submitAt(0, "heavy", JobLane.STANDARD, 40);
+        simulation.submitAt(0, "incremental", JobLane.SMALL, 40);
+        simulation.run();
+
+        assertTrue(simulation.lastFinish("incremental") < simulation.lastFinish("heavy"));
+        // Weight 3:1 still leaves one in four dispatches to the standard lane.
+        assertTrue(simulation.firstFinish("heavy") <= JOB_TICKS);
+    }
+
+    @Test
+    public void testLargeLaneLimitLeavesWorkersForOtherLanes() {
+        Simulation simulation = new Simulation(WORKERS);
+        simulation.queue.limitLane(JobLane.LARGE, 1);
+        for (int i = 0; i < 6; i++) {
+            simulation.submitAt(0, "large-" + i, JobLane.LARGE, 1);
+        }
+        simulation.submitAt(5, "standard", JobLane.STANDARD, 3);
+        simulation.run();
+
+        assertEquals(0, simulation.maxWait("standard"));
+        assertEquals(6 * JOB_TICKS, simulation.lastFinish("large-5"));
+    }
+
+    @Test
+    public void testRunsAreDeterministic() {
+        List<String> first = skewedRun();
+        List<String> second = skewedRun();
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void testRejectsWhenUserQueueIsFull() {
+        FairShareQueue<String> queue = new FairShareQueue<>(1, 2, 1, Map.of(), () -> 0);
+        assertTrue(queue.offer("user", JobLane.STANDARD, 1, "a"));
+        assertTrue(queue.offer("user", JobLane.SMALL, 1, "b"));
+        assertFalse(queue.offer("user", JobLane.STANDARD, 1, "c"));
+        assertTrue(queue.offer("other", JobLane.STANDARD, 1, "d"));
+
+        ScheduledJob<String> job = queue.poll();
+        assertEquals("b", job.payload());
+        assertEquals("d", queue.poll().payload());
+        // "user" is at its cap of one running job
+        assertNull(queue.poll());
+        queue.complete(job);
+        assertEquals("a", queue.poll().payload());
+        assertTrue(queue.offer("user", JobLane.STANDARD, 1, "e"));
+    }
+
+    private static List<String> skewedRun() {
+        Simulation simulation = new Simulation(2);
+        simulation.submitAt(0, "heavy", JobLane.STANDARD, 50);
+        simulation.submitAt(3, "medium", JobLane.SMALL, 10);
+        simulation.submitAt(7, "light", JobLane.STANDARD, 3);
+        simulation.run();
+        return simulation.dispatchOrder;
+    }
+
+    private static final class Simulation {
+        private final FairShareQueue<String> queue;
+        private final PriorityQueue<Event> events = new PriorityQueue<>();
+        private final Map<String, Long> maxWait = new HashMap<>();
+        private final Map<String, Integer> maxRunning = new HashMap<>();
+        private final Map<String, Long> firstFinish = new HashMap<>();
+        private final Map<String, Long> lastFinish = new HashMap<>();
+        private final List<String> dispatchOrder = new ArrayList<>();
+        private long now;
+        private long sequence;
+        private int busy;
+        private int completed;
+
+        Simulation(int perUserConcurrency) {
+            queue = new FairShareQueue<>(perUserConcurrency, 1000, 1, Map.of(JobLane.SMALL, 3, JobLane.STANDARD, 1), () -> now);
+        }
+
+        void submitAt(long time, String user, JobLane lane, int jobs) {
+            events.add(new Event(time, sequence++, () -> {
+                for (int i = 0; i < jobs; i++) {
+                    assertTrue(queue.offer(user, lane, 1, user + "#" + i));
+                }
+            }));
+        }
+
+        void run() {
+            while (!events.isEmpty()) {
+                Event event = events.poll();
+                now = event.time;
+                event.action.run();
+                dispatch();
+            }
+            assertEquals(0, busy);
+            for (JobLane lane : JobLane.values()) {
+                assertEquals(0, queue.size(lane));
+            }
+        }
+
+        private void dispatch() {
+            while (busy < WORKERS) {
+                ScheduledJob<String> job = queue.poll();
+                if (job == null) {
+                    return;
+                }
+                busy++;
+                dispatchOrder.add(job.payload());
+                maxWait.merge(job.userId(), now - job.enqueuedAtNanos(), Math::max);
+                maxRunning.merge(job.userId(), queue.running(job.userId()), Math::max);
+                events.add(new Event(now + JOB_TICKS, sequence++, () -> {
+                    busy--;
+                    completed++;
+                    queue.complete(job);
+                    firstFinish.putIfAbsent(job.userId(), now);
+                    lastFinish.put(job.userId(), now);
+                }));
+            }
+        }
+
+        long maxWait(String userPrefix) {
+            return maxWait.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(userPrefix))
+                    .mapToLong(Map.Entry::getValue)
+                    .max()
+                    .orElseThrow();
+        }
+
+        int maxRunning(String user) {
+            return maxRunning.get(user);
+        }
+
+        long firstFinish(String user) {
+            return firstFinish.get(user);
+        }
+
+        long lastFinish(String user) {
+            return lastFinish.get(user);
+        }
+
+        int completed() {
+            return completed;
+        }
+    }
+
+    private record Event(long time, long sequence, Runnable action) implements Comparable<Event> {
+        @Override
+        public int compareTo(Event other) {
+            int byTime = Long.compare(time, other.time);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.backend.service.github.storage;
+
+import com.backend.dto.response.ForkNetworkUsage;
+import com.backend.model.github.Github;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Syncs two forks of one project from local repositories standing in for GitHub.
+ */
+public class ForkNetworkStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path workspace;
+    private Git upstream;
+    private Git fork;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        workspace = tempDir.resolve("workspace");
+        upstream = Git.init().setInitialBranch("main").setDirectory(tempDir.resolve("remote/upstream.git").toFile()).call();
+        commit(upstream, "README.md", "upstream");
+        fork = Git.cloneRepository().setURI(tempDir.resolve("remote/upstream.git").toUri().toString())
+                .setDirectory(tempDir.resolve("remote/fork.git").toFile()).call();
+        fork.checkout().setCreateBranch(true).setName("feature").call();
+        commit(fork, "Feature.java", "class Feature {}");
+        fork.checkout().setName("main").call();
+    }
+
+    @Test
+    public void testForksShareObjectsAndKeepTheirOwnRefs() throws Exception {
+        ForkNetworkStore store = store();
+
+        try (Git upstreamCopy = store.sync(github("1", "upstream", 40), workspace.resolve("1"));
+             Git forkCopy = store.sync(github("2", "fork", 60), workspace.resolve("2"))) {
+            Path networkObjects = workspace.resolve("networks/owner__project.git/objects").toAbsolutePath().normalize();
+            for (Path copy : List.of(workspace.resolve("1"), workspace.resolve("2"))) {
+                assertEquals(networkObjects + "\n", Files.readString(copy.resolve("objects/info/alternates"), StandardCharsets.UTF_8));
+                assertEquals(0, objectFiles(copy.resolve("objects")));
+            }
+
+            assertEquals(head(upstream, "main"), head(upstreamCopy, "main"));
+            assertNull(upstreamCopy.getRepository().exactRef(Constants.R_HEADS + "feature"));
+            assertEquals(head(fork, "feature"), head(forkCopy, "feature"));
+            assertEquals(Constants.R_HEADS + "main", forkCopy.getRepository().exactRef(Constants.HEAD).getTarget().getName());
+            // Commits only the fork has are readable through the alternate.
+            assertTrue(forkCopy.getRepository().getObjectDatabase().has(head(fork, "feature")));
+        }
+
+        fork.branchDelete().setBranchNames("feature").setForce(true).call();
+        try (Git forkCopy = store.sync(github("2", "fork", 60), workspace.resolve("2"))) {
+            assertNull(forkCopy.getRepository().exactRef(Constants.R_HEADS + "feature"));
+            assertEquals(head(fork, "main"), head(forkCopy, "main"));
+        }
+    }
+
+    @Test
+    public void testUsageSurvivesARestart() throws Exception {
+        ForkNetworkStore store = store();
+        store.sync(github("1", "upstream", 40), workspace.resolve("1")).close();
+        store.sync(github("2", "fork", 60), workspace.resolve("2")).close();
+        ForkNetworkUsage before = store.usage().get(0);
+
+        ForkNetworkStore restarted = store();
+        SimpleMeterRegistry registry = (SimpleMeterRegistry) ReflectionTestUtils.getField(restarted, "registry");
+        List<ForkNetworkUsage> after = restarted.usage();
+
+        assertEquals(List.of(before), after);
+        assertEquals("owner__project", before.getNetwork());
+        assertEquals(2, before.getForks());
+        assertEquals(100 * 1024, before.getLogicalBytes());
+        assertEquals(objectBytes(workspace.resolve("networks/owner__project.git/objects")), before.getDiskBytes());
+        assertEquals(before.getDiskBytes(), registry.get("analysis.storage.disk.bytes").gauge().value());
+        assertEquals(100 * 1024, registry.get("analysis.storage.logical.bytes").gauge().value());
+    }
+
+    private ForkNetworkStore store() {
+        ForkNetworkStore store = new ForkNetworkStore();
+        ReflectionTestUtils.setField(store, "workspace", workspace);
+        ReflectionTestUtils.setField(store, "registry", new SimpleMeterRegistry());
+        store.registerMetrics();
+        return store;
+    }
+
+    private Github github(String id, String name, long sizeKb) {
+        Github github = new Github();
+        github.setId(id);
+        github.setGithubLink(tempDir.resolve("remote").resolve(name).toString());
+        github.setNetworkRoot("Owner/Project");
+        github.setDefaultBranch("main");
+        github.setSizeKb(sizeKb);
+        return github;
+    }
+
+    private static void commit(Git git, String file, String content) throws Exception {
+        Files.writeString(git.getRepository().getWorkTree().toPath().resolve(file), content);
+        git.add().addFilepattern(file).call();
+        git.commit().setMessage("Add " + file).setAuthor("dev", "dev@example.com").setCommitter("dev", "dev@example.com").call();
+    }
+
+    private static ObjectId head(Git git, String branch) throws Exception {
+        Repository repository = git.getRepository();
+        return repository.exactRef(Constants.R_HEADS + branch).getObjectId();
+    }
+
+    // Object files a repository holds itself, ignoring the info directory that carries the alternates.
+    private static long objectFiles(Path objects) throws Exception {
+        try (Stream<Path> files = Files.walk(objects)) {
+            return files.filter(Files::isRegularFile).filter(file -> !file.startsWith(objects.resolve("info"))).count();
+        }
+    }
+
+    private static long objectBytes(Path objects) throws Exception {
+        try (Stream<Path> files = Files.walk(objects)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+}
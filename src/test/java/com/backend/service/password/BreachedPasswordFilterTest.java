@@ -0,0 +1,48 @@
+package com.backend.service.password;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BreachedPasswordFilterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testBuiltFilterContainsEveryListedPassword() throws Exception {
+        MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String hash = HexFormat.of().withUpperCase().formatHex(sha1.digest(("Breached" + i).getBytes(StandardCharsets.UTF_8)));
+            lines.add(hash + ":" + (i + 1));
+        }
+        Path hashList = tempDir.resolve("hashes.txt");
+        Files.write(hashList, lines);
+        Path filterFile = tempDir.resolve("breached.bloom");
+
+        long entries = BreachedPasswordFilterBuilder.build(hashList, filterFile, 0.01);
+        BreachedPasswordFilter filter = BreachedPasswordFilter.open(filterFile);
+
+        assertEquals(10_000, entries);
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("Breached" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("NotBreached" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,101 @@
+package com.backend.service.user;
+
+import com.backend.dto.UserDTO;
+import com.backend.model.user.User;
+import com.backend.repository.user.UserPatch;
+import com.backend.repository.user.UserRepository;
+import com.backend.service.avatar.AvatarServiceImpl;
+import com.backend.shared.result.ServiceResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class UserServiceImplTest {
+
+    private UserRepository userRepository;
+    private UserServiceImpl userService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        userService = new UserServiceImpl();
+        ReflectionTestUtils.setField(userService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userService, "avatarService", mock(AvatarServiceImpl.class));
+        user = new User();
+        user.setId("u1");
+        user.setUsername("ada");
+        user.setEmail("ada@example.com");
+        user.setName("Ada");
+        user.setVersion(2L);
+        when(userRepository.findByEmail("ada@example.com")).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    public void testUnchangedValuesMakeAnEmptyPatch() {
+        ServiceResult<Void> result = userService.tryUpdateUser("ada@example.com", update("ada", "Ada"));
+
+        assertTrue(result.isOk());
+        assertFalse(appliedPatch().isDirty());
+    }
+
+    @Test
+    public void testChangedValuesArePatched() {
+        ServiceResult<Void> result = userService.tryUpdateUser("ada@example.com", update("ada", "Ada Lovelace"));
+
+        assertTrue(result.isOk());
+        UserPatch patch = appliedPatch();
+        assertTrue(patch.isDirty());
+        assertSame(user, patch.getUser());
+        assertEquals("Ada Lovelace", user.getName());
+    }
+
+    @Test
+    public void testVersionConflictIsReportedAsConflict() {
+        when(userRepository.applyPatch(any(UserPatch.class))).thenThrow(new OptimisticLockingFailureException("stale"));
+
+        ServiceResult<Void> result = userService.tryUpdateUser("ada@example.com", update("ada", "Ada Lovelace"));
+
+        assertEquals(ServiceResult.Error.CONFLICT, result.getError());
+        assertThrows(OptimisticLockingFailureException.class, () -> userService.updateUser("ada@example.com", update("ada", "Ada L.")));
+    }
+
+    @Test
+    public void testTakenUsernameIsReportedAsAlreadyExists() {
+        when(userRepository.applyPatch(any(UserPatch.class))).thenThrow(new DuplicateKeyException("E11000 duplicate key"));
+
+        ServiceResult<Void> result = userService.tryUpdateUser("ada@example.com", update("grace", "Ada"));
+
+        assertEquals(ServiceResult.Error.ALREADY_EXISTS, result.getError());
+    }
+
+    @Test
+    public void testUnknownUserIsNotFound() {
+        when(userRepository.findByEmail("nobody@example.com")).thenReturn(Optional.empty());
+
+        assertEquals(ServiceResult.Error.NOT_FOUND, userService.tryUpdateUser("nobody@example.com", update("ada", "Ada")).getError());
+        verify(userRepository, never()).applyPatch(any(UserPatch.class));
+    }
+
+    private UserPatch appliedPatch() {
+        ArgumentCaptor<UserPatch> patch = ArgumentCaptor.forClass(UserPatch.class);
+        verify(userRepository).applyPatch(patch.capture());
+        return patch.getValue();
+    }
+
+    private static UserDTO update(String username, String name) {
+        UserDTO dto = new UserDTO();
+        dto.setUsername(username);
+        dto.setName(name);
+        return dto;
+    }
+}
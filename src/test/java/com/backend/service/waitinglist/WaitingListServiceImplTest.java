@@ -0,0 +1,144 @@
+package com.backend.service.waitinglist;
+
+import com.backend.config.WaitingListSequenceBackfill;
+import com.backend.dto.request.WaitingListDTO;
+import com.backend.dto.response.WaitingListPosition;
+import com.backend.model.counter.Counter;
+import com.backend.model.waitingList.WaitingList;
+import com.backend.repository.waitinglist.WaitingListRepository;
+import com.backend.service.counter.CounterServiceImpl;
+import com.backend.service.domain.EmailDomainServiceImpl;
+import com.backend.shared.result.ServiceResult;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Needs a disposable database, e.g. {@code TEST_MONGO_URI=mongodb://localhost:27017}.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_MONGO_URI", matches = ".+")
+public class WaitingListServiceImplTest {
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private WaitingListRepository repository;
+    private CounterServiceImpl counterService;
+    private WaitingListServiceImpl waitingListService;
+    private WaitingListSequenceBackfill sequenceBackfill;
+
+    @BeforeEach
+    void setUp() {
+        client = MongoClients.create(System.getenv("TEST_MONGO_URI"));
+        mongoTemplate = new MongoTemplate(client, "waiting_list_test");
+        mongoTemplate.dropCollection(WaitingList.class);
+        mongoTemplate.dropCollection(Counter.class);
+        counterService = new CounterServiceImpl();
+        ReflectionTestUtils.setField(counterService, "mongoTemplate", mongoTemplate);
+        repository = new MongoRepositoryFactory(mongoTemplate).getRepository(WaitingListRepository.class);
+        waitingListService = new WaitingListServiceImpl();
+        ReflectionTestUtils.setField(waitingListService, "waitingListRepository", repository);
+        ReflectionTestUtils.setField(waitingListService, "emailDomainService", mock(EmailDomainServiceImpl.class));
+        ReflectionTestUtils.setField(waitingListService, "counterService", counterService);
+        ReflectionTestUtils.setField(waitingListService, "mongoTemplate", mongoTemplate);
+        sequenceBackfill = new WaitingListSequenceBackfill();
+        ReflectionTestUtils.setField(sequenceBackfill, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(sequenceBackfill, "counterService", counterService);
+        ReflectionTestUtils.setField(waitingListService, "sequenceBackfill", sequenceBackfill);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.dropCollection(WaitingList.class);
+        mongoTemplate.dropCollection(Counter.class);
+        client.close();
+    }
+
+    @Test
+    public void testPositionFollowsTheSequenceHandedOutAtSignup() {
+        counterService.advanceTo(WaitingListServiceImpl.SEQUENCE, 41);
+        for (String name : new String[]{"ada", "bob", "cy"}) {
+            assertTrue(waitingListService.tryCreateWaitingList(signup(name)).isOk());
+        }
+        // A value burned by a failed signup leaves a gap that positions do not count.
+        counterService.next(WaitingListServiceImpl.SEQUENCE);
+        assertTrue(waitingListService.tryCreateWaitingList(signup("dee")).isOk());
+
+        assertEquals(42L, sequenceOf("ada"));
+        assertPosition("ada", 1);
+        assertPosition("bob", 2);
+        assertPosition("cy", 3);
+        assertPosition("dee", 4);
+        assertEquals(46L, sequenceOf("dee"));
+        assertEquals(ServiceResult.Error.NOT_FOUND, waitingListService.tryGetPosition("nobody@example.com").getError());
+    }
+
+    @Test
+    public void testLegacyEntriesAreNumberedBeforeTheFirstNewSignup() {
+        mongoTemplate.insert(new WaitingList(null, "old1@example.com", "old1", null, null, null, null));
+        mongoTemplate.insert(new WaitingList(null, "old2@example.com", "old2", null, null, null, null));
+
+        // Not numbered yet: positions follow signup order.
+        assertPosition("old1", 1, 2);
+        assertPosition("old2", 2, 2);
+
+        assertTrue(waitingListService.tryCreateWaitingList(signup("new")).isOk());
+
+        assertEquals(1L, sequenceOf("old1"));
+        assertEquals(2L, sequenceOf("old2"));
+        assertEquals(3L, sequenceOf("new"));
+        assertPosition("new", 3, 3);
+    }
+
+    @Test
+    public void testAdvanceToNeverMovesTheCounterBackwards() {
+        assertEquals(1, counterService.next("test"));
+        counterService.advanceTo("test", 10);
+        assertEquals(11, counterService.next("test"));
+
+        counterService.advanceTo("test", 5);
+        assertEquals(12, counterService.next("test"));
+
+        counterService.advanceTo("fresh", 3);
+        assertEquals(4, counterService.next("fresh"));
+    }
+
+    @Test
+    public void testReserveHandsOutAConsecutiveBlock() {
+        counterService.advanceTo("test", 7);
+
+        assertEquals(8, counterService.reserve("test", 500));
+        assertEquals(508, counterService.next("test"));
+    }
+
+    private void assertPosition(String name, long expected) {
+        assertPosition(name, expected, 4);
+    }
+
+    private void assertPosition(String name, long expected, long total) {
+        waitingListService.reconcileTotal();
+        ServiceResult<WaitingListPosition> result = waitingListService.tryGetPosition(name + "@example.com");
+        assertTrue(result.isOk());
+        assertEquals(expected, result.getValue().getPosition());
+        assertEquals(total, result.getValue().getTotal());
+    }
+
+    private long sequenceOf(String name) {
+        return repository.findByEmail(name + "@example.com").orElseThrow().getSequence();
+    }
+
+    private static WaitingListDTO signup(String name) {
+        WaitingListDTO dto = new WaitingListDTO();
+        dto.setName(name);
+        dto.setEmail(name + "@example.com");
+        return dto;
+    }
+}
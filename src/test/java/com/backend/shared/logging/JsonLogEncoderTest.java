@@ -0,0 +1,79 @@
+package com.backend.shared.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonLogEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LoggerContext context = new LoggerContext();
+    private final Logger logger = context.getLogger("com.backend.Test");
+
+    @BeforeEach
+    void setUp() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    @Test
+    public void testEveryStringFieldIsEscapedIntoOneLineOfJson() throws Exception {
+        String message = "quote \" backslash \\ newline \n return \r tab \t bell \u0007 nul \u0000 unit \u001f é ✓ 😀";
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.WARN, message, null, null);
+        event.setThreadName("worker \"1\"");
+        event.setMDCPropertyMap(Map.of("user\nid", "a\"b"));
+
+        String line = encode(new JsonLogEncoder(), event);
+
+        assertTrue(line.endsWith("}\n"));
+        assertEquals(line.length() - 1, line.indexOf('\n'));
+        JsonNode json = objectMapper.readTree(line);
+        assertEquals(event.getTimeStamp(), json.get("ts").asLong());
+        assertEquals("WARN", json.get("level").asText());
+        assertEquals("com.backend.Test", json.get("logger").asText());
+        assertEquals("worker \"1\"", json.get("thread").asText());
+        assertEquals(message, json.get("msg").asText());
+        assertEquals("a\"b", json.get("mdc").get("user\nid").asText());
+        assertTrue(line.contains("newline \\n return \\r tab \\t bell \\u0007"), line);
+    }
+
+    @Test
+    public void testLoneSurrogateIsReplaced() throws Exception {
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.INFO, "broken \ud83d pair", null, null);
+
+        assertEquals("broken ? pair", objectMapper.readTree(encode(new JsonLogEncoder(), event)).get("msg").asText());
+    }
+
+    @Test
+    public void testThrowableIsWrittenWithItsCause() throws Exception {
+        Exception error = new IllegalStateException("outer \"failure\"", new IllegalArgumentException("inner\nline"));
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.ERROR, "failed", error, null);
+
+        JsonNode withStack = objectMapper.readTree(encode(new JsonLogEncoder(), event));
+        JsonLogEncoder withoutStacks = new JsonLogEncoder();
+        withoutStacks.setIncludeStackTraces(false);
+        JsonNode withoutStack = objectMapper.readTree(encode(withoutStacks, event));
+
+        JsonNode thrown = withStack.get("error");
+        assertEquals(IllegalStateException.class.getName(), thrown.get("type").asText());
+        assertEquals("outer \"failure\"", thrown.get("message").asText());
+        assertTrue(thrown.get("stack").get(0).asText().startsWith(JsonLogEncoderTest.class.getName() + ".testThrowableIsWrittenWithItsCause:"));
+        assertEquals("inner\nline", thrown.get("cause").get("message").asText());
+        assertNull(withoutStack.get("error").get("stack"));
+        assertEquals(IllegalArgumentException.class.getName(), withoutStack.get("error").get("cause").get("type").asText());
+    }
+
+    private static String encode(JsonLogEncoder encoder, LoggingEvent event) {
+        return new String(encoder.encode(event), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,130 @@
+package com.backend.shared.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RingBufferAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger logger = context.getLogger("ring");
+
+    @BeforeEach
+    void setUp() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    @Test
+    public void testConcurrentAppendsAreDeliveredOnceInProducerOrder() throws Exception {
+        ListAppender<ILoggingEvent> sink = start(new ListAppender<>());
+        RingBufferAsyncAppender appender = ringBuffer(1 << 16, sink);
+        int threads = 8;
+        int perThread = 5_000;
+        CountDownLatch go = new CountDownLatch(1);
+        Thread[] producers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int producer = t;
+            producers[t] = new Thread(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    appender.doAppend(event(producer + ":" + i));
+                }
+            });
+            producers[t].start();
+        }
+        go.countDown();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        appender.stop();
+
+        assertEquals(0, appender.getDroppedCount());
+        assertEquals(threads * perThread, sink.list.size());
+        Map<String, Integer> next = new HashMap<>();
+        for (ILoggingEvent event : sink.list) {
+            String[] parts = event.getMessage().split(":");
+            int expected = next.getOrDefault(parts[0], 0);
+            assertEquals(expected, Integer.parseInt(parts[1]), "producer " + parts[0]);
+            next.put(parts[0], expected + 1);
+        }
+    }
+
+    @Test
+    public void testEventsAreDroppedAndCountedWhileTheBufferIsFull() throws Exception {
+        BlockingAppender sink = start(new BlockingAppender());
+        RingBufferAsyncAppender appender = ringBuffer(4, sink);
+
+        appender.doAppend(event("first"));
+        assertTrue(sink.entered.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++) {
+            appender.doAppend(event("queued " + i));
+        }
+        assertEquals(6, appender.getDroppedCount());
+
+        sink.release.countDown();
+        appender.stop();
+
+        assertEquals(List.of("first", "queued 0", "queued 1", "queued 2", "queued 3"),
+                sink.received.stream().map(ILoggingEvent::getMessage).toList());
+        assertTrue(context.getStatusManager().getCopyOfStatusList().stream()
+                .anyMatch(status -> status.getMessage().equals("Dropped 6 logging events because the ring buffer was full")));
+    }
+
+    private RingBufferAsyncAppender ringBuffer(int capacity, AppenderBase<ILoggingEvent> sink) {
+        RingBufferAsyncAppender appender = new RingBufferAsyncAppender();
+        appender.setContext(context);
+        appender.setName("ring");
+        appender.setCapacity(capacity);
+        appender.setMaxFlushTimeMillis(10_000);
+        appender.addAppender(sink);
+        appender.start();
+        return appender;
+    }
+
+    private <A extends AppenderBase<ILoggingEvent>> A start(A sink) {
+        sink.setContext(context);
+        sink.start();
+        return sink;
+    }
+
+    private ILoggingEvent event(String message) {
+        return new LoggingEvent(Logger.class.getName(), logger, Level.INFO, message, null, null);
+    }
+
+    private static final class BlockingAppender extends AppenderBase<ILoggingEvent> {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<ILoggingEvent> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            received.add(event);
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
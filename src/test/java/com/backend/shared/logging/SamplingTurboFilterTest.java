@@ -0,0 +1,80 @@
+package com.backend.shared.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SamplingTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger logger = context.getLogger("sampled");
+
+    @Test
+    public void testBurstThenOneInSampleRatePass() {
+        SamplingTurboFilter filter = filter(5, 10, 3_600_000);
+
+        assertEquals(5 + 100, admitted(filter, Level.INFO, "Processed {}", 1_005));
+        // Other templates have their own budget.
+        assertEquals(5, admitted(filter, Level.INFO, "Skipped {}", 5));
+    }
+
+    @Test
+    public void testLevelsAboveTheSampledLevelAlwaysPass() {
+        SamplingTurboFilter filter = filter(1, 1_000, 3_600_000);
+        filter.setMaxSampledLevel("INFO");
+
+        assertEquals(100, admitted(filter, Level.WARN, "Disk almost full", 100));
+        assertEquals(1, admitted(filter, Level.INFO, "Disk almost full", 100));
+    }
+
+    @Test
+    public void testBudgetResetsEachInterval() throws Exception {
+        SamplingTurboFilter filter = filter(2, 1_000, 50);
+
+        assertEquals(2, admitted(filter, Level.INFO, "tick", 10));
+        Thread.sleep(80);
+        assertEquals(2, admitted(filter, Level.INFO, "tick", 10));
+    }
+
+    @Test
+    public void testTemplatesBeyondTheTrackingLimitAreNotSampled() {
+        SamplingTurboFilter filter = filter(1, 1_000, 3_600_000);
+        filter.setMaxTrackedKeys(1);
+
+        assertEquals(1, admitted(filter, Level.INFO, "first {}", 10));
+        assertEquals(10, admitted(filter, Level.INFO, "second {}", 10));
+    }
+
+    @Test
+    public void testDisabledLevelIsLeftToTheLogger() {
+        SamplingTurboFilter filter = filter(1, 1_000, 3_600_000);
+        logger.setLevel(Level.INFO);
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.DEBUG, "verbose", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.DEBUG, "verbose", null, null));
+    }
+
+    private SamplingTurboFilter filter(int burst, int sampleRate, long intervalMillis) {
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setContext(context);
+        filter.setBurst(burst);
+        filter.setSampleRate(sampleRate);
+        filter.setIntervalMillis(intervalMillis);
+        filter.start();
+        return filter;
+    }
+
+    private int admitted(SamplingTurboFilter filter, Level level, String format, int events) {
+        int admitted = 0;
+        for (int i = 0; i < events; i++) {
+            if (filter.decide(null, logger, level, format, new Object[]{i}, null) == FilterReply.NEUTRAL) {
+                admitted++;
+            }
+        }
+        return admitted;
+    }
+}
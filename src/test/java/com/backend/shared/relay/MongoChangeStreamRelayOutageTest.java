@@ -0,0 +1,80 @@
+package com.backend.shared.relay;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.messaging.MessageChannel;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Behaviour while Mongo is unreachable; needs no server.
+ */
+public class MongoChangeStreamRelayOutageTest {
+
+    private final MessageChannel broker = (message, timeout) -> true;
+
+    @Test
+    void startDoesNotTouchMongoAndWorkerKeepsRetrying() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.indexOps(anyString())).thenThrow(new DataAccessResourceFailureException("down"));
+        MongoChangeStreamRelay relay = new MongoChangeStreamRelay(mongoTemplate, "stomp_relay", Duration.ofMillis(10), Duration.ofMinutes(1), () -> broker);
+
+        relay.start();
+        try {
+            assertTrue(relay.isRunning());
+            verify(mongoTemplate, timeout(5000).atLeast(2)).indexOps("stomp_relay");
+        } finally {
+            relay.stop();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void queueDropsOldestWhenFull() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        when(mongoTemplate.getCollection("stomp_relay")).thenReturn(collection);
+        MongoChangeStreamRelay relay = new MongoChangeStreamRelay(mongoTemplate, "stomp_relay", Duration.ofMillis(10), Duration.ofMinutes(1), () -> broker);
+
+        for (int i = 0; i < MongoChangeStreamRelay.MAX_OUTBOUND + 5; i++) {
+            relay.publish("/topic/status", "text/plain", String.valueOf(i).getBytes(StandardCharsets.UTF_8));
+        }
+        assertEquals(MongoChangeStreamRelay.MAX_OUTBOUND, relay.pending());
+
+        relay.stop();
+        ArgumentCaptor<List<Document>> batch = ArgumentCaptor.forClass(List.class);
+        verify(collection, atLeast(1)).insertMany(batch.capture(), any(InsertManyOptions.class));
+        Binary first = batch.getValue().get(0).get("payload", Binary.class);
+        assertEquals("5", new String(first.getData(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void flushFailureIsContained() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getCollection(anyString())).thenThrow(new IllegalStateException("closed"));
+        MongoChangeStreamRelay relay = new MongoChangeStreamRelay(mongoTemplate, "stomp_relay", Duration.ofMillis(10), Duration.ofMinutes(1), () -> broker);
+
+        relay.publish("/topic/status", "text/plain", new byte[]{1});
+        relay.stop();
+
+        assertEquals(0, relay.pending());
+    }
+}
@@ -0,0 +1,79 @@
+package com.backend.shared.relay;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Needs a replica set, e.g. {@code mongod --replSet rs0} followed by {@code rs.initiate()}, and
+ * {@code STOMP_RELAY_TEST_MONGO_URI=mongodb://localhost:27017/?replicaSet=rs0}.
+ */
+@EnabledIfEnvironmentVariable(named = "STOMP_RELAY_TEST_MONGO_URI", matches = ".+")
+public class MongoChangeStreamRelayTest {
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private MongoChangeStreamRelay nodeA;
+    private MongoChangeStreamRelay nodeB;
+    private final List<Message<?>> deliveredToA = new CopyOnWriteArrayList<>();
+    private final List<Message<?>> deliveredToB = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        client = MongoClients.create(System.getenv("STOMP_RELAY_TEST_MONGO_URI"));
+        mongoTemplate = new MongoTemplate(client, "stomp_relay_test");
+        mongoTemplate.dropCollection("stomp_relay");
+        mongoTemplate.createCollection("stomp_relay");
+        nodeA = new MongoChangeStreamRelay(mongoTemplate, "stomp_relay", Duration.ofMillis(20), Duration.ofMinutes(1), () -> capture(deliveredToA));
+        nodeB = new MongoChangeStreamRelay(mongoTemplate, "stomp_relay", Duration.ofMillis(20), Duration.ofMinutes(1), () -> capture(deliveredToB));
+        nodeA.start();
+        nodeB.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.stop();
+        nodeB.stop();
+        mongoTemplate.dropCollection("stomp_relay");
+        client.close();
+    }
+
+    @Test
+    void messagesReachOtherNodesOnceAndNotTheirOrigin() throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            nodeA.publish("/topic/status", "application/json", ("{\"n\":" + i + "}").getBytes(StandardCharsets.UTF_8));
+        }
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (deliveredToB.size() < 50 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        Thread.sleep(200);
+
+        assertEquals(50, deliveredToB.size());
+        assertTrue(deliveredToA.isEmpty());
+        Message<?> first = deliveredToB.get(0);
+        assertEquals("/topic/status", SimpMessageHeaderAccessor.getDestination(first.getHeaders()));
+        assertEquals(Boolean.TRUE, first.getHeaders().get(ClusterRelay.RELAYED_HEADER));
+        assertEquals("{\"n\":0}", new String((byte[]) first.getPayload(), StandardCharsets.UTF_8));
+    }
+
+    private static MessageChannel capture(List<Message<?>> sink) {
+        return (message, timeout) -> sink.add(message);
+    }
+}